@@ -0,0 +1,420 @@
+import javax.swing.JComponent;
+import javax.swing.JMenuItem;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JPopupMenu;
+import javax.swing.JScrollPane;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
+import javax.swing.ToolTipManager;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * A vet's week of bookings as a scrollable timeline: one column per day, one
+ * row per 15-minute slot, working hours shaded from the vet's schedule.
+ *
+ * Only the rows inside the viewport are painted, and each day's appointments
+ * are fetched from the store by date window (one getAppointments() per day
+ * shown) and cached until the week, the vet or the bookings change. Within a
+ * day the appointments are in start order, so painting binary-searches to the
+ * first one that can reach the visible rows and stops after the last, keeping
+ * a busy clinic's week as cheap to scroll as an empty one.
+ *
+ * Right-clicking an upcoming booking offers to cancel it, which frees the slot
+ * for the vet's waitlist.
+ *
+ * Put it in a JScrollPane via createScrollPane() to get the day and time headers.
+ */
+public class AppointmentCalendar extends JPanel implements Scrollable {
+
+    private static final int ROW_HEIGHT = 18;
+    private static final int MIN_COLUMN_WIDTH = 110;
+    private static final int TIME_GUTTER = 64;
+    private static final int HEADER_HEIGHT = 34;
+    private static final int ROWS = VetAvailability.SLOTS_PER_DAY;
+    // Bookings longer than this are still drawn, but may be missed if they start above the viewport
+    private static final int MAX_LOOKBEHIND_MINUTES = 24 * 60;
+
+    private static final Color GRID = new Color(229, 231, 235);
+    private static final Color HOUR_LINE = new Color(209, 213, 219);
+    private static final Color OFF_HOURS = new Color(243, 244, 246);
+    private static final Color WORKING = Color.WHITE;
+    private static final Color BOOKING = new Color(79, 70, 229);
+    private static final Color BOOKING_TEXT = Color.WHITE;
+    private static final Color LABEL = new Color(107, 114, 128);
+    private static final Color TODAY = new Color(16, 185, 129);
+    private static final Font LABEL_FONT = new Font("Segoe UI", Font.PLAIN, 11);
+    private static final Font HEADER_FONT = new Font("Segoe UI", Font.BOLD, 12);
+    private static final Font BOOKING_FONT = new Font("Segoe UI", Font.BOLD, 11);
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("MMM d");
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("h:mm a");
+    private static final DateTimeFormatter HOUR_FORMAT = DateTimeFormatter.ofPattern("h a");
+
+    private final AppointmentStore store;
+    private final Consumer<AppointmentStore.Appointment> storeListener;
+    private String doctor = "";
+    private VetAvailability availability;
+    private LocalDate weekStart = LocalDate.now().with(DayOfWeek.MONDAY);
+    // Appointments per day of the shown week, null until fetched
+    private final List<List<AppointmentStore.Appointment>> days = new ArrayList<>(Collections.nCopies(7, null));
+
+    public AppointmentCalendar(AppointmentStore store) {
+        this.store = store;
+        setBackground(WORKING);
+        ToolTipManager.sharedInstance().registerComponent(this);
+        // Only the affected days are refetched (a late booking can run into the next day)
+        storeListener = changed -> SwingUtilities.invokeLater(() -> {
+            if (!changed.getDoctor().equals(doctor)) return;
+            long first = changed.getStart().toLocalDate().toEpochDay() - weekStart.toEpochDay();
+            long last = changed.getEnd().toLocalDate().toEpochDay() - weekStart.toEpochDay();
+            for (long day = Math.max(0, first); day <= Math.min(6, last); day++) {
+                days.set((int) day, null);
+            }
+            repaint();
+        });
+        // Keep the day header's columns lined up when the calendar stretches to the viewport
+        addComponentListener(new java.awt.event.ComponentAdapter() {
+            @Override
+            public void componentResized(java.awt.event.ComponentEvent e) {
+                JComponent header = columnHeader();
+                if (header != null) {
+                    header.revalidate();
+                    header.repaint();
+                }
+            }
+        });
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                if (e.isPopupTrigger()) showBookingMenu(e);
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                if (e.isPopupTrigger()) showBookingMenu(e);
+            }
+        });
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        store.addBookListener(storeListener);
+        store.addCancelListener(storeListener);
+    }
+
+    @Override
+    public void removeNotify() {
+        store.removeBookListener(storeListener);
+        store.removeCancelListener(storeListener);
+        super.removeNotify();
+    }
+
+    public void setDoctor(String doctor, VetAvailability availability) {
+        this.doctor = doctor;
+        this.availability = availability;
+        invalidateDays();
+    }
+
+    /**
+     * Shows the Monday-to-Sunday week containing `day`.
+     */
+    public void setWeek(LocalDate day) {
+        weekStart = day.with(DayOfWeek.MONDAY);
+        invalidateDays();
+    }
+
+    public LocalDate getWeekStart() {
+        return weekStart;
+    }
+
+    /**
+     * Scrolls so the given time of day is near the top.
+     */
+    public void scrollToTime(int hour) {
+        int y = hour * 4 * ROW_HEIGHT;
+        scrollRectToVisible(new Rectangle(0, y, 1, getVisibleRect().height));
+    }
+
+    private void invalidateDays() {
+        Collections.fill(days, null);
+        repaint();
+        JComponent header = columnHeader();
+        if (header != null) header.repaint();
+    }
+
+    private List<AppointmentStore.Appointment> day(int index) {
+        List<AppointmentStore.Appointment> appointments = days.get(index);
+        if (appointments == null) {
+            LocalDateTime from = weekStart.plusDays(index).atStartOfDay();
+            appointments = store.getAppointments(doctor, from.minusMinutes(MAX_LOOKBEHIND_MINUTES), from.plusDays(1));
+            days.set(index, appointments);
+        }
+        return appointments;
+    }
+
+    private int columnWidth() {
+        return Math.max(MIN_COLUMN_WIDTH, getWidth() / 7);
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        return new Dimension(7 * MIN_COLUMN_WIDTH, ROWS * ROW_HEIGHT);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2d = (Graphics2D) g.create();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        Rectangle clip = g2d.getClipBounds();
+        if (clip == null) clip = new Rectangle(0, 0, getWidth(), getHeight());
+
+        int width = columnWidth();
+        int firstRow = Math.max(0, clip.y / ROW_HEIGHT);
+        int lastRow = Math.min(ROWS - 1, (clip.y + clip.height) / ROW_HEIGHT);
+        int firstDay = Math.max(0, clip.x / width);
+        int lastDay = Math.min(6, (clip.x + clip.width) / width);
+
+        // Slot backgrounds and grid, for the visible rows only
+        for (int day = firstDay; day <= lastDay; day++) {
+            int x = day * width;
+            for (int row = firstRow; row <= lastRow; row++) {
+                int y = row * ROW_HEIGHT;
+                boolean working = availability != null
+                    && availability.isAvailable(weekStart.plusDays(day).atStartOfDay().plusMinutes(row * 15L), 15);
+                g2d.setColor(working ? WORKING : OFF_HOURS);
+                g2d.fillRect(x, y, width, ROW_HEIGHT);
+                g2d.setColor(row % 4 == 0 ? HOUR_LINE : GRID);
+                g2d.drawLine(x, y, x + width, y);
+            }
+            g2d.setColor(HOUR_LINE);
+            g2d.drawLine(x, clip.y, x, clip.y + clip.height);
+        }
+
+        // Bookings that reach into the visible rows
+        g2d.setFont(BOOKING_FONT);
+        FontMetrics fm = g2d.getFontMetrics();
+        for (int day = firstDay; day <= lastDay; day++) {
+            long dayStart = AppointmentStore.toMinute(weekStart.plusDays(day).atStartOfDay());
+            long visibleFrom = dayStart + firstRow * 15L;
+            long visibleTo = dayStart + (lastRow + 1) * 15L;
+            List<AppointmentStore.Appointment> appointments = day(day);
+            for (int i = firstStartingAfter(appointments, visibleFrom - MAX_LOOKBEHIND_MINUTES); i < appointments.size(); i++) {
+                AppointmentStore.Appointment appointment = appointments.get(i);
+                if (appointment.startMinute() >= visibleTo) break;
+                if (appointment.endMinute() <= visibleFrom) continue;
+                Rectangle box = boxOf(appointment, dayStart, day, width);
+                g2d.setColor(BOOKING);
+                g2d.fillRoundRect(box.x, box.y, box.width, box.height, 8, 8);
+                g2d.setColor(BOOKING_TEXT);
+                String label = appointment.getPetName().isEmpty() ? appointment.getOwner() : appointment.getPetName();
+                if (box.height >= fm.getHeight()) {
+                    g2d.drawString(fit(label, fm, box.width - 8), box.x + 4, box.y + fm.getAscent() + 1);
+                }
+            }
+        }
+        g2d.dispose();
+    }
+
+    @Override
+    public String getToolTipText(MouseEvent event) {
+        AppointmentStore.Appointment appointment = appointmentAt(event);
+        if (appointment == null) return null;
+        return "<html><b>" + appointment.getPetName() + "</b> " + appointment.getPetType() + "<br>"
+            + appointment.getOwner() + " " + appointment.getPhone() + "<br>"
+            + appointment.getStart().format(TIME_FORMAT) + " - " + appointment.getEnd().format(TIME_FORMAT) + "</html>";
+    }
+
+    // The booking under the mouse, or null over an empty slot
+    private AppointmentStore.Appointment appointmentAt(MouseEvent event) {
+        int width = columnWidth();
+        int day = event.getX() / width;
+        if (day < 0 || day > 6) return null;
+        long dayStart = AppointmentStore.toMinute(weekStart.plusDays(day).atStartOfDay());
+        long minute = dayStart + (long) event.getY() * 15 / ROW_HEIGHT;
+        List<AppointmentStore.Appointment> appointments = day(day);
+        for (int i = firstStartingAfter(appointments, minute - MAX_LOOKBEHIND_MINUTES); i < appointments.size(); i++) {
+            AppointmentStore.Appointment appointment = appointments.get(i);
+            if (appointment.startMinute() > minute) break;
+            if (appointment.endMinute() > minute) return appointment;
+        }
+        return null;
+    }
+
+    // Bookings that have already started stay on the record
+    private void showBookingMenu(MouseEvent event) {
+        AppointmentStore.Appointment appointment = appointmentAt(event);
+        if (appointment == null || !appointment.getStart().isAfter(LocalDateTime.now())) return;
+        JPopupMenu menu = new JPopupMenu();
+        JMenuItem cancel = new JMenuItem("Cancel appointment...");
+        cancel.addActionListener(e -> cancelAppointment(appointment));
+        menu.add(cancel);
+        menu.show(this, event.getX(), event.getY());
+    }
+
+    private void cancelAppointment(AppointmentStore.Appointment appointment) {
+        String label = appointment.getPetName().isEmpty() ? appointment.getOwner() : appointment.getPetName();
+        int choice = JOptionPane.showConfirmDialog(this,
+            "Cancel " + label + "'s appointment with " + appointment.getDoctor() + " on "
+                + appointment.getStart().format(DAY_FORMAT) + " at " + appointment.getStart().format(TIME_FORMAT) + "?",
+            "Cancel Appointment", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
+        if (choice != JOptionPane.YES_OPTION) return;
+        // The store's cancel listeners refresh this calendar and hand the slot to the waitlist
+        if (!store.cancel(appointment.getId())) {
+            JOptionPane.showMessageDialog(this, "This appointment was already cancelled.",
+                "Cancel Appointment", JOptionPane.INFORMATION_MESSAGE);
+        }
+    }
+
+    private Rectangle boxOf(AppointmentStore.Appointment appointment, long dayStart, int day, int width) {
+        int top = (int) ((appointment.startMinute() - dayStart) * ROW_HEIGHT / 15);
+        int bottom = (int) ((appointment.endMinute() - dayStart) * ROW_HEIGHT / 15);
+        return new Rectangle(day * width + 3, top + 1, width - 6, Math.max(4, bottom - top - 2));
+    }
+
+    // Index of the first appointment starting at or after `minute` (the list is in start order)
+    private static int firstStartingAfter(List<AppointmentStore.Appointment> appointments, long minute) {
+        int low = 0;
+        int high = appointments.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (appointments.get(mid).startMinute() < minute) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static String fit(String text, FontMetrics fm, int width) {
+        if (fm.stringWidth(text) <= width) return text;
+        for (int end = text.length() - 1; end > 0; end--) {
+            String cut = text.substring(0, end) + "…";
+            if (fm.stringWidth(cut) <= width) return cut;
+        }
+        return "";
+    }
+
+    /**
+     * A scroll pane with this calendar plus day-name and time-of-day headers.
+     */
+    public JScrollPane createScrollPane() {
+        JScrollPane scrollPane = new JScrollPane(this);
+        scrollPane.setColumnHeaderView(new DayHeader());
+        scrollPane.setRowHeaderView(new TimeGutter());
+        scrollPane.setBorder(null);
+        return scrollPane;
+    }
+
+    private JComponent columnHeader() {
+        JScrollPane scrollPane = (JScrollPane) SwingUtilities.getAncestorOfClass(JScrollPane.class, this);
+        return scrollPane == null || scrollPane.getColumnHeader() == null ? null
+            : (JComponent) scrollPane.getColumnHeader().getView();
+    }
+
+    private class DayHeader extends JComponent {
+        @Override
+        public Dimension getPreferredSize() {
+            return new Dimension(Math.max(AppointmentCalendar.this.getPreferredSize().width,
+                AppointmentCalendar.this.getWidth()), HEADER_HEIGHT);
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2d = (Graphics2D) g.create();
+            g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2d.setColor(Color.WHITE);
+            g2d.fillRect(0, 0, getWidth(), getHeight());
+            g2d.setFont(HEADER_FONT);
+            FontMetrics fm = g2d.getFontMetrics();
+            int width = columnWidth();
+            LocalDate today = LocalDate.now();
+            for (int day = 0; day < 7; day++) {
+                LocalDate date = weekStart.plusDays(day);
+                String text = date.getDayOfWeek().getDisplayName(TextStyle.SHORT, Locale.getDefault())
+                    + " " + date.format(DAY_FORMAT);
+                g2d.setColor(date.equals(today) ? TODAY : LABEL);
+                g2d.drawString(text, day * width + (width - fm.stringWidth(text)) / 2, (HEADER_HEIGHT + fm.getAscent()) / 2 - 2);
+            }
+            g2d.setColor(HOUR_LINE);
+            g2d.drawLine(0, HEADER_HEIGHT - 1, getWidth(), HEADER_HEIGHT - 1);
+            g2d.dispose();
+        }
+    }
+
+    private class TimeGutter extends JComponent {
+        @Override
+        public Dimension getPreferredSize() {
+            return new Dimension(TIME_GUTTER, ROWS * ROW_HEIGHT);
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2d = (Graphics2D) g.create();
+            g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            Rectangle clip = g2d.getClipBounds();
+            if (clip == null) clip = new Rectangle(0, 0, getWidth(), getHeight());
+            g2d.setColor(Color.WHITE);
+            g2d.fillRect(clip.x, clip.y, clip.width, clip.height);
+            g2d.setFont(LABEL_FONT);
+            g2d.setColor(LABEL);
+            FontMetrics fm = g2d.getFontMetrics();
+            int firstHour = Math.max(0, clip.y / (4 * ROW_HEIGHT));
+            int lastHour = Math.min(23, (clip.y + clip.height) / (4 * ROW_HEIGHT));
+            for (int hour = firstHour; hour <= lastHour; hour++) {
+                String text = LocalTime.of(hour, 0).format(HOUR_FORMAT);
+                g2d.drawString(text, TIME_GUTTER - fm.stringWidth(text) - 8, hour * 4 * ROW_HEIGHT + fm.getAscent());
+            }
+            g2d.dispose();
+        }
+    }
+
+    // --- Scrollable: scroll by a slot, page by a viewport, stretch to the viewport's width ---
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return new Dimension(7 * MIN_COLUMN_WIDTH, 12 * 4 * ROW_HEIGHT);
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? ROW_HEIGHT : MIN_COLUMN_WIDTH / 4;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? visibleRect.height - ROW_HEIGHT : visibleRect.width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return getParent() != null && getParent().getWidth() >= 7 * MIN_COLUMN_WIDTH;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return false;
+    }
+}
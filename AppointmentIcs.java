@@ -0,0 +1,388 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * iCalendar (.ics, RFC 5545) export and import for the appointment store.
+ *
+ * Both directions stream. Export walks each vet's schedule PAGE_SIZE
+ * bookings at a time and writes events as it goes; import reads one unfolded
+ * line at a time, keeps only the event being parsed, and hands events to the
+ * store in batches of BATCH_SIZE through bookAll(), so the log is forced once
+ * per batch rather than once per event. Memory use does not depend on the
+ * size of the file either way.
+ *
+ * Times are written as floating local times, matching the store. On import,
+ * UTC ("Z") and TZID times are converted to the clinic's zone; all-day events
+ * are skipped. Our own X-PAWTRACK-* properties carry the booking details; for
+ * other calendars the vet comes from ORGANIZER's CN (or the default doctor)
+ * and the SUMMARY stands in for the pet.
+ */
+public class AppointmentIcs {
+
+    private static final int PAGE_SIZE = 2048;
+    private static final int BATCH_SIZE = 1000;
+    // RFC 5545 folds content lines longer than 75 octets
+    private static final int FOLD_OCTETS = 75;
+    private static final long MAX_DURATION_MINUTES = 24 * 60;
+
+    private static final DateTimeFormatter LOCAL_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UTC_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    /**
+     * What an import did with each event in the file.
+     */
+    public static class Result {
+        private long imported;
+        private long conflicts;
+        private long skipped;
+
+        public long getImported() { return imported; }
+        public long getConflicts() { return conflicts; }
+        public long getSkipped() { return skipped; }
+
+        @Override
+        public String toString() {
+            return String.format("imported=%d, conflicts=%d, skipped=%d", imported, conflicts, skipped);
+        }
+    }
+
+    // The event being parsed; reused for every VEVENT in the file
+    private static class Event {
+        String start;
+        String startParams;
+        String end;
+        String endParams;
+        String duration;
+        String summary;
+        String organizer;
+        String doctor;
+        String owner;
+        String petName;
+        String petType;
+        String phone;
+
+        void clear() {
+            start = startParams = end = endParams = duration = null;
+            summary = organizer = doctor = owner = petName = petType = phone = null;
+        }
+    }
+
+    private AppointmentIcs() { }
+
+    /**
+     * Writes the doctor's bookings (every doctor's if null) to `target`.
+     * Output goes to a ".part" file that replaces the target only once
+     * complete. Returns the number of events written.
+     */
+    public static long export(AppointmentStore store, String doctor, Path target) throws IOException {
+        Path part = target.resolveSibling(target.getFileName() + ".part");
+        List<String> doctors = new ArrayList<>();
+        if (doctor != null) {
+            doctors.add(doctor);
+        } else {
+            doctors.addAll(store.getDoctors());
+        }
+        String stamp = LocalDateTime.now(ZoneOffset.UTC).format(UTC_FORMAT);
+        StringBuilder line = new StringBuilder(128);
+        long events = 0;
+        boolean completed = false;
+
+        try (Writer out = Files.newBufferedWriter(part, StandardCharsets.UTF_8)) {
+            writeLine(out, line, "BEGIN:VCALENDAR");
+            writeLine(out, line, "VERSION:2.0");
+            writeLine(out, line, "PRODID:-//PawTrack//Vet Appointments//EN");
+            writeLine(out, line, "CALSCALE:GREGORIAN");
+            for (String name : doctors) {
+                long after = Long.MIN_VALUE;
+                while (true) {
+                    List<AppointmentStore.Appointment> page = store.getAppointmentsAfter(name, after, PAGE_SIZE);
+                    for (AppointmentStore.Appointment appointment : page) {
+                        writeEvent(out, line, appointment, stamp);
+                        events++;
+                    }
+                    if (page.size() < PAGE_SIZE) break;
+                    after = page.get(page.size() - 1).startMinute();
+                }
+            }
+            writeLine(out, line, "END:VCALENDAR");
+            completed = true;
+        } finally {
+            if (!completed) {
+                Files.deleteIfExists(part);
+            }
+        }
+        Files.move(part, target, StandardCopyOption.REPLACE_EXISTING);
+        return events;
+    }
+
+    /**
+     * Books every timed event in `source`. Events that clash with an existing
+     * booking (or an earlier event in the file) count as conflicts; events
+     * without a usable time, length or vet are skipped. `defaultDoctor` is
+     * used when an event names no vet (may be null).
+     */
+    public static Result importFrom(AppointmentStore store, Path source, String defaultDoctor) throws IOException {
+        Result result = new Result();
+        List<AppointmentStore.Appointment> batch = new ArrayList<>(BATCH_SIZE);
+        Event event = new Event();
+        boolean inEvent = false;
+
+        try (BufferedReader in = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+            String line = in.readLine();
+            if (line != null && line.startsWith("\uFEFF")) line = line.substring(1);
+            while (line != null) {
+                // Unfold: a line starting with a space or tab continues the previous one
+                StringBuilder unfolded = null;
+                String next = in.readLine();
+                while (next != null && !next.isEmpty() && (next.charAt(0) == ' ' || next.charAt(0) == '\t')) {
+                    if (unfolded == null) unfolded = new StringBuilder(line);
+                    unfolded.append(next, 1, next.length());
+                    next = in.readLine();
+                }
+                String content = unfolded == null ? line : unfolded.toString();
+                line = next;
+
+                int colon = valueStart(content);
+                if (colon < 0) continue;
+                int semicolon = content.indexOf(';');
+                boolean hasParams = semicolon >= 0 && semicolon < colon;
+                String name = content.substring(0, hasParams ? semicolon : colon).toUpperCase(Locale.ROOT);
+                String params = hasParams ? content.substring(semicolon + 1, colon) : "";
+                String value = content.substring(colon + 1);
+
+                if (name.equals("BEGIN") && value.equalsIgnoreCase("VEVENT")) {
+                    event.clear();
+                    inEvent = true;
+                } else if (name.equals("END") && value.equalsIgnoreCase("VEVENT")) {
+                    inEvent = false;
+                    AppointmentStore.Appointment appointment = toAppointment(event, defaultDoctor);
+                    if (appointment == null) {
+                        result.skipped++;
+                        continue;
+                    }
+                    batch.add(appointment);
+                    if (batch.size() == BATCH_SIZE) flush(store, batch, result);
+                } else if (inEvent) {
+                    readProperty(event, name, params, value);
+                }
+            }
+        }
+        flush(store, batch, result);
+        return result;
+    }
+
+    private static void flush(AppointmentStore store, List<AppointmentStore.Appointment> batch, Result result) {
+        if (batch.isEmpty()) return;
+        int booked = store.bookAll(batch).size();
+        result.imported += booked;
+        result.conflicts += batch.size() - booked;
+        batch.clear();
+    }
+
+    private static void readProperty(Event event, String name, String params, String value) {
+        switch (name) {
+            case "DTSTART": event.start = value; event.startParams = params; break;
+            case "DTEND": event.end = value; event.endParams = params; break;
+            case "DURATION": event.duration = value; break;
+            case "SUMMARY": event.summary = unescape(value); break;
+            case "ORGANIZER": event.organizer = param(params, "CN"); break;
+            case "X-PAWTRACK-DOCTOR": event.doctor = unescape(value); break;
+            case "X-PAWTRACK-OWNER": event.owner = unescape(value); break;
+            case "X-PAWTRACK-PET": event.petName = unescape(value); break;
+            case "X-PAWTRACK-PET-TYPE": event.petType = unescape(value); break;
+            case "X-PAWTRACK-PHONE": event.phone = unescape(value); break;
+            default: break;
+        }
+    }
+
+    private static AppointmentStore.Appointment toAppointment(Event event, String defaultDoctor) {
+        String doctor = firstNonEmpty(event.doctor, event.organizer, defaultDoctor);
+        if (doctor == null || event.start == null) return null;
+        LocalDateTime start = parseTime(event.start, event.startParams);
+        if (start == null) return null;
+
+        long minutes;
+        if (event.end != null) {
+            LocalDateTime end = parseTime(event.end, event.endParams);
+            if (end == null) return null;
+            minutes = Duration.between(start, end).toMinutes();
+        } else if (event.duration != null) {
+            minutes = parseDuration(event.duration);
+        } else {
+            minutes = AppointmentStore.DEFAULT_DURATION_MINUTES;
+        }
+        if (minutes <= 0 || minutes > MAX_DURATION_MINUTES) return null;
+
+        String petName = event.petName != null ? event.petName : event.summary;
+        return new AppointmentStore.Appointment(0, doctor, start.withSecond(0).withNano(0), (int) minutes,
+            event.owner, petName, event.petType, event.phone);
+    }
+
+    // Floating, UTC ("Z") or TZID times, converted to the clinic's local time; null for dates and junk
+    private static LocalDateTime parseTime(String value, String params) {
+        if (params.toUpperCase(Locale.ROOT).contains("VALUE=DATE") && !params.toUpperCase(Locale.ROOT).contains("VALUE=DATE-TIME")) {
+            return null;
+        }
+        try {
+            if (value.endsWith("Z") || value.endsWith("z")) {
+                LocalDateTime utc = LocalDateTime.parse(value.substring(0, value.length() - 1), LOCAL_FORMAT);
+                return utc.atOffset(ZoneOffset.UTC).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+            }
+            LocalDateTime local = LocalDateTime.parse(value, LOCAL_FORMAT);
+            String zone = param(params, "TZID");
+            if (zone == null) return local;
+            return local.atZone(ZoneId.of(zone)).withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    // Minutes in a DURATION value such as PT30M, PT1H30M, P1D or P1W; -1 if unusable
+    private static long parseDuration(String value) {
+        String upper = value.trim().toUpperCase(Locale.ROOT);
+        if (upper.startsWith("+")) upper = upper.substring(1);
+        try {
+            if (upper.startsWith("P") && upper.endsWith("W")) {
+                return Long.parseLong(upper.substring(1, upper.length() - 1)) * 7 * 24 * 60;
+            }
+            return Duration.parse(upper).toMinutes();
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    private static void writeEvent(Writer out, StringBuilder line, AppointmentStore.Appointment appointment,
+                                   String stamp) throws IOException {
+        String pet = appointment.getPetName().isEmpty() ? "Appointment" : appointment.getPetName();
+        String summary = pet + (appointment.getPetType().isEmpty() ? "" : " (" + appointment.getPetType() + ")")
+            + (appointment.getOwner().isEmpty() ? "" : " - " + appointment.getOwner());
+        writeLine(out, line, "BEGIN:VEVENT");
+        writeLine(out, line, "UID:appointment-" + appointment.getId() + "@pawtrack");
+        writeLine(out, line, "DTSTAMP:" + stamp);
+        writeLine(out, line, "DTSTART:" + appointment.getStart().format(LOCAL_FORMAT));
+        writeLine(out, line, "DTEND:" + appointment.getEnd().format(LOCAL_FORMAT));
+        writeLine(out, line, "SUMMARY:" + escape(summary));
+        writeLine(out, line, "ORGANIZER;CN=" + quoteParam(appointment.getDoctor()) + ":mailto:vets@pawtrack.local");
+        writeLine(out, line, "X-PAWTRACK-DOCTOR:" + escape(appointment.getDoctor()));
+        writeLine(out, line, "X-PAWTRACK-OWNER:" + escape(appointment.getOwner()));
+        writeLine(out, line, "X-PAWTRACK-PET:" + escape(appointment.getPetName()));
+        writeLine(out, line, "X-PAWTRACK-PET-TYPE:" + escape(appointment.getPetType()));
+        writeLine(out, line, "X-PAWTRACK-PHONE:" + escape(appointment.getPhone()));
+        writeLine(out, line, "END:VEVENT");
+    }
+
+    // Writes one content line with CRLF, folding it every 75 UTF-8 octets without splitting a character
+    private static void writeLine(Writer out, StringBuilder line, String content) throws IOException {
+        line.setLength(0);
+        int octets = 0;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            int size = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + size > FOLD_OCTETS) {
+                line.append("\r\n ");
+                octets = 1;
+            }
+            line.appendCodePoint(codePoint);
+            octets += size;
+            i += Character.charCount(codePoint);
+        }
+        line.append("\r\n");
+        out.append(line);
+    }
+
+    private static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\': escaped.append("\\\\"); break;
+                case ';': escaped.append("\\;"); break;
+                case ',': escaped.append("\\,"); break;
+                case '\n': escaped.append("\\n"); break;
+                case '\r': break;
+                default: escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static String unescape(String text) {
+        if (text.indexOf('\\') < 0) return text;
+        StringBuilder plain = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < text.length()) {
+                char next = text.charAt(++i);
+                plain.append(next == 'n' || next == 'N' ? '\n' : next);
+            } else {
+                plain.append(c);
+            }
+        }
+        return plain.toString();
+    }
+
+    // Parameter values may not contain quotes; ones with : ; or , must be quoted
+    private static String quoteParam(String value) {
+        String clean = value.replace("\"", "'");
+        return clean.indexOf(':') >= 0 || clean.indexOf(';') >= 0 || clean.indexOf(',') >= 0
+            ? "\"" + clean + "\"" : clean;
+    }
+
+    // Value of NAME=... in a parameter list such as CN="Dr. Reyes";ROLE=CHAIR, or null
+    private static String param(String params, String name) {
+        int i = 0;
+        while (i < params.length()) {
+            int equals = params.indexOf('=', i);
+            if (equals < 0) return null;
+            String key = params.substring(i, equals).trim();
+            int valueStart = equals + 1;
+            int valueEnd;
+            String value;
+            if (valueStart < params.length() && params.charAt(valueStart) == '"') {
+                valueEnd = params.indexOf('"', valueStart + 1);
+                if (valueEnd < 0) valueEnd = params.length();
+                value = params.substring(valueStart + 1, valueEnd);
+                valueEnd = params.indexOf(';', valueEnd);
+            } else {
+                valueEnd = params.indexOf(';', valueStart);
+                value = params.substring(valueStart, valueEnd < 0 ? params.length() : valueEnd);
+            }
+            if (key.equalsIgnoreCase(name)) return value;
+            if (valueEnd < 0) return null;
+            i = valueEnd + 1;
+        }
+        return null;
+    }
+
+    // Index of the colon that ends the name and parameters (colons inside quoted parameters don't count)
+    private static int valueStart(String content) {
+        boolean quoted = false;
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (c == '"') quoted = !quoted;
+            else if (c == ':' && !quoted) return i;
+        }
+        return -1;
+    }
+
+    private static String firstNonEmpty(String... values) {
+        for (String value : values) {
+            if (value != null && !value.trim().isEmpty()) return value.trim();
+        }
+        return null;
+    }
+}
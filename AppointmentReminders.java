@@ -0,0 +1,302 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Sends reminders a day and an hour before each vet appointment.
+ *
+ * Pending reminders sit in a hierarchical timing wheel with a one-minute tick:
+ * four levels of 64 buckets covering 64 minutes, ~3 days, ~6 months and ~31
+ * years. Each bucket is an intrusive doubly linked list, so scheduling and
+ * cancelling a reminder are O(1) whatever the number pending. Every 64 ticks
+ * the next bucket of the level above is cascaded down. A single daemon thread
+ * advances the wheel and hands each minute's due reminders to the sink as one
+ * batch.
+ *
+ * Nothing is persisted here: on start() the wheel is rebuilt from the
+ * appointment store, and bookings and cancellations are followed through its
+ * listeners. Reminders whose time has already passed are not re-sent.
+ *
+ * The default sink is a local stand-in for SMS/email: it appends each message
+ * to data/reminders-outbox.txt.
+ */
+public class AppointmentReminders {
+
+    private static final int LEVELS = 4;
+    private static final int BUCKET_BITS = 6;
+    private static final int BUCKETS = 1 << BUCKET_BITS;
+    private static final long MAX_SPAN = 1L << (LEVELS * BUCKET_BITS);
+    private static final long CHECK_SECONDS = 15;
+
+    // How long before the appointment each reminder goes out, in minutes
+    private static final int[] LEAD_MINUTES = {24 * 60, 60};
+
+    private static final String OUTBOX_PATH = "data/reminders-outbox.txt";
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private static AppointmentReminders defaultReminders;
+
+    /**
+     * One reminder due at a given minute. Also its own node in a wheel bucket.
+     */
+    public static class Reminder {
+        private final AppointmentStore.Appointment appointment;
+        private final int leadMinutes;
+        private final long dueMinute;
+        private Reminder prev;
+        private Reminder next;
+
+        Reminder(AppointmentStore.Appointment appointment, int leadMinutes) {
+            this.appointment = appointment;
+            this.leadMinutes = leadMinutes;
+            this.dueMinute = appointment.startMinute() - leadMinutes;
+        }
+
+        // Bucket sentinel
+        private Reminder() {
+            this.appointment = null;
+            this.leadMinutes = 0;
+            this.dueMinute = 0;
+            this.prev = this;
+            this.next = this;
+        }
+
+        public AppointmentStore.Appointment getAppointment() { return appointment; }
+        public int getLeadMinutes() { return leadMinutes; }
+        public LocalDateTime getDue() { return AppointmentStore.fromMinute(dueMinute); }
+
+        public String getMessage() {
+            String lead = leadMinutes % (24 * 60) == 0 ? (leadMinutes / (24 * 60)) + " day(s)"
+                : leadMinutes % 60 == 0 ? (leadMinutes / 60) + " hour(s)" : leadMinutes + " minute(s)";
+            String pet = appointment.getPetName().isEmpty() ? "your pet" : appointment.getPetName();
+            return "Reminder: " + pet + " has an appointment with " + appointment.getDoctor() + " on "
+                + appointment.getStart().format(FORMAT) + " (in " + lead + ").";
+        }
+
+        private boolean isLinked() {
+            return prev != null;
+        }
+    }
+
+    private final AppointmentStore store;
+    private final Consumer<List<Reminder>> sink;
+    // buckets[level][slot] is a sentinel head of a circular list
+    private final Reminder[][] buckets = new Reminder[LEVELS][BUCKETS];
+    private final List<Reminder> overdue = new ArrayList<>();
+    private final Map<Long, List<Reminder>> byAppointment = new HashMap<>();
+    // The next minute the wheel will process
+    private long currentMinute;
+    private int pending;
+    private ScheduledExecutorService ticker;
+
+    public static synchronized AppointmentReminders getDefault() {
+        if (defaultReminders == null) {
+            defaultReminders = new AppointmentReminders(AppointmentStore.getDefault(), outboxSink(Paths.get(OUTBOX_PATH)));
+        }
+        return defaultReminders;
+    }
+
+    public AppointmentReminders(AppointmentStore store, Consumer<List<Reminder>> sink) {
+        this.store = store;
+        this.sink = sink;
+        this.currentMinute = AppointmentStore.toMinute(LocalDateTime.now());
+        for (Reminder[] level : buckets) {
+            for (int i = 0; i < BUCKETS; i++) {
+                level[i] = new Reminder();
+            }
+        }
+    }
+
+    /**
+     * Loads upcoming appointments, follows new bookings and cancellations, and
+     * starts the ticker (idempotent).
+     */
+    public void start() {
+        synchronized (this) {
+            if (ticker != null) return;
+            for (AppointmentStore.Appointment appointment : store.getUpcoming(AppointmentStore.fromMinute(currentMinute))) {
+                if (!byAppointment.containsKey(appointment.getId())) schedule(appointment, currentMinute);
+            }
+            ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "appointment-reminders");
+                thread.setDaemon(true);
+                return thread;
+            });
+            ticker.scheduleWithFixedDelay(() -> advanceTo(AppointmentStore.toMinute(LocalDateTime.now())),
+                CHECK_SECONDS, CHECK_SECONDS, TimeUnit.SECONDS);
+        }
+        store.addBookListener(this::add);
+        store.addCancelListener(appointment -> cancel(appointment.getId()));
+    }
+
+    public synchronized void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            ticker = null;
+        }
+    }
+
+    public synchronized int pendingCount() {
+        return pending;
+    }
+
+    /**
+     * Schedules the appointment's reminders (those not already past).
+     */
+    public synchronized void add(AppointmentStore.Appointment appointment) {
+        schedule(appointment, currentMinute);
+    }
+
+    /**
+     * Drops every pending reminder for the appointment.
+     */
+    public synchronized void cancel(long appointmentId) {
+        List<Reminder> reminders = byAppointment.remove(appointmentId);
+        if (reminders == null) return;
+        for (Reminder reminder : reminders) {
+            if (reminder.isLinked()) {
+                unlink(reminder);
+                pending--;
+            } else if (overdue.remove(reminder)) {
+                pending--;
+            }
+        }
+    }
+
+    /**
+     * Moves the wheel forward to `minute`, sending what came due in one batch per minute.
+     */
+    void advanceTo(long minute) {
+        while (true) {
+            List<Reminder> due;
+            synchronized (this) {
+                if (currentMinute > minute && overdue.isEmpty()) return;
+                due = new ArrayList<>(overdue);
+                overdue.clear();
+                if (currentMinute <= minute) {
+                    tick(due);
+                }
+                pending -= due.size();
+                for (Reminder reminder : due) {
+                    forget(reminder);
+                }
+            }
+            if (!due.isEmpty()) {
+                try {
+                    sink.accept(due);
+                } catch (RuntimeException e) {
+                    System.err.println("Sending reminders failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void schedule(AppointmentStore.Appointment appointment, long now) {
+        for (int lead : LEAD_MINUTES) {
+            Reminder reminder = new Reminder(appointment, lead);
+            if (reminder.dueMinute < now) continue;
+            byAppointment.computeIfAbsent(appointment.getId(), k -> new ArrayList<>(LEAD_MINUTES.length)).add(reminder);
+            insert(reminder);
+            pending++;
+        }
+    }
+
+    // Processes currentMinute: cascades higher levels on level boundaries, then empties its level-0 bucket
+    private void tick(List<Reminder> due) {
+        long now = currentMinute;
+        for (int level = 1; level < LEVELS; level++) {
+            long lowerBits = now & ((1L << (level * BUCKET_BITS)) - 1);
+            if (lowerBits != 0) break;
+            cascade(level, (int) ((now >>> (level * BUCKET_BITS)) & (BUCKETS - 1)));
+        }
+        Reminder head = buckets[0][(int) (now & (BUCKETS - 1))];
+        while (head.next != head) {
+            Reminder reminder = head.next;
+            unlink(reminder);
+            due.add(reminder);
+        }
+        currentMinute = now + 1;
+    }
+
+    private void cascade(int level, int slot) {
+        Reminder head = buckets[level][slot];
+        List<Reminder> moved = new ArrayList<>();
+        while (head.next != head) {
+            Reminder reminder = head.next;
+            unlink(reminder);
+            moved.add(reminder);
+        }
+        for (Reminder reminder : moved) {
+            insert(reminder);
+        }
+    }
+
+    private void insert(Reminder reminder) {
+        long delta = reminder.dueMinute - currentMinute;
+        if (delta < 0) {
+            overdue.add(reminder);
+            return;
+        }
+        long due = delta >= MAX_SPAN ? currentMinute + MAX_SPAN - 1 : reminder.dueMinute;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << ((level + 1) * BUCKET_BITS))) {
+            level++;
+        }
+        Reminder head = buckets[level][(int) ((due >>> (level * BUCKET_BITS)) & (BUCKETS - 1))];
+        reminder.prev = head.prev;
+        reminder.next = head;
+        head.prev.next = reminder;
+        head.prev = reminder;
+    }
+
+    private static void unlink(Reminder reminder) {
+        reminder.prev.next = reminder.next;
+        reminder.next.prev = reminder.prev;
+        reminder.prev = null;
+        reminder.next = null;
+    }
+
+    private void forget(Reminder reminder) {
+        List<Reminder> reminders = byAppointment.get(reminder.appointment.getId());
+        if (reminders != null) {
+            reminders.remove(reminder);
+            if (reminders.isEmpty()) byAppointment.remove(reminder.appointment.getId());
+        }
+    }
+
+    /**
+     * Appends "when | to | message" lines for each batch to a text file.
+     */
+    public static Consumer<List<Reminder>> outboxSink(Path path) {
+        return batch -> {
+            try {
+                if (path.getParent() != null) Files.createDirectories(path.getParent());
+                try (Writer out = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    String sent = LocalDateTime.now().format(FORMAT);
+                    for (Reminder reminder : batch) {
+                        AppointmentStore.Appointment appointment = reminder.getAppointment();
+                        String to = appointment.getPhone().isEmpty() ? appointment.getOwner() : appointment.getPhone();
+                        out.write(sent + " | " + to + " | " + reminder.getMessage() + System.lineSeparator());
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Could not write reminders to " + path + ": " + e.getMessage());
+            }
+        };
+    }
+}
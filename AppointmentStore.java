@@ -0,0 +1,386 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Booked vet appointments, persisted to data/appointments.db.
+ *
+ * Each veterinarian has a TreeMap of their appointments keyed by start time.
+ * Bookings for one vet never overlap (book() refuses them), so the only
+ * appointment that can clash with a new one is the last one starting before
+ * the new one ends; conflict and "is this slot free" checks are a single
+ * floorEntry() lookup, O(log n) however many years of history a vet has.
+ *
+ * The log uses the same [length][crc32][payload] framing as the cart journal
+ * and is forced to disk on every booking, since a lost booking means a
+ * double-booked vet. Times are wall-clock (clinic local time) and stored as
+ * minutes since 1970-01-01T00:00.
+ */
+public class AppointmentStore {
+
+    public static final int DEFAULT_DURATION_MINUTES = 30;
+
+    private static final String DEFAULT_PATH = "data/appointments.db";
+    private static final int COMPACT_MIN_RECORDS = 1024;
+    private static final int MAX_RECORD_BYTES = 64 * 1024;
+
+    private static final byte OP_BOOK = 1;
+    private static final byte OP_CANCEL = 2;
+
+    private static AppointmentStore defaultStore;
+
+    /**
+     * One booking. Immutable.
+     */
+    public static class Appointment {
+        private final long id;
+        private final String doctor;
+        private final long startMinute;
+        private final int durationMinutes;
+        private final String owner;
+        private final String petName;
+        private final String petType;
+        private final String phone;
+
+        public Appointment(long id, String doctor, LocalDateTime start, int durationMinutes,
+                           String owner, String petName, String petType, String phone) {
+            this(id, doctor, toMinute(start), durationMinutes, owner, petName, petType, phone);
+        }
+
+        Appointment(long id, String doctor, long startMinute, int durationMinutes,
+                    String owner, String petName, String petType, String phone) {
+            this.id = id;
+            this.doctor = nonNull(doctor);
+            this.startMinute = startMinute;
+            this.durationMinutes = durationMinutes;
+            this.owner = nonNull(owner);
+            this.petName = nonNull(petName);
+            this.petType = nonNull(petType);
+            this.phone = nonNull(phone);
+        }
+
+        public long getId() { return id; }
+        public String getDoctor() { return doctor; }
+        public LocalDateTime getStart() { return fromMinute(startMinute); }
+        public LocalDateTime getEnd() { return fromMinute(endMinute()); }
+        public int getDurationMinutes() { return durationMinutes; }
+        public String getOwner() { return owner; }
+        public String getPetName() { return petName; }
+        public String getPetType() { return petType; }
+        public String getPhone() { return phone; }
+
+        long startMinute() { return startMinute; }
+        long endMinute() { return startMinute + durationMinutes; }
+
+        Appointment withId(long newId) {
+            return new Appointment(newId, doctor, startMinute, durationMinutes, owner, petName, petType, phone);
+        }
+    }
+
+    private final Map<Long, Appointment> byId = new HashMap<>();
+    private final Map<String, NavigableMap<Long, Appointment>> byDoctor = new HashMap<>();
+    private final List<Consumer<Appointment>> bookListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<Appointment>> cancelListeners = new CopyOnWriteArrayList<>();
+    private FramedLog log;
+    private long nextId = 1;
+
+    public static synchronized AppointmentStore getDefault() {
+        if (defaultStore == null) {
+            defaultStore = new AppointmentStore(Paths.get(DEFAULT_PATH));
+        }
+        return defaultStore;
+    }
+
+    public AppointmentStore(Path path) {
+        try {
+            log = new FramedLog(path, MAX_RECORD_BYTES, this::replay);
+            if (log.recordCount() >= COMPACT_MIN_RECORDS && log.recordCount() > byId.size() * 2) {
+                compact();
+            }
+        } catch (IOException e) {
+            System.err.println("Appointment store unavailable, bookings will not be saved: " + e.getMessage());
+            log = null;
+        }
+    }
+
+    /**
+     * Called (on the booking thread) with each new appointment.
+     */
+    public void addBookListener(Consumer<Appointment> listener) {
+        bookListeners.add(listener);
+    }
+
+    /**
+     * Called (on the cancelling thread) with each cancelled appointment.
+     */
+    public void addCancelListener(Consumer<Appointment> listener) {
+        cancelListeners.add(listener);
+    }
+
+    public void removeBookListener(Consumer<Appointment> listener) {
+        bookListeners.remove(listener);
+    }
+
+    public void removeCancelListener(Consumer<Appointment> listener) {
+        cancelListeners.remove(listener);
+    }
+
+    public synchronized int size() {
+        return byId.size();
+    }
+
+    public synchronized Appointment get(long id) {
+        return byId.get(id);
+    }
+
+    /**
+     * The doctor's appointment overlapping [start, start + durationMinutes), or null if the slot is free.
+     */
+    public synchronized Appointment findConflict(String doctor, LocalDateTime start, int durationMinutes) {
+        long startMinute = toMinute(start);
+        return conflict(doctor, startMinute, startMinute + durationMinutes);
+    }
+
+    synchronized Appointment findConflict(String doctor, long startMinute, long endMinute) {
+        return conflict(doctor, startMinute, endMinute);
+    }
+
+    public boolean isFree(String doctor, LocalDateTime start, int durationMinutes) {
+        return findConflict(doctor, start, durationMinutes) == null;
+    }
+
+    /**
+     * Books the appointment (its id is ignored and a new one assigned) unless it
+     * overlaps one of the doctor's existing bookings; returns the stored
+     * appointment, or null if the slot was taken. A duration of zero or less
+     * is refused with an IllegalArgumentException.
+     */
+    public Appointment book(Appointment appointment) {
+        checkDuration(appointment);
+        Appointment stored;
+        synchronized (this) {
+            if (conflict(appointment.getDoctor(), appointment.startMinute(), appointment.endMinute()) != null) {
+                return null;
+            }
+            stored = appointment.withId(nextId);
+            write(OP_BOOK, stored);
+            apply(OP_BOOK, stored);
+        }
+        for (Consumer<Appointment> listener : bookListeners) {
+            listener.accept(stored);
+        }
+        return stored;
+    }
+
+    /**
+     * Books a batch in one go: the same overlap rule as book() (including
+     * against earlier appointments in the batch), but the log is forced once
+     * for the whole batch instead of once per booking. Returns the stored
+     * appointments; those that clashed are left out. Like book(), refuses
+     * (before booking anything) a batch holding a non-positive duration.
+     */
+    public List<Appointment> bookAll(List<Appointment> appointments) {
+        for (Appointment appointment : appointments) {
+            checkDuration(appointment);
+        }
+        List<Appointment> booked = new ArrayList<>(appointments.size());
+        synchronized (this) {
+            for (Appointment appointment : appointments) {
+                if (conflict(appointment.getDoctor(), appointment.startMinute(), appointment.endMinute()) != null) {
+                    continue;
+                }
+                Appointment stored = appointment.withId(nextId);
+                append(OP_BOOK, stored);
+                apply(OP_BOOK, stored);
+                booked.add(stored);
+            }
+            if (!booked.isEmpty()) force();
+        }
+        for (Appointment stored : booked) {
+            for (Consumer<Appointment> listener : bookListeners) {
+                listener.accept(stored);
+            }
+        }
+        return booked;
+    }
+
+    public boolean cancel(long id) {
+        Appointment removed;
+        synchronized (this) {
+            removed = byId.get(id);
+            if (removed == null) return false;
+            write(OP_CANCEL, removed);
+            apply(OP_CANCEL, removed);
+        }
+        for (Consumer<Appointment> listener : cancelListeners) {
+            listener.accept(removed);
+        }
+        return true;
+    }
+
+    /**
+     * The doctor's appointments starting in [from, to), in time order.
+     */
+    public synchronized List<Appointment> getAppointments(String doctor, LocalDateTime from, LocalDateTime to) {
+        NavigableMap<Long, Appointment> schedule = byDoctor.get(doctor);
+        if (schedule == null) return new ArrayList<>();
+        return new ArrayList<>(schedule.subMap(toMinute(from), true, toMinute(to), false).values());
+    }
+
+    /**
+     * Up to `limit` of the doctor's appointments starting after `afterMinute`,
+     * in time order; for walking a long schedule a page at a time.
+     */
+    synchronized List<Appointment> getAppointmentsAfter(String doctor, long afterMinute, int limit) {
+        NavigableMap<Long, Appointment> schedule = byDoctor.get(doctor);
+        List<Appointment> page = new ArrayList<>();
+        if (schedule == null) return page;
+        for (Appointment appointment : schedule.tailMap(afterMinute, false).values()) {
+            if (page.size() == limit) break;
+            page.add(appointment);
+        }
+        return page;
+    }
+
+    /**
+     * Every doctor with at least one booking.
+     */
+    public synchronized List<String> getDoctors() {
+        return new ArrayList<>(byDoctor.keySet());
+    }
+
+    /**
+     * Every appointment starting at or after `from`, across all doctors (unordered).
+     */
+    public synchronized List<Appointment> getUpcoming(LocalDateTime from) {
+        long fromMinute = toMinute(from);
+        List<Appointment> upcoming = new ArrayList<>();
+        for (NavigableMap<Long, Appointment> schedule : byDoctor.values()) {
+            upcoming.addAll(schedule.tailMap(fromMinute, true).values());
+        }
+        return upcoming;
+    }
+
+    public synchronized void close() {
+        if (log != null) {
+            log.close();
+            log = null;
+        }
+    }
+
+    // A zero-length booking never conflicts and would share its start key with the next one
+    private static void checkDuration(Appointment appointment) {
+        if (appointment.getDurationMinutes() <= 0) {
+            throw new IllegalArgumentException("Appointment duration must be positive: "
+                + appointment.getDurationMinutes() + " minutes");
+        }
+    }
+
+    // Existing bookings never overlap, so only the last one starting before `end` can reach past `start`
+    private Appointment conflict(String doctor, long start, long end) {
+        NavigableMap<Long, Appointment> schedule = byDoctor.get(doctor);
+        if (schedule == null) return null;
+        Map.Entry<Long, Appointment> before = schedule.lowerEntry(end);
+        if (before != null && before.getValue().endMinute() > start) {
+            return before.getValue();
+        }
+        return null;
+    }
+
+    private void apply(byte op, Appointment appointment) {
+        if (op == OP_CANCEL) {
+            Appointment removed = byId.remove(appointment.getId());
+            if (removed != null) {
+                NavigableMap<Long, Appointment> schedule = byDoctor.get(removed.getDoctor());
+                schedule.remove(removed.startMinute());
+                if (schedule.isEmpty()) byDoctor.remove(removed.getDoctor());
+            }
+            return;
+        }
+        byId.put(appointment.getId(), appointment);
+        byDoctor.computeIfAbsent(appointment.getDoctor(), k -> new TreeMap<>())
+            .put(appointment.startMinute(), appointment);
+        nextId = Math.max(nextId, appointment.getId() + 1);
+    }
+
+    private void write(byte op, Appointment appointment) {
+        append(op, appointment);
+        force();
+    }
+
+    private void append(byte op, Appointment appointment) {
+        if (log == null) return;
+        try {
+            log.append(encode(op, appointment));
+        } catch (IOException e) {
+            System.err.println("Appointment store write failed: " + e.getMessage());
+        }
+    }
+
+    private void force() {
+        if (log == null) return;
+        try {
+            log.force();
+        } catch (IOException e) {
+            System.err.println("Appointment store write failed: " + e.getMessage());
+        }
+    }
+
+    // Rewrites the log with only the live bookings
+    private void compact() throws IOException {
+        Map<Long, Appointment> ordered = new LinkedHashMap<>();
+        for (NavigableMap<Long, Appointment> schedule : byDoctor.values()) {
+            for (Appointment appointment : schedule.values()) ordered.put(appointment.getId(), appointment);
+        }
+        log.compact(ordered.values(), appointment -> encode(OP_BOOK, appointment));
+    }
+
+    private void replay(byte[] payload) throws IOException {
+        DataInputStream data = new DataInputStream(new ByteArrayInputStream(payload));
+        byte op = data.readByte();
+        apply(op, new Appointment(data.readLong(), data.readUTF(), data.readLong(), data.readInt(),
+            data.readUTF(), data.readUTF(), data.readUTF(), data.readUTF()));
+    }
+
+    private static byte[] encode(byte op, Appointment appointment) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream payload = new DataOutputStream(bytes);
+        payload.writeByte(op);
+        payload.writeLong(appointment.getId());
+        payload.writeUTF(appointment.getDoctor());
+        payload.writeLong(appointment.startMinute());
+        payload.writeInt(appointment.getDurationMinutes());
+        payload.writeUTF(appointment.getOwner());
+        payload.writeUTF(appointment.getPetName());
+        payload.writeUTF(appointment.getPetType());
+        payload.writeUTF(appointment.getPhone());
+        return bytes.toByteArray();
+    }
+
+    static long toMinute(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    static LocalDateTime fromMinute(long minute) {
+        return LocalDateTime.ofEpochSecond(minute * 60, 0, ZoneOffset.UTC);
+    }
+
+    private static String nonNull(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,167 @@
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-ahead journal for the PetShop cart.
+ *
+ * Every cart mutation is appended to a small binary log before it is applied in
+ * memory, so the cart survives the window being closed or the app crashing.
+ * The journal is a FramedLog, so a torn record at the tail (crash mid-write)
+ * is detected on replay and cut off.
+ *
+ * fsync is batched: appends go straight to the OS, and a background thread
+ * forces the file to disk at most every FLUSH_INTERVAL_MS. Once the log holds
+ * far more records than the cart has lines it is compacted into a snapshot.
+ */
+public class CartJournal {
+
+    private static final String DEFAULT_PATH = "data/cart.journal";
+    private static final long FLUSH_INTERVAL_MS = 200;
+    private static final int COMPACT_MIN_RECORDS = 256;
+    private static final int MAX_RECORD_BYTES = 64 * 1024;
+
+    // Record types
+    private static final byte OP_ADD = 1;
+    private static final byte OP_UPDATE = 2;
+    private static final byte OP_REMOVE = 3;
+    private static final byte OP_CLEAR = 4;
+
+    private static CartJournal defaultJournal;
+
+    private final Map<String, Integer> state = new LinkedHashMap<>();
+    private final ScheduledExecutorService flusher;
+    private FramedLog log;
+    private boolean dirty;
+
+    // Shared journal used by every PetShop instance in this process
+    public static synchronized CartJournal getDefault() {
+        if (defaultJournal == null) {
+            defaultJournal = new CartJournal(Paths.get(DEFAULT_PATH));
+        }
+        return defaultJournal;
+    }
+
+    public CartJournal(Path path) {
+        try {
+            log = new FramedLog(path, MAX_RECORD_BYTES, this::replay);
+        } catch (IOException e) {
+            System.err.println("Cart journal unavailable, cart will not be persisted: " + e.getMessage());
+            log = null;
+        }
+
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "cart-journal-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "cart-journal-shutdown"));
+    }
+
+    /**
+     * Cart contents as of the last journaled mutation, keyed by catalog key.
+     */
+    public synchronized Map<String, Integer> getRestoredCart() {
+        return new LinkedHashMap<>(state);
+    }
+
+    public void logAdd(String key, int quantity) {
+        append(OP_ADD, key, quantity);
+    }
+
+    public void logUpdate(String key, int quantity) {
+        append(OP_UPDATE, key, quantity);
+    }
+
+    public void logRemove(String key) {
+        append(OP_REMOVE, key, 0);
+    }
+
+    public void logClear() {
+        append(OP_CLEAR, "", 0);
+    }
+
+    // Forces pending appends to disk; called by the flusher and on close
+    public synchronized void flush() {
+        if (log == null || !dirty) return;
+        try {
+            log.force();
+            dirty = false;
+        } catch (IOException e) {
+            System.err.println("Cart journal flush failed: " + e.getMessage());
+        }
+    }
+
+    public synchronized void close() {
+        flush();
+        flusher.shutdown();
+        if (log != null) {
+            log.close();
+            log = null;
+        }
+    }
+
+    private synchronized void append(byte op, String key, int quantity) {
+        apply(state, op, key, quantity);
+        if (log == null) return;
+        try {
+            log.append(encode(op, key, quantity));
+            dirty = true;
+            if (log.recordCount() >= COMPACT_MIN_RECORDS && log.recordCount() > state.size() * 4) {
+                compact();
+            }
+        } catch (IOException e) {
+            System.err.println("Cart journal write failed: " + e.getMessage());
+        }
+    }
+
+    // Rewrites the journal as one ADD per cart line
+    private void compact() throws IOException {
+        log.compact(state.entrySet(), entry -> encode(OP_ADD, entry.getKey(), entry.getValue()));
+        dirty = false;
+    }
+
+    private void replay(byte[] record) {
+        ByteBuffer payload = ByteBuffer.wrap(record);
+        byte op = payload.get();
+        int quantity = payload.getInt();
+        byte[] keyBytes = new byte[payload.remaining()];
+        payload.get(keyBytes);
+        apply(state, op, new String(keyBytes, StandardCharsets.UTF_8), quantity);
+    }
+
+    private static byte[] encode(byte op, String key, int quantity) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream payload = new DataOutputStream(bytes);
+        payload.writeByte(op);
+        payload.writeInt(quantity);
+        payload.write(key.getBytes(StandardCharsets.UTF_8));
+        return bytes.toByteArray();
+    }
+
+    // Same semantics as the matching CartManager operations
+    private static void apply(Map<String, Integer> cart, byte op, String key, int quantity) {
+        switch (op) {
+            case OP_ADD -> cart.merge(key, quantity, Integer::sum);
+            case OP_UPDATE -> {
+                if (cart.containsKey(key)) {
+                    if (quantity <= 0) cart.remove(key);
+                    else cart.put(key, quantity);
+                }
+            }
+            case OP_REMOVE -> cart.remove(key);
+            case OP_CLEAR -> cart.clear();
+            default -> { }
+        }
+    }
+}
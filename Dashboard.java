@@ -44,6 +44,9 @@ public class Dashboard extends JFrame {
         add(sidebar, BorderLayout.WEST);
         add(headerPanel, BorderLayout.NORTH);
         add(mainContent, BorderLayout.CENTER);
+
+        // Long kiosk sessions: pause hidden cards' timers, trim image caches over budget
+        ResourceGovernor.getDefault().start();
     }
 
     private void createModernSidebar() {
@@ -247,6 +250,7 @@ public class Dashboard extends JFrame {
             private boolean hover = false;
             private float hoverProgress = 0f;
             private Timer hoverTimer;
+            private boolean hoverForward;
 
             @Override
             protected void paintComponent(Graphics g) {
@@ -303,28 +307,27 @@ public class Dashboard extends JFrame {
             }
 
             private void startHoverAnimation(boolean forward) {
-                if (hoverTimer != null && hoverTimer.isRunning()) {
-                    hoverTimer.stop();
-                }
-                
-                hoverTimer = new Timer(15, null);
-                hoverTimer.addActionListener(e -> {
-                    if (forward) {
-                        hoverProgress += 0.1f;
-                        if (hoverProgress >= 1f) {
-                            hoverProgress = 1f;
-                            hoverTimer.stop();
+                hoverForward = forward;
+                // One timer per component, reused for every hover instead of a new one each time
+                if (hoverTimer == null) {
+                    hoverTimer = ResourceGovernor.getDefault().trackTimer(new Timer(15, e -> {
+                        if (hoverForward) {
+                            hoverProgress += 0.1f;
+                            if (hoverProgress >= 1f) {
+                                hoverProgress = 1f;
+                                hoverTimer.stop();
+                            }
+                        } else {
+                            hoverProgress -= 0.1f;
+                            if (hoverProgress <= 0f) {
+                                hoverProgress = 0f;
+                                hoverTimer.stop();
+                            }
                         }
-                    } else {
-                        hoverProgress -= 0.1f;
-                        if (hoverProgress <= 0f) {
-                            hoverProgress = 0f;
-                            hoverTimer.stop();
-                        }
-                    }
-                    repaint();
-                });
-                hoverTimer.start();
+                        repaint();
+                    }));
+                }
+                hoverTimer.restart();
             }
         };
         searchFieldPanel.setOpaque(false);
@@ -333,6 +336,7 @@ public class Dashboard extends JFrame {
         JLabel searchIcon = new JLabel("🔍") {
             private float bounceOffset = 0f;
             private Timer bounceTimer;
+            private int bounceStep;
 
             @Override
             protected void paintComponent(Graphics g) {
@@ -356,18 +360,19 @@ public class Dashboard extends JFrame {
                     return;
                 }
 
-                bounceTimer = new Timer(20, null);
-                final int[] step = {0};
-                bounceTimer.addActionListener(e -> {
-                    step[0]++;
-                    bounceOffset = (float)(Math.sin(step[0] * 0.4) * 3 * Math.exp(-step[0] * 0.08));
-                    
-                    if (step[0] > 25 || Math.abs(bounceOffset) < 0.1f) {
-                        bounceOffset = 0f;
-                        bounceTimer.stop();
-                    }
-                    repaint();
-                });
+                bounceStep = 0;
+                if (bounceTimer == null) {
+                    bounceTimer = ResourceGovernor.getDefault().trackTimer(new Timer(20, e -> {
+                        bounceStep++;
+                        bounceOffset = (float)(Math.sin(bounceStep * 0.4) * 3 * Math.exp(-bounceStep * 0.08));
+
+                        if (bounceStep > 25 || Math.abs(bounceOffset) < 0.1f) {
+                            bounceOffset = 0f;
+                            bounceTimer.stop();
+                        }
+                        repaint();
+                    }));
+                }
                 bounceTimer.start();
             }
         };
@@ -460,6 +465,7 @@ public class Dashboard extends JFrame {
             private boolean pressed = false;
             private float hoverProgress = 0f;
             private Timer hoverTimer;
+            private boolean hoverForward;
 
             @Override
             protected void paintComponent(Graphics g) {
@@ -554,28 +560,27 @@ public class Dashboard extends JFrame {
             }
 
             private void startHoverAnimation(boolean forward) {
-                if (hoverTimer != null && hoverTimer.isRunning()) {
-                    hoverTimer.stop();
-                }
-                
-                hoverTimer = new Timer(15, null);
-                hoverTimer.addActionListener(e -> {
-                    if (forward) {
-                        hoverProgress += 0.12f;
-                        if (hoverProgress >= 1f) {
-                            hoverProgress = 1f;
-                            hoverTimer.stop();
+                hoverForward = forward;
+                // One timer per component, reused for every hover instead of a new one each time
+                if (hoverTimer == null) {
+                    hoverTimer = ResourceGovernor.getDefault().trackTimer(new Timer(15, e -> {
+                        if (hoverForward) {
+                            hoverProgress += 0.12f;
+                            if (hoverProgress >= 1f) {
+                                hoverProgress = 1f;
+                                hoverTimer.stop();
+                            }
+                        } else {
+                            hoverProgress -= 0.12f;
+                            if (hoverProgress <= 0f) {
+                                hoverProgress = 0f;
+                                hoverTimer.stop();
+                            }
                         }
-                    } else {
-                        hoverProgress -= 0.12f;
-                        if (hoverProgress <= 0f) {
-                            hoverProgress = 0f;
-                            hoverTimer.stop();
-                        }
-                    }
-                    repaint();
-                });
-                hoverTimer.start();
+                        repaint();
+                    }));
+                }
+                hoverTimer.restart();
             }
         };
 
@@ -597,6 +602,7 @@ public class Dashboard extends JFrame {
             private boolean pressed = false;
             private float hoverProgress = 0f;
             private Timer hoverTimer;
+            private boolean hoverForward;
 
             @Override
             protected void paintComponent(Graphics g) {
@@ -693,28 +699,27 @@ public class Dashboard extends JFrame {
             }
 
             private void startHoverAnimation(boolean forward) {
-                if (hoverTimer != null && hoverTimer.isRunning()) {
-                    hoverTimer.stop();
-                }
-                
-                hoverTimer = new Timer(15, null);
-                hoverTimer.addActionListener(e -> {
-                    if (forward) {
-                        hoverProgress += 0.1f;
-                        if (hoverProgress >= 1f) {
-                            hoverProgress = 1f;
-                            hoverTimer.stop();
-                        }
-                    } else {
-                        hoverProgress -= 0.1f;
-                        if (hoverProgress <= 0f) {
-                            hoverProgress = 0f;
-                            hoverTimer.stop();
+                hoverForward = forward;
+                // One timer per component, reused for every hover instead of a new one each time
+                if (hoverTimer == null) {
+                    hoverTimer = ResourceGovernor.getDefault().trackTimer(new Timer(15, e -> {
+                        if (hoverForward) {
+                            hoverProgress += 0.1f;
+                            if (hoverProgress >= 1f) {
+                                hoverProgress = 1f;
+                                hoverTimer.stop();
+                            }
+                        } else {
+                            hoverProgress -= 0.1f;
+                            if (hoverProgress <= 0f) {
+                                hoverProgress = 0f;
+                                hoverTimer.stop();
+                            }
                         }
-                    }
-                    repaint();
-                });
-                hoverTimer.start();
+                        repaint();
+                    }));
+                }
+                hoverTimer.restart();
             }
 
             public void setActive(boolean active) {
@@ -735,6 +740,7 @@ public class Dashboard extends JFrame {
         JLabel iconLabel = new JLabel(icon) {
             private float bounceOffset = 0f;
             private Timer bounceTimer;
+            private int bounceStep;
 
             @Override
             protected void paintComponent(Graphics g) {
@@ -758,18 +764,19 @@ public class Dashboard extends JFrame {
                     return;
                 }
 
-                bounceTimer = new Timer(20, null);
-                final int[] step = {0};
-                bounceTimer.addActionListener(e -> {
-                    step[0]++;
-                    bounceOffset = (float)(Math.sin(step[0] * 0.4) * 4 * Math.exp(-step[0] * 0.08));
-                    
-                    if (step[0] > 25 || Math.abs(bounceOffset) < 0.1f) {
-                        bounceOffset = 0f;
-                        bounceTimer.stop();
-                    }
-                    repaint();
-                });
+                bounceStep = 0;
+                if (bounceTimer == null) {
+                    bounceTimer = ResourceGovernor.getDefault().trackTimer(new Timer(20, e -> {
+                        bounceStep++;
+                        bounceOffset = (float)(Math.sin(bounceStep * 0.4) * 4 * Math.exp(-bounceStep * 0.08));
+
+                        if (bounceStep > 25 || Math.abs(bounceOffset) < 0.1f) {
+                            bounceOffset = 0f;
+                            bounceTimer.stop();
+                        }
+                        repaint();
+                    }));
+                }
                 bounceTimer.start();
             }
         };
@@ -780,6 +787,7 @@ public class Dashboard extends JFrame {
         // Use HTML to allow wrapping. Keep styling minimal so look stays consistent.
         JLabel textLabel = new JLabel("<html><div style='white-space:normal;'>" + text + "</div></html>") {
             private Timer colorTimer;
+            private boolean colorForward;
             private float colorProgress = 0f;
 
             @Override
@@ -824,23 +832,25 @@ public class Dashboard extends JFrame {
                     return;
                 }
 
-                colorTimer = new Timer(15, null);
-                colorTimer.addActionListener(e -> {
-                    if (forward) {
-                        colorProgress += 0.15f;
-                        if (colorProgress >= 1f) {
-                            colorProgress = 1f;
-                            colorTimer.stop();
+                colorForward = forward;
+                if (colorTimer == null) {
+                    colorTimer = ResourceGovernor.getDefault().trackTimer(new Timer(15, e -> {
+                        if (colorForward) {
+                            colorProgress += 0.15f;
+                            if (colorProgress >= 1f) {
+                                colorProgress = 1f;
+                                colorTimer.stop();
+                            }
+                        } else {
+                            colorProgress -= 0.15f;
+                            if (colorProgress <= 0f) {
+                                colorProgress = 0f;
+                                colorTimer.stop();
+                            }
                         }
-                    } else {
-                        colorProgress -= 0.15f;
-                        if (colorProgress <= 0f) {
-                            colorProgress = 0f;
-                            colorTimer.stop();
-                        }
-                    }
-                    repaint();
-                });
+                        repaint();
+                    }));
+                }
                 colorTimer.start();
             }
         };
@@ -899,16 +909,22 @@ public class Dashboard extends JFrame {
         }
     }
 
+    // Adds a card to the main content and lets the resource governor report on it
+    private void addCard(Component card, String name) {
+        mainContent.add(card, name);
+        ResourceGovernor.getDefault().registerPanel(name, card);
+    }
+
     private void createMainContentPanel() {
         cardLayout = new CardLayout();
         mainContent = new JPanel(cardLayout);
 
         // Paw Management Panel
         try {
-            mainContent.add(new PawManagement(), "PAW_PANEL");
+            addCard(new PawManagement(), "PAW_PANEL");
         } catch (Exception e) {
             System.err.println("PawManagement class not found, using placeholder");
-            mainContent.add(createContentPanel("Paw Management"), "PAW_PANEL");
+            addCard(createContentPanel("Paw Management"), "PAW_PANEL");
         }
         
         // Vet Appointment Panel (embedded instead of adding a JFrame)
@@ -916,10 +932,10 @@ public class Dashboard extends JFrame {
             // Embed VetAppointmentSystem's main panel into the dashboard
             VetAppointmentSystem embeddedVet = new VetAppointmentSystem(true);
             JPanel vetPanel = embeddedVet.getMainPanel();
-            mainContent.add(vetPanel, "VET_PANEL");
+            addCard(vetPanel, "VET_PANEL");
         } catch (Exception e) {
             System.err.println("VetAppointment class not found or failed to embed, using placeholder: " + e.getMessage());
-            mainContent.add(createContentPanel("Vet Appointments"), "VET_PANEL");
+            addCard(createContentPanel("Vet Appointments"), "VET_PANEL");
         }
 
         // Donation panel integration with better error handling
@@ -927,21 +943,21 @@ public class Dashboard extends JFrame {
             System.out.println("Creating Donation panel...");
             Donation donation = new Donation();
             JPanel donationPanel = donation.createDonationPanel();
-            mainContent.add(donationPanel, "DONATION_PANEL");
+            addCard(donationPanel, "DONATION_PANEL");
             System.out.println("Donation panel successfully added to main content");
         } catch (Exception e) {
             System.err.println("Error creating Donation panel: " + e.getMessage());
-            mainContent.add(createDonationFallbackPanel(), "DONATION_PANEL");
+            addCard(createDonationFallbackPanel(), "DONATION_PANEL");
         }
         
         // PetTrivia panel integration with error handling
         try {
             JPanel triviaPanel = PetTrivia.createTriviaPanel();
-            mainContent.add(triviaPanel, "TRIVIA_PANEL");
+            addCard(triviaPanel, "TRIVIA_PANEL");
             System.out.println("Pet Trivia panel successfully integrated");
         } catch (Exception e) {
             System.err.println("Error creating PetTrivia panel: " + e.getMessage());
-            mainContent.add(createContentPanel("Trivia"), "TRIVIA_PANEL");
+            addCard(createContentPanel("Trivia"), "TRIVIA_PANEL");
         }
         
         // Shop panel
@@ -950,25 +966,25 @@ public class Dashboard extends JFrame {
             PetShop embeddedShop = new PetShop(true);
             JPanel shopPanel = embeddedShop.getMainPanel();
             if (shopPanel != null) {
-                mainContent.add(shopPanel, "SHOP_PANEL");
+                addCard(shopPanel, "SHOP_PANEL");
             } else {
                 // Fallback to placeholder if embedding failed
-                mainContent.add(createContentPanel("Shop"), "SHOP_PANEL");
+                addCard(createContentPanel("Shop"), "SHOP_PANEL");
             }
         } catch (Exception e) {
             System.err.println("Error embedding PetShop into dashboard: " + e.getMessage());
-            mainContent.add(createContentPanel("Shop"), "SHOP_PANEL");
+            addCard(createContentPanel("Shop"), "SHOP_PANEL");
         }
         
         // Transactions panel
-        // mainContent.add(createTransactionsPanel(), "TRANSACTIONS_PANEL");
+        // addCard(createTransactionsPanel(), "TRANSACTIONS_PANEL");
         
         // About Us panel with error handling
         try {
-            mainContent.add(AboutUs.createAboutUsPanel(), "ABOUT_PANEL");
+            addCard(AboutUs.createAboutUsPanel(), "ABOUT_PANEL");
         } catch (Exception e) {
             System.err.println("AboutUs class not found, using placeholder");
-            mainContent.add(createContentPanel("About Us"), "ABOUT_PANEL");
+            addCard(createContentPanel("About Us"), "ABOUT_PANEL");
         }
         
         // Profile panel with improved error handling
@@ -988,13 +1004,13 @@ public class Dashboard extends JFrame {
                     }
                 };
                 profileWrapper.add(userProfileContent, BorderLayout.CENTER);
-                mainContent.add(profileWrapper, "PROFILE_PANEL");
+                addCard(profileWrapper, "PROFILE_PANEL");
             } else {
-                mainContent.add(createProfilePanel(), "PROFILE_PANEL");
+                addCard(createProfilePanel(), "PROFILE_PANEL");
             }
         } catch (Exception e) {
             System.err.println("Error creating user profile panel: " + e.getMessage());
-            mainContent.add(createProfilePanel(), "PROFILE_PANEL");
+            addCard(createProfilePanel(), "PROFILE_PANEL");
         }
 
         // Ensure the Profile view is shown and the sidebar reflects it
@@ -11,6 +11,7 @@ import java.awt.event.MouseEvent;
 import java.awt.geom.Ellipse2D;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class DashboardAdmin extends JFrame {
 
@@ -444,7 +445,36 @@ public class DashboardAdmin extends JFrame {
     }
 
     private JPanel createAdoptingPetPanel() {
-        JPanel panel = new JPanel(new BorderLayout());
+        String[] columns = {
+            "Pet Name", "Gender", "Age", "Breed", "Health", "Contact", "Traits", "Reason", "Status"
+        };
+
+        // Rows are the registry's pets with an application on file, kept in sync while the panel is in the UI
+        PetRegistry registry = PetRegistry.getDefault();
+        DefaultTableModel model = new DefaultTableModel(columns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        List<PetRegistry.Pet> rowPets = new ArrayList<>();
+        Consumer<PetRegistry.Change> registryListener =
+            change -> SwingUtilities.invokeLater(() -> loadApplications(model, rowPets, registry));
+        JPanel panel = new JPanel(new BorderLayout()) {
+            @Override
+            public void addNotify() {
+                super.addNotify();
+                registry.addChangeListener(registryListener);
+                // Catch up on changes made while the panel was detached
+                loadApplications(model, rowPets, registry);
+            }
+
+            @Override
+            public void removeNotify() {
+                registry.removeChangeListener(registryListener);
+                super.removeNotify();
+            }
+        };
         panel.setBackground(MAIN_BG);
         panel.setBorder(new EmptyBorder(30, 30, 30, 30));
 
@@ -453,19 +483,6 @@ public class DashboardAdmin extends JFrame {
         title.setForeground(SIDEBAR_BG_TOP);
         panel.add(title, BorderLayout.NORTH);
 
-        String[] columns = {
-            "Pet Name", "Gender", "Age", "Breed", "Health", "Contact", "Traits", "Reason"
-        };
-
-        Object[][] data = {
-            {"Buddy", "Male", "2 yrs", "Golden Retriever", "Vaccinated", "0917-123-4567", "Friendly", "Companion"},
-            {"Luna", "Female", "1 yr", "Siamese Cat", "Spayed", "0998-765-4321", "Calm", "Loves cats"},
-            {"Max", "Male", "4 mos", "Beagle", "Healthy", "0912-345-6789", "Playful", "Family pet"},
-            {"Bella", "Female", "3 yrs", "Poodle", "Sick", "0922-111-2222", "Smart", "Gift"},
-            {"Rocky", "Male", "5 yrs", "Bulldog", "Healthy", "0915-888-9999", "Lazy", "Guard dog"}
-        };
-
-        DefaultTableModel model = new DefaultTableModel(data, columns);
         JTable table = new JTable(model);
         styleTable(table);
         
@@ -480,9 +497,61 @@ public class DashboardAdmin extends JFrame {
         
         panel.add(scrollPane, BorderLayout.CENTER);
 
+        // Decisions go through the registry, so the gallery and this table update together
+        JButton btnApprove = new JButton("Approve Adoption");
+        JButton btnReopen = new JButton("Mark Available");
+        styleActionButton(btnApprove, EDIT_MODE_COLOR);
+        styleActionButton(btnReopen, ACCENT_COLOR);
+        btnApprove.addActionListener(e -> setApplicationStatus(table, rowPets, registry, PetRegistry.STATUS_ADOPTED));
+        btnReopen.addActionListener(e -> setApplicationStatus(table, rowPets, registry, PetRegistry.STATUS_AVAILABLE));
+
+        JPanel actionPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 10));
+        actionPanel.setOpaque(false);
+        actionPanel.add(btnReopen);
+        actionPanel.add(btnApprove);
+        panel.add(actionPanel, BorderLayout.SOUTH);
+
         return panel;
     }
 
+    private static void loadApplications(DefaultTableModel model, List<PetRegistry.Pet> rowPets, PetRegistry registry) {
+        model.setRowCount(0);
+        rowPets.clear();
+        for (PetRegistry.Pet pet : registry.getAll()) {
+            if (!pet.hasApplication()) continue;
+            rowPets.add(pet);
+            model.addRow(new Object[]{
+                pet.getName(), pet.getGender(), pet.getAgeText(), pet.getBreed(), pet.getHealth(),
+                pet.getContact(), pet.getTraits(), pet.getReason(), pet.getStatus()
+            });
+        }
+    }
+
+    private void setApplicationStatus(JTable table, List<PetRegistry.Pet> rowPets, PetRegistry registry, String status) {
+        int row = table.getSelectedRow();
+        if (row < 0) {
+            JOptionPane.showMessageDialog(this, "Select an application first.", "No Selection",
+                JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        PetRegistry.Pet pet = rowPets.get(table.convertRowIndexToModel(row));
+        if (pet.getStatus() == status) return;
+        if (!registry.update(pet.withStatus(status))) {
+            JOptionPane.showMessageDialog(this, pet.getName() + " is no longer in the registry.", "Update Failed",
+                JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private void styleActionButton(JButton btn, Color background) {
+        btn.setBackground(background);
+        btn.setForeground(Color.WHITE);
+        btn.setFocusPainted(false);
+        btn.setBorderPainted(false);
+        btn.setFont(new Font("Segoe UI", Font.BOLD, 12));
+        btn.setCursor(new Cursor(Cursor.HAND_CURSOR));
+        btn.setPreferredSize(new Dimension(150, 35));
+    }
+
     private void styleTable(JTable table) {
         table.setRowHeight(35);
         table.setShowVerticalLines(false);
@@ -1,7 +1,6 @@
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
-import java.io.File;
 import java.util.Random;
 
 public class Donation extends JFrame {
@@ -25,7 +24,7 @@ public class Donation extends JFrame {
 
     // UI Components
     private JPanel mainContentPanel;
-    private JLabel imageDisplayLabel;
+    private CrossfadeLabel imageDisplayLabel;
 
     // --- SLIDESHOW CONFIG ---
     // Add as many image paths as you want; will cycle every 5 seconds.
@@ -37,6 +36,9 @@ public class Donation extends JFrame {
     };
     private int currentImageIndex = 0;
     private javax.swing.Timer slideshowTimer;
+    // Decodes the next slides ahead of the timer so transitions never wait on disk
+    private ImagePrefetcher slideshowPrefetcher;
+    private static final int SLIDESHOW_PREFETCH_AHEAD = 2;
     
     public Donation() {
         // 1. Main Frame Setup (keep frame config but reuse builder)
@@ -48,9 +50,6 @@ public class Donation extends JFrame {
         JPanel panel = createDonationPanel();
         setContentPane(panel);
 
-        // Load Default Image
-        loadDefaultImage();
-
         // Start slideshow for standalone use
         startSlideshow();
     }
@@ -83,9 +82,6 @@ public class Donation extends JFrame {
 
         bgPanel.add(scrollPane, BorderLayout.CENTER);
 
-        // Ensure the image label gets populated if a path is configured
-        loadDefaultImage();
-
         // Start slideshow when panel is created (safe-guard to not start multiple timers)
         startSlideshow();
 
@@ -126,7 +122,7 @@ public class Donation extends JFrame {
         ModernPanel container = new ModernPanel(900, 550);
         container.setLayout(new BorderLayout());
         
-        imageDisplayLabel = new JLabel("No Image Source Configured", SwingConstants.CENTER);
+        imageDisplayLabel = new CrossfadeLabel("No Image Source Configured");
         imageDisplayLabel.setForeground(new Color(255, 255, 255, 100));
         imageDisplayLabel.setFont(new Font("SansSerif", Font.PLAIN, 18));
         
@@ -226,9 +222,8 @@ public class Donation extends JFrame {
         // Load Logic
         boolean loaded = false;
         if (path != null && !path.isEmpty()) {
-            File f = new File(path);
-            if (f.exists()) {
-                ImageIcon icon = new ImageIcon(f.getPath());
+            if (java.nio.file.Files.isRegularFile(java.nio.file.Paths.get(path))) {
+                ImageIcon icon = new ImageIcon(path);
                 Image img = icon.getImage().getScaledInstance(160, 160, Image.SCALE_SMOOTH);
                 qrLabel.setIcon(new ImageIcon(img));
                 loaded = true;
@@ -247,34 +242,25 @@ public class Donation extends JFrame {
         return card;
     }
 
-    // --- LOGIC: IMAGE LOADING ---
-    private void loadDefaultImage() {
-        if (DEFAULT_IMAGE_PATH != null && !DEFAULT_IMAGE_PATH.isEmpty()) {
-            File imgFile = new File(DEFAULT_IMAGE_PATH);
-            if (imgFile.exists()) {
-                SwingUtilities.invokeLater(() -> {
-                    try {
-                        ImageIcon icon = new ImageIcon(imgFile.getPath());
-                        Image img = icon.getImage();
-                        // Scale to fit card roughly
-                        Image scaled = img.getScaledInstance(900, 550, Image.SCALE_SMOOTH);
-                        if (imageDisplayLabel != null) {
-                          imageDisplayLabel.setText("");
-                          imageDisplayLabel.setIcon(new ImageIcon(scaled));
-                        }
-                    } catch (Exception e) {
-                        // Ignore
-                    }
-                });
-            }
-        }
-    }
-
     // --- SLIDESHOW: autoplay every 5 seconds ---
     private void startSlideshow() {
-        if (slideshowTimer != null && slideshowTimer.isRunning()) return; // already running
+        if (slideshowImagePaths == null || slideshowImagePaths.length == 0) return;
+        ResourceGovernor governor = ResourceGovernor.getDefault();
 
-        // Immediately show current index image
+        if (slideshowPrefetcher == null) {
+            slideshowPrefetcher = new ImagePrefetcher(java.util.Arrays.asList(slideshowImagePaths),
+                900, 550, false, SLIDESHOW_PREFETCH_AHEAD);
+        }
+        // Follow the most recently built panel's label (the constructor builds one too)
+        governor.registerCache("Donation slideshow", imageDisplayLabel, slideshowPrefetcher);
+
+        if (slideshowTimer != null) { // already running
+            governor.bindToVisibility(slideshowTimer, imageDisplayLabel);
+            showImageAtIndex(currentImageIndex);
+            return;
+        }
+
+        // Immediately show current index image (this also starts prefetching the next ones)
         showImageAtIndex(currentImageIndex);
 
         slideshowTimer = new javax.swing.Timer(5000, e -> {
@@ -282,6 +268,8 @@ public class Donation extends JFrame {
             showImageAtIndex(currentImageIndex);
         });
         slideshowTimer.setInitialDelay(5000);
+        // No point advancing (and decoding) slides nobody can see
+        governor.bindToVisibility(slideshowTimer, imageDisplayLabel);
         slideshowTimer.start();
     }
 
@@ -293,38 +281,77 @@ public class Donation extends JFrame {
     }
 
     private void showImageAtIndex(int index) {
-        if (slideshowImagePaths == null || slideshowImagePaths.length == 0) return;
-        String path = slideshowImagePaths[index];
-        if (path == null || path.isEmpty()) {
-            SwingUtilities.invokeLater(() -> {
-                if (imageDisplayLabel != null) {
-                    imageDisplayLabel.setIcon(null);
-                    imageDisplayLabel.setText("No Image Source Configured");
-                }
-            });
-            return;
+        slideshowPrefetcher.show(index, image -> {
+            if (imageDisplayLabel == null) return;
+            if (image != null) {
+                imageDisplayLabel.fadeTo(image);
+            } else {
+                imageDisplayLabel.showMessage("<html><center>No Image<br>Path Found</center></html>");
+            }
+        });
+    }
+
+    // --- CUSTOM UI CLASS: SLIDE LABEL WITH CROSSFADE ---
+    // Paints the prefetched slide bitmaps directly and blends the outgoing slide into the next one
+    class CrossfadeLabel extends JLabel {
+        private static final int FADE_MILLIS = 600;
+        private java.awt.image.BufferedImage currentFrame;
+        private java.awt.image.BufferedImage previousFrame;
+        private float progress = 1f;
+        private long fadeStart;
+        private javax.swing.Timer fadeTimer;
+
+        public CrossfadeLabel(String text) {
+            super(text, SwingConstants.CENTER);
         }
-        File imgFile = new File(path);
-        if (imgFile.exists()) {
-            SwingUtilities.invokeLater(() -> {
-                try {
-                    ImageIcon icon = new ImageIcon(imgFile.getPath());
-                    Image img = icon.getImage();
-                    Image scaled = img.getScaledInstance(900, 550, Image.SCALE_SMOOTH);
-                    if (imageDisplayLabel != null) {
-                        imageDisplayLabel.setText("");
-                        imageDisplayLabel.setIcon(new ImageIcon(scaled));
+
+        public void fadeTo(java.awt.image.BufferedImage next) {
+            setText("");
+            previousFrame = currentFrame;
+            currentFrame = next;
+            if (previousFrame == null || previousFrame == next || !isShowing()) {
+                progress = 1f;
+                repaint();
+                return;
+            }
+            progress = 0f;
+            fadeStart = System.nanoTime();
+            if (fadeTimer == null) {
+                fadeTimer = ResourceGovernor.getDefault().trackTimer(new javax.swing.Timer(16, e -> {
+                    progress = Math.min(1f, (System.nanoTime() - fadeStart) / (FADE_MILLIS * 1_000_000f));
+                    if (progress >= 1f) {
+                        fadeTimer.stop();
+                        previousFrame = null;
                     }
-                } catch (Exception ignored) { }
-            });
-        } else {
-            SwingUtilities.invokeLater(() -> {
-                if (imageDisplayLabel != null) {
-                    imageDisplayLabel.setIcon(null);
-                    imageDisplayLabel.setText("<html><center>No Image<br>Path Found</center></html>");
-                    imageDisplayLabel.setForeground(new Color(255, 255, 255, 100));
-                }
-            });
+                    repaint();
+                }));
+            }
+            fadeTimer.restart();
+        }
+
+        public void showMessage(String message) {
+            if (fadeTimer != null) fadeTimer.stop();
+            currentFrame = null;
+            previousFrame = null;
+            setText(message);
+            setForeground(new Color(255, 255, 255, 100));
+            repaint();
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            if (currentFrame == null) return;
+            Graphics2D g2d = (Graphics2D) g.create();
+            int x = (getWidth() - currentFrame.getWidth()) / 2;
+            int y = (getHeight() - currentFrame.getHeight()) / 2;
+            if (previousFrame != null && progress < 1f) {
+                // Slides are opaque, so the outgoing one stays solid underneath the incoming one
+                g2d.drawImage(previousFrame, x, y, null);
+            }
+            g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, progress));
+            g2d.drawImage(currentFrame, x, y, null);
+            g2d.dispose();
         }
     }
 
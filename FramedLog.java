@@ -0,0 +1,160 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of [length][crc32][payload] records, for stores that keep
+ * their state in memory and persist each change.
+ *
+ * Opening the log replays every intact record through a callback and cuts
+ * off a torn tail (a crash mid-write), so new appends start on a record
+ * boundary. append() only hands the record to the OS; callers force() when
+ * the change must be durable, once per batch if they like. compact()
+ * rewrites the log from the caller's live state and atomically swaps it in.
+ *
+ * Not thread-safe: each store calls it under its own lock.
+ */
+public class FramedLog {
+
+    /**
+     * Decodes one replayed payload back into the store's state.
+     */
+    public interface Reader {
+        void read(byte[] payload) throws IOException;
+    }
+
+    /**
+     * Encodes one live item as a payload when the log is compacted.
+     */
+    public interface Encoder<T> {
+        byte[] encode(T item) throws IOException;
+    }
+
+    private final Path path;
+    private final int maxRecordBytes;
+    private final CRC32 crc = new CRC32();
+    private FileChannel channel;
+    private int recordCount;
+
+    /**
+     * Replays `path` (if it exists) into `reader`, then opens it for appending.
+     * Payloads longer than maxRecordBytes are treated as corruption.
+     */
+    public FramedLog(Path path, int maxRecordBytes, Reader reader) throws IOException {
+        this.path = path;
+        this.maxRecordBytes = maxRecordBytes;
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        replay(reader);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+    }
+
+    /**
+     * Records in the log: those replayed or compacted into it plus those appended since.
+     */
+    public int recordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Writes one record; it is not on disk until the next force().
+     */
+    public void append(byte[] payload) throws IOException {
+        ByteBuffer record = frame(payload);
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+        recordCount++;
+    }
+
+    public void force() throws IOException {
+        channel.force(false);
+    }
+
+    /**
+     * Rewrites the log as one record per item and atomically swaps it in.
+     */
+    public <T> void compact(Iterable<T> items, Encoder<T> encoder) throws IOException {
+        Path tmp = path.resolveSibling(path.getFileName() + ".compact");
+        int written = 0;
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (T item : items) {
+                ByteBuffer record = frame(encoder.encode(item));
+                while (record.hasRemaining()) {
+                    out.write(record);
+                }
+                written++;
+            }
+            out.force(true);
+        }
+        channel.close();
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(path, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        recordCount = written;
+    }
+
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException ignored) { }
+    }
+
+    private void replay(Reader reader) throws IOException {
+        if (!Files.exists(path)) return;
+        long validLength = 0;
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(8);
+            while (true) {
+                header.clear();
+                if (readFully(in, header) < 8) break;
+                header.flip();
+                int length = header.getInt();
+                long expectedCrc = header.getInt() & 0xFFFFFFFFL;
+                if (length <= 0 || length > maxRecordBytes) break;
+
+                ByteBuffer payload = ByteBuffer.allocate(length);
+                if (readFully(in, payload) < length) break;
+                crc.reset();
+                crc.update(payload.array(), 0, length);
+                if (crc.getValue() != expectedCrc) break;
+
+                reader.read(payload.array());
+                recordCount++;
+                validLength = in.position();
+            }
+        }
+        // Drop a torn tail so new appends start on a record boundary
+        if (validLength < Files.size(path)) {
+            try (FileChannel out = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                out.truncate(validLength);
+            }
+        }
+    }
+
+    private ByteBuffer frame(byte[] payload) {
+        crc.reset();
+        crc.update(payload);
+        ByteBuffer record = ByteBuffer.allocate(8 + payload.length);
+        record.putInt(payload.length);
+        record.putInt((int) crc.getValue());
+        record.put(payload);
+        record.flip();
+        return record;
+    }
+
+    private static int readFully(FileChannel in, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (in.read(buffer) < 0) break;
+        }
+        return buffer.position();
+    }
+}
@@ -0,0 +1,292 @@
+import javax.imageio.ImageIO;
+import javax.swing.SwingUtilities;
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Decodes and scales a cycle of images ahead of time on a worker thread.
+ *
+ * Images are kept in a small ring buffer of ready-to-draw bitmaps, all the same
+ * size (the target box), so a slot's bitmap is reused for the next image that
+ * lands in it instead of allocating a new one. Memory therefore stays at
+ * (ahead + 2) bitmaps no matter how long the cycle runs. The two extra slots
+ * hold the image on screen and the one it is fading out from; those are never
+ * overwritten.
+ *
+ * All callbacks run on the EDT.
+ */
+public class ImagePrefetcher implements ResourceGovernor.Evictable {
+
+    private static class Slot {
+        int index = -1;
+        BufferedImage image;
+        boolean ready;
+        boolean missing;
+    }
+
+    private final List<String> paths;
+    private final int width;
+    private final int height;
+    private final boolean preserveAspect;
+    private final int ahead;
+    private final Slot[] ring;
+    private final ExecutorService worker;
+    private final List<Integer> window = new ArrayList<>();
+    private int current = -1;
+    private int previous = -1;
+
+    /**
+     * @param preserveAspect fit each image inside the box (centred, transparent
+     *                       padding, never enlarged) instead of stretching it to the box
+     * @param ahead          how many images after the current one to keep ready
+     */
+    public ImagePrefetcher(List<String> paths, int width, int height, boolean preserveAspect, int ahead) {
+        this.paths = new ArrayList<>(paths);
+        this.width = width;
+        this.height = height;
+        this.preserveAspect = preserveAspect;
+        this.ahead = Math.max(1, ahead);
+        this.ring = new Slot[this.ahead + 2];
+        for (int i = 0; i < ring.length; i++) {
+            ring[i] = new Slot();
+        }
+        this.worker = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "image-prefetcher");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    public int size() {
+        return paths.size();
+    }
+
+    /**
+     * Makes index the image on screen and hands its bitmap to onReady (null if
+     * the file could not be loaded). Ready images are delivered immediately;
+     * otherwise it is decoded on the worker first. Also schedules the next images.
+     */
+    public void show(int index, Consumer<BufferedImage> onReady) {
+        if (paths.isEmpty()) return;
+        int target = Math.floorMod(index, paths.size());
+        List<Integer> upcoming = new ArrayList<>();
+        for (int i = 1; i <= ahead && i < paths.size(); i++) {
+            upcoming.add((target + i) % paths.size());
+        }
+        show(target, upcoming, onReady);
+    }
+
+    /**
+     * Like show(int, Consumer), for callers that don't step through the images in
+     * order (e.g. a shuffled deck): upcoming lists the indices that will be shown
+     * next, and the first `ahead` of them are prefetched.
+     */
+    public void show(int index, List<Integer> upcoming, Consumer<BufferedImage> onReady) {
+        if (paths.isEmpty()) return;
+        int target = Math.floorMod(index, paths.size());
+        boolean ready;
+        BufferedImage image;
+        synchronized (this) {
+            if (target != current) {
+                previous = current;
+                current = target;
+            }
+            window.clear();
+            for (int next : upcoming) {
+                if (window.size() == ahead) break;
+                int wrapped = Math.floorMod(next, paths.size());
+                if (wrapped != target && !window.contains(wrapped)) window.add(wrapped);
+            }
+            Slot slot = slotFor(target);
+            ready = slot != null && slot.ready;
+            image = ready && !slot.missing ? slot.image : null;
+        }
+        if (ready) {
+            onReady.accept(image);
+            prefetchWindow();
+            return;
+        }
+        worker.execute(() -> {
+            BufferedImage loaded = load(target);
+            SwingUtilities.invokeLater(() -> {
+                // A later show() may have moved on while this was decoding
+                synchronized (this) {
+                    if (current != target) return;
+                }
+                onReady.accept(loaded);
+            });
+        });
+        prefetchWindow();
+    }
+
+    @Override
+    public synchronized long retainedBytes() {
+        long bytes = 0;
+        for (Slot slot : ring) {
+            if (slot.image != null) bytes += bytesOf(slot.image);
+        }
+        return bytes;
+    }
+
+    /**
+     * Drops every bitmap except the one on screen and the one fading out; they
+     * are decoded again when next needed.
+     */
+    @Override
+    public synchronized long evict() {
+        long freed = 0;
+        for (Slot slot : ring) {
+            if (slot.image == null || !slot.ready || slot.index == current || slot.index == previous) continue;
+            freed += bytesOf(slot.image);
+            slot.image = null;
+            slot.index = -1;
+            slot.ready = false;
+        }
+        return freed;
+    }
+
+    private static long bytesOf(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * 4;
+    }
+
+    /**
+     * Stops the worker; pending prefetches are dropped.
+     */
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private void prefetchWindow() {
+        List<Integer> indices;
+        synchronized (this) {
+            indices = new ArrayList<>(window);
+        }
+        for (int index : indices) {
+            worker.execute(() -> {
+                synchronized (this) {
+                    // Skip if already loaded or if the viewer has since moved past it
+                    Slot slot = slotFor(index);
+                    if (slot != null && slot.ready) return;
+                    if (!window.contains(index)) return;
+                }
+                load(index);
+            });
+        }
+    }
+
+    // Runs on the worker: decodes into the slot's recycled bitmap and returns it
+    private BufferedImage load(int index) {
+        String path = paths.get(index);
+        BufferedImage source = null;
+        try {
+            source = decode(path);
+        } catch (IOException e) {
+            System.err.println("Could not load image " + path + ": " + e.getMessage());
+        }
+
+        Slot slot;
+        BufferedImage target;
+        synchronized (this) {
+            slot = slotFor(index);
+            if (slot != null && slot.ready) {
+                return slot.missing ? null : slot.image;
+            }
+            if (slot == null) {
+                slot = victim();
+            }
+            target = slot.image == null ? createBuffer() : slot.image;
+            // Claim the slot so nobody is handed the bitmap while it is redrawn
+            slot.index = index;
+            slot.ready = false;
+        }
+
+        if (source != null) {
+            render(source, target);
+        }
+
+        synchronized (this) {
+            slot.image = target;
+            slot.missing = source == null;
+            slot.ready = true;
+        }
+        return source == null ? null : target;
+    }
+
+    private Slot slotFor(int index) {
+        for (Slot slot : ring) {
+            if (slot.index == index) return slot;
+        }
+        return null;
+    }
+
+    // The slot to recycle: never the one on screen or the one fading out, and
+    // preferably one that has left the prefetch window
+    private Slot victim() {
+        Slot fallback = null;
+        for (Slot slot : ring) {
+            if (slot.index < 0) return slot;
+            if (slot.index == current || slot.index == previous) continue;
+            if (!window.contains(slot.index)) return slot;
+            fallback = slot;
+        }
+        return fallback;
+    }
+
+    private BufferedImage createBuffer() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+        // Compatible images can be blitted (and faded) without a format conversion
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+            .getDefaultConfiguration().createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+    }
+
+    private void render(BufferedImage source, BufferedImage target) {
+        int drawWidth = width;
+        int drawHeight = height;
+        if (preserveAspect) {
+            double scale = Math.min(1.0, Math.min((double) width / source.getWidth(), (double) height / source.getHeight()));
+            drawWidth = Math.max(1, (int) Math.round(source.getWidth() * scale));
+            drawHeight = Math.max(1, (int) Math.round(source.getHeight() * scale));
+        }
+        Graphics2D g2d = target.createGraphics();
+        g2d.setComposite(AlphaComposite.Clear);
+        g2d.fillRect(0, 0, width, height);
+        g2d.setComposite(AlphaComposite.SrcOver);
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2d.drawImage(source, (width - drawWidth) / 2, (height - drawHeight) / 2, drawWidth, drawHeight, null);
+        g2d.dispose();
+    }
+
+    // Paths are tried as files first, then as classpath resources
+    private static BufferedImage decode(String path) throws IOException {
+        File file = new File(path);
+        BufferedImage image = null;
+        if (file.exists()) {
+            image = ImageIO.read(file);
+        } else {
+            URL url = ImagePrefetcher.class.getResource(path.startsWith("/") ? path : "/" + path);
+            if (url != null) {
+                image = ImageIO.read(url);
+            }
+        }
+        if (image == null) {
+            throw new IOException("not found");
+        }
+        return image;
+    }
+}
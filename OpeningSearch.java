@@ -0,0 +1,240 @@
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * "Who can see my pet soonest?": the earliest open slots across many vets.
+ *
+ * Each vet's openings are found by hopping through their availability bitmap
+ * with nextSetBit() and skipping past any booking that overlaps a candidate
+ * (one O(log n) lookup in the appointment store, which then jumps straight to
+ * the booking's end). A vet is abandoned as soon as their next candidate is
+ * later than the N-th best slot found so far, so most vets cost a lookup or
+ * two. Vets are searched in parallel chunks on a shared pool and the chunks'
+ * results are merged into the overall top N.
+ *
+ * Usage: OpeningSearch --benchmark [vets]
+ */
+public class OpeningSearch {
+
+    // Below this many vets the search runs on the caller's thread; handing off costs more than it saves
+    private static final int PARALLEL_THRESHOLD = 32;
+
+    private static ExecutorService pool;
+
+    /**
+     * A vet that can be searched: their name (as booked in the store),
+     * specialty and compiled schedule.
+     */
+    public static class Vet {
+        private final String name;
+        private final String specialty;
+        private final VetAvailability availability;
+
+        public Vet(String name, String specialty, VetAvailability availability) {
+            this.name = name;
+            this.specialty = specialty;
+            this.availability = availability;
+        }
+
+        public String getName() { return name; }
+        public String getSpecialty() { return specialty; }
+    }
+
+    /**
+     * One open slot: which vet (index into the searched list) and when.
+     */
+    public static class Slot {
+        private final int vetIndex;
+        private final LocalDateTime start;
+
+        Slot(int vetIndex, LocalDateTime start) {
+            this.vetIndex = vetIndex;
+            this.start = start;
+        }
+
+        public int getVetIndex() { return vetIndex; }
+        public LocalDateTime getStart() { return start; }
+    }
+
+    private final List<Vet> vets;
+    private final AppointmentStore store;
+
+    public OpeningSearch(List<Vet> vets, AppointmentStore store) {
+        this.vets = new ArrayList<>(vets);
+        this.store = store;
+    }
+
+    /**
+     * The `count` earliest slots at or after `from` and within `horizonDays`
+     * where a vet whose specialty contains `specialty` (ignoring case; null or
+     * empty for any vet) is working and unbooked for durationMinutes. Sorted by
+     * time, ties in vet order.
+     */
+    public List<Slot> findEarliest(String specialty, LocalDateTime from, int horizonDays, int durationMinutes, int count) {
+        String wanted = specialty == null ? "" : specialty.trim().toLowerCase(Locale.ROOT);
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < vets.size(); i++) {
+            if (wanted.isEmpty() || vets.get(i).specialty.toLowerCase(Locale.ROOT).contains(wanted)) {
+                candidates.add(i);
+            }
+        }
+        if (candidates.isEmpty() || count <= 0) return new ArrayList<>();
+
+        LocalDateTime base = alignUp(from);
+        int horizonSlots = horizonDays * VetAvailability.SLOTS_PER_DAY;
+        if (candidates.size() < PARALLEL_THRESHOLD) {
+            return searchChunk(candidates, base, horizonSlots, durationMinutes, count);
+        }
+
+        // One chunk per core; each returns its own top `count`, merged below
+        int threads = Runtime.getRuntime().availableProcessors();
+        int chunkSize = (candidates.size() + threads - 1) / threads;
+        List<Future<List<Slot>>> futures = new ArrayList<>();
+        for (int startIndex = 0; startIndex < candidates.size(); startIndex += chunkSize) {
+            List<Integer> chunk = candidates.subList(startIndex, Math.min(candidates.size(), startIndex + chunkSize));
+            Callable<List<Slot>> task = () -> searchChunk(chunk, base, horizonSlots, durationMinutes, count);
+            futures.add(pool().submit(task));
+        }
+        List<Slot> merged = new ArrayList<>();
+        try {
+            for (Future<List<Slot>> future : futures) {
+                merged.addAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ArrayList<>();
+        } catch (ExecutionException e) {
+            System.err.println("Opening search failed: " + e.getCause());
+            return new ArrayList<>();
+        }
+        return topN(merged, count);
+    }
+
+    private List<Slot> searchChunk(List<Integer> vetIndices, LocalDateTime base, int horizonSlots,
+                                   int durationMinutes, int count) {
+        long baseMinute = AppointmentStore.toMinute(base);
+        long horizonEnd = baseMinute + (long) horizonSlots * VetAvailability.SLOT_MINUTES;
+        int slots = VetAvailability.slotsFor(durationMinutes);
+        // Worst of the best `count` so far on top; vets are visited in index order, so ties keep the earlier vet
+        PriorityQueue<long[]> best = new PriorityQueue<>(count + 1,
+            (a, b) -> a[0] != b[0] ? Long.compare(b[0], a[0]) : Long.compare(b[1], a[1]));
+
+        for (int vetIndex : vetIndices) {
+            Vet vet = vets.get(vetIndex);
+            long candidate = baseMinute;
+            for (int found = 0; found < count; ) {
+                long limit = best.size() == count ? best.peek()[0] : horizonEnd - 1;
+                candidate = vet.availability.nextStartMinute(candidate, slots);
+                if (candidate < 0 || candidate > limit || candidate >= horizonEnd) break;
+                AppointmentStore.Appointment booked =
+                    store.findConflict(vet.name, candidate, candidate + durationMinutes);
+                if (booked != null) {
+                    candidate = booked.endMinute();
+                    continue;
+                }
+                if (best.size() == count && candidate == limit) break;
+                best.add(new long[]{candidate, vetIndex});
+                if (best.size() > count) best.poll();
+                found++;
+                candidate += VetAvailability.SLOT_MINUTES;
+            }
+        }
+
+        List<Slot> result = new ArrayList<>(best.size());
+        for (long[] slot : best) {
+            result.add(new Slot((int) slot[1], AppointmentStore.fromMinute(slot[0])));
+        }
+        return topN(result, count);
+    }
+
+    private static List<Slot> topN(List<Slot> slots, int count) {
+        slots.sort((a, b) -> {
+            int byTime = a.start.compareTo(b.start);
+            return byTime != 0 ? byTime : Integer.compare(a.vetIndex, b.vetIndex);
+        });
+        return new ArrayList<>(slots.subList(0, Math.min(count, slots.size())));
+    }
+
+    private static LocalDateTime alignUp(LocalDateTime time) {
+        LocalDateTime aligned = time.withSecond(0).withNano(0);
+        int extra = aligned.getMinute() % VetAvailability.SLOT_MINUTES;
+        if (extra != 0 || !aligned.equals(time)) {
+            aligned = aligned.plusMinutes(extra == 0 ? VetAvailability.SLOT_MINUTES : VetAvailability.SLOT_MINUTES - extra);
+        }
+        return aligned;
+    }
+
+    private static synchronized ExecutorService pool() {
+        if (pool == null) {
+            pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+                Thread thread = new Thread(r, "opening-search");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return pool;
+    }
+
+    private static void benchmark(int vetCount) throws Exception {
+        String[] schedules = {"Mon-Fri: 8am-4pm", "Tue-Sat: 10am-6pm", "Mon-Thu: 9am-5pm",
+            "Wed-Sun: 11am-8pm", "Fri-Mon: 8am-6pm", "Daily: 6pm-2am"};
+        String[] specialties = {"Surgery", "Exotic Animals", "Internal Medicine", "Orthopedics",
+            "Dermatology", "Emergency & Critical Care"};
+        Random random = new Random(7);
+        java.nio.file.Path file = java.nio.file.Files.createTempFile("opening-bench", ".db");
+        AppointmentStore store = new AppointmentStore(file);
+        LocalDateTime now = LocalDateTime.of(2026, 1, 5, 8, 0);
+
+        List<Vet> vets = new ArrayList<>();
+        long start = System.nanoTime();
+        int bookings = 0;
+        for (int v = 0; v < vetCount; v++) {
+            String name = "Dr. Bench " + v;
+            vets.add(new Vet(name, specialties[v % specialties.length],
+                VetAvailability.parse(schedules[random.nextInt(schedules.length)])));
+            // Fill most of the vet's first five days so the search has to skip bookings
+            for (int slot = 0; slot < 5 * VetAvailability.SLOTS_PER_DAY; slot += 2) {
+                if (random.nextInt(10) < 8 && store.book(new AppointmentStore.Appointment(0, name,
+                        now.plusMinutes(slot * 15L), 30, "", "", "", "")) != null) {
+                    bookings++;
+                }
+            }
+        }
+        System.out.printf("Booked %,d appointments for %d vets in %.1f s%n", bookings, vetCount,
+            (System.nanoTime() - start) / 1e9);
+
+        OpeningSearch search = new OpeningSearch(vets, store);
+        int runs = 200;
+        List<Slot> result = null;
+        for (int round = 0; round < 3; round++) {
+            start = System.nanoTime();
+            for (int i = 0; i < runs; i++) {
+                result = search.findEarliest(null, now.plusMinutes(i), 30, 30, 5);
+            }
+        }
+        System.out.printf("Top 5 over a 30-day horizon: %.3f ms per query on %d cores%n",
+            (System.nanoTime() - start) / 1e6 / runs, Runtime.getRuntime().availableProcessors());
+        for (Slot slot : result) {
+            System.out.println("  " + vets.get(slot.vetIndex).name + " at " + slot.start);
+        }
+        store.close();
+        java.nio.file.Files.deleteIfExists(file);
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length >= 1 && "--benchmark".equals(args[0])) {
+            benchmark(args.length >= 2 ? Integer.parseInt(args[1]) : 300);
+        } else {
+            System.err.println("Usage: OpeningSearch --benchmark [vets]");
+        }
+    }
+}
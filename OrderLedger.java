@@ -0,0 +1,409 @@
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only ledger of shop orders and wallet payments.
+ *
+ * Records are written to segment files under data/ledger/ and a new segment is
+ * started once the active one passes SEGMENT_BYTES. Each segment keeps a sparse
+ * index (.idx) holding the file offset of every INDEX_INTERVAL-th record, so a
+ * page anywhere in the ledger is found with one index lookup and a short scan
+ * instead of reading everything before it.
+ *
+ * Records are addressed by sequence number, starting at 0 in append order.
+ */
+public class OrderLedger {
+
+    private static final String DEFAULT_DIR = "data/ledger";
+    private static final long SEGMENT_BYTES = 64L * 1024 * 1024;
+    private static final int INDEX_INTERVAL = 128;
+    private static final int MAX_RECORD_BYTES = 64 * 1024;
+
+    private static OrderLedger defaultLedger;
+
+    /**
+     * A single ledger row, as shown in TransactionHistory.
+     */
+    public static class Entry {
+        private final long sequence;
+        private final long timestamp;
+        private final String description;
+        private final double amount;
+        private final String paymentMethod;
+        private final String status;
+        private final String referenceNumber;
+
+        public Entry(long timestamp, String description, double amount,
+                     String paymentMethod, String status, String referenceNumber) {
+            this(-1, timestamp, description, amount, paymentMethod, status, referenceNumber);
+        }
+
+        private Entry(long sequence, long timestamp, String description, double amount,
+                      String paymentMethod, String status, String referenceNumber) {
+            this.sequence = sequence;
+            this.timestamp = timestamp;
+            this.description = description;
+            this.amount = amount;
+            this.paymentMethod = paymentMethod;
+            this.status = status;
+            this.referenceNumber = referenceNumber;
+        }
+
+        public long getSequence() { return sequence; }
+        public long getTimestamp() { return timestamp; }
+        public String getDescription() { return description; }
+        public double getAmount() { return amount; }
+        public String getPaymentMethod() { return paymentMethod; }
+        public String getStatus() { return status; }
+        public String getReferenceNumber() { return referenceNumber; }
+
+        private Entry withSequence(long sequence) {
+            return new Entry(sequence, timestamp, description, amount, paymentMethod, status, referenceNumber);
+        }
+    }
+
+    // One segment file plus its in-memory copy of the sparse index
+    private static class Segment {
+        final long baseSequence;
+        final Path logPath;
+        final Path indexPath;
+        long[] indexPositions = new long[16];
+        int indexSize;
+        long recordCount;
+        long byteSize;
+
+        Segment(Path dir, long baseSequence) {
+            this.baseSequence = baseSequence;
+            String name = String.format("segment-%020d", baseSequence);
+            this.logPath = dir.resolve(name + ".log");
+            this.indexPath = dir.resolve(name + ".idx");
+        }
+
+        void addIndexPosition(long position) {
+            if (indexSize == indexPositions.length) {
+                indexPositions = Arrays.copyOf(indexPositions, indexSize * 2);
+            }
+            indexPositions[indexSize++] = position;
+        }
+    }
+
+    private final Path dir;
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final List<Consumer<Entry>> appendListeners = new CopyOnWriteArrayList<>();
+    private Segment active;
+    private FileChannel activeLog;
+    private FileChannel activeIndex;
+    private long nextSequence;
+
+    // Shared ledger used by the shop, payment screen and history view
+    public static synchronized OrderLedger getDefault() {
+        if (defaultLedger == null) {
+            try {
+                defaultLedger = new OrderLedger(Paths.get(DEFAULT_DIR));
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not open order ledger: " + e.getMessage(), e);
+            }
+        }
+        return defaultLedger;
+    }
+
+    public OrderLedger(Path dir) throws IOException {
+        this.dir = dir;
+        Files.createDirectories(dir);
+        try (DirectoryStream<Path> logs = Files.newDirectoryStream(dir, "segment-*.log")) {
+            for (Path log : logs) {
+                String name = log.getFileName().toString();
+                long base = Long.parseLong(name.substring("segment-".length(), name.length() - ".log".length()));
+                segments.put(base, new Segment(dir, base));
+            }
+        }
+        for (Segment segment : segments.values()) {
+            loadSegment(segment, segment == segments.lastEntry().getValue());
+        }
+        if (segments.isEmpty()) {
+            segments.put(0L, new Segment(dir, 0));
+        }
+        Segment last = segments.lastEntry().getValue();
+        nextSequence = last.baseSequence + last.recordCount;
+        openActive(last);
+    }
+
+    public void addAppendListener(Consumer<Entry> listener) {
+        appendListeners.add(listener);
+    }
+
+    public void removeAppendListener(Consumer<Entry> listener) {
+        appendListeners.remove(listener);
+    }
+
+    /**
+     * Durably appends an entry and returns its sequence number.
+     */
+    public long append(Entry entry) throws IOException {
+        return appendAll(List.of(entry));
+    }
+
+    /**
+     * Appends entries in order with a single fsync (bulk imports) and returns
+     * the sequence number of the last one.
+     */
+    public long appendAll(List<Entry> entries) throws IOException {
+        List<Entry> stored = new ArrayList<>(entries.size());
+        synchronized (this) {
+            for (Entry entry : entries) {
+                stored.add(write(entry));
+            }
+            activeLog.force(false);
+        }
+        for (Entry entry : stored) {
+            for (Consumer<Entry> listener : appendListeners) {
+                listener.accept(entry);
+            }
+        }
+        return lastSequenceOf(stored);
+    }
+
+    private Entry write(Entry entry) throws IOException {
+        if (active.byteSize >= SEGMENT_BYTES) {
+            activeLog.force(false);
+            rollSegment();
+        }
+        long sequence = nextSequence;
+        byte[] record = encode(entry);
+        long position = active.byteSize;
+        writeFully(activeLog, ByteBuffer.wrap(record));
+
+        if (active.recordCount % INDEX_INTERVAL == 0) {
+            active.addIndexPosition(position);
+            ByteBuffer indexEntry = ByteBuffer.allocate(8).putLong(position);
+            indexEntry.flip();
+            writeFully(activeIndex, indexEntry);
+        }
+        active.recordCount++;
+        active.byteSize += record.length;
+        nextSequence++;
+        return entry.withSequence(sequence);
+    }
+
+    private static long lastSequenceOf(List<Entry> stored) {
+        return stored.isEmpty() ? -1 : stored.get(stored.size() - 1).getSequence();
+    }
+
+    /**
+     * Total number of entries in the ledger.
+     */
+    public synchronized long size() {
+        return nextSequence;
+    }
+
+    /**
+     * Reads up to count entries starting at fromSequence, in append order.
+     */
+    public List<Entry> read(long fromSequence, int count) throws IOException {
+        List<Entry> result = new ArrayList<>(Math.max(0, count));
+        long sequence = Math.max(0, fromSequence);
+        while (result.size() < count) {
+            Segment segment;
+            long end;
+            synchronized (this) {
+                if (sequence >= nextSequence) break;
+                segment = segments.floorEntry(sequence).getValue();
+                end = segment.baseSequence + segment.recordCount;
+            }
+            int wanted = (int) Math.min(count - result.size(), end - sequence);
+            readFromSegment(segment, sequence, wanted, result);
+            sequence += wanted;
+        }
+        return result;
+    }
+
+    private void readFromSegment(Segment segment, long sequence, int wanted, List<Entry> out) throws IOException {
+        long offset = sequence - segment.baseSequence;
+        int slot = (int) (offset / INDEX_INTERVAL);
+        long skip = offset - (long) slot * INDEX_INTERVAL;
+        long position;
+        synchronized (this) {
+            position = segment.indexPositions[slot];
+        }
+        try (FileChannel channel = FileChannel.open(segment.logPath, StandardOpenOption.READ)) {
+            channel.position(position);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 64 * 1024));
+            long current = segment.baseSequence + (long) slot * INDEX_INTERVAL;
+            for (long i = 0; i < skip; i++) {
+                skipRecord(in);
+                current++;
+            }
+            for (int i = 0; i < wanted; i++) {
+                out.add(decode(readRecord(in), current++));
+            }
+        }
+    }
+
+    private void rollSegment() throws IOException {
+        activeLog.close();
+        activeIndex.close();
+        Segment segment = new Segment(dir, nextSequence);
+        segments.put(segment.baseSequence, segment);
+        openActive(segment);
+    }
+
+    private void openActive(Segment segment) throws IOException {
+        active = segment;
+        activeLog = FileChannel.open(segment.logPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        activeLog.position(segment.byteSize);
+        activeIndex = FileChannel.open(segment.indexPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        activeIndex.truncate((long) segment.indexSize * 8);
+        activeIndex.position((long) segment.indexSize * 8);
+    }
+
+    /**
+     * Loads a segment's sparse index, then scans the records after the last
+     * indexed position to count them. For the active segment a torn tail from
+     * a crash is truncated and any index entries the crash lost are rebuilt.
+     */
+    private void loadSegment(Segment segment, boolean isLast) throws IOException {
+        long logSize = Files.size(segment.logPath);
+        if (Files.exists(segment.indexPath)) {
+            byte[] raw = Files.readAllBytes(segment.indexPath);
+            ByteBuffer buffer = ByteBuffer.wrap(raw);
+            while (buffer.remaining() >= 8) {
+                long position = buffer.getLong();
+                if (position >= logSize) break;
+                segment.addIndexPosition(position);
+            }
+        }
+
+        long position = segment.indexSize == 0 ? 0 : segment.indexPositions[segment.indexSize - 1];
+        long count = segment.indexSize == 0 ? 0 : (long) (segment.indexSize - 1) * INDEX_INTERVAL;
+        try (FileChannel channel = FileChannel.open(segment.logPath, StandardOpenOption.READ)) {
+            channel.position(position);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 64 * 1024));
+            while (position < logSize) {
+                int length;
+                try {
+                    length = checkedRecordLength(in);
+                } catch (IOException torn) {
+                    break;
+                }
+                if (count % INDEX_INTERVAL == 0 && count / INDEX_INTERVAL >= segment.indexSize) {
+                    segment.addIndexPosition(position);
+                }
+                position += 8 + length;
+                count++;
+            }
+        }
+        segment.recordCount = count;
+        segment.byteSize = position;
+        // Drop index entries that point past the last intact record
+        segment.indexSize = (int) Math.min(segment.indexSize, (count + INDEX_INTERVAL - 1) / INDEX_INTERVAL);
+
+        if (isLast && position < logSize) {
+            try (FileChannel out = FileChannel.open(segment.logPath, StandardOpenOption.WRITE)) {
+                out.truncate(position);
+            }
+        }
+        if (isLast) {
+            // Rewrite the index so it matches exactly what was recovered
+            ByteBuffer index = ByteBuffer.allocate(segment.indexSize * 8);
+            for (int i = 0; i < segment.indexSize; i++) {
+                index.putLong(segment.indexPositions[i]);
+            }
+            index.flip();
+            try (FileChannel out = FileChannel.open(segment.indexPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                writeFully(out, index);
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    // Record layout: [int length][int crc32][payload]
+    private static byte[] encode(Entry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream payload = new DataOutputStream(bytes);
+        payload.writeLong(entry.getTimestamp());
+        payload.writeDouble(entry.getAmount());
+        payload.writeUTF(nullToEmpty(entry.getDescription()));
+        payload.writeUTF(nullToEmpty(entry.getPaymentMethod()));
+        payload.writeUTF(nullToEmpty(entry.getStatus()));
+        payload.writeUTF(nullToEmpty(entry.getReferenceNumber()));
+        byte[] body = bytes.toByteArray();
+
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        ByteBuffer record = ByteBuffer.allocate(8 + body.length);
+        record.putInt(body.length);
+        record.putInt((int) crc.getValue());
+        record.put(body);
+        return record.array();
+    }
+
+    private static Entry decode(byte[] body, long sequence) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+        long timestamp = in.readLong();
+        double amount = in.readDouble();
+        String description = in.readUTF();
+        String paymentMethod = in.readUTF();
+        String status = in.readUTF();
+        String referenceNumber = in.readUTF();
+        return new Entry(sequence, timestamp, description, amount, paymentMethod, status, referenceNumber);
+    }
+
+    private static byte[] readRecord(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        in.readInt(); // checksum was verified when the segment was loaded or written
+        if (length <= 0 || length > MAX_RECORD_BYTES) throw new IOException("Corrupt ledger record");
+        byte[] body = new byte[length];
+        in.readFully(body);
+        return body;
+    }
+
+    private static void skipRecord(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        in.readInt();
+        if (length <= 0 || length > MAX_RECORD_BYTES) throw new IOException("Corrupt ledger record");
+        in.skipNBytes(length);
+    }
+
+    // Reads one record and verifies its checksum; throws if it is torn or corrupt
+    private static int checkedRecordLength(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        long expectedCrc = in.readInt() & 0xFFFFFFFFL;
+        if (length <= 0 || length > MAX_RECORD_BYTES) throw new EOFException("Torn ledger record");
+        byte[] body = new byte[length];
+        in.readFully(body);
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        if (crc.getValue() != expectedCrc) throw new EOFException("Torn ledger record");
+        return length;
+    }
+
+    private static String nullToEmpty(String s) {
+        return s == null ? "" : s;
+    }
+}
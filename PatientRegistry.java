@@ -0,0 +1,410 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Patients seen at the clinic (one record per owner and pet), so a repeat
+ * visit can fill in the booking form instead of retyping it.
+ *
+ * Records are found through four in-memory indexes:
+ *  - a hash on (normalized owner name, contact number digits), the
+ *    household, so a common name with a number typed only touches that
+ *    family's pets;
+ *  - a hash on the normalized owner name alone (case, accents, punctuation
+ *    and spacing ignored), used while no full number has been typed;
+ *  - a hash on (owner, contact number, pet name), which identifies a patient
+ *    so a new visit updates the existing record rather than adding another;
+ *  - a sorted map on normalized pet name, for prefix lookups as the name is
+ *    typed.
+ * Each lookup is a hash probe or an O(log n) seek plus the matches, well
+ * under a millisecond with hundreds of thousands of patients.
+ *
+ * Records are persisted like the pet registry: appended to a FramedLog
+ * (data/patients.db), replayed on open, and compacted when the log holds far
+ * more records than patients.
+ *
+ * Usage: PatientRegistry --benchmark [patients]
+ */
+public class PatientRegistry {
+
+    private static final String DEFAULT_PATH = "data/patients.db";
+    private static final int COMPACT_MIN_RECORDS = 1024;
+    private static final int MAX_RECORD_BYTES = 64 * 1024;
+    // Fewer digits than this is an empty or half-typed number, not a contact
+    private static final int MIN_PHONE_DIGITS = 7;
+
+    private static final byte OP_PUT = 1;
+
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_NAME = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static PatientRegistry defaultRegistry;
+
+    /**
+     * One pet and its owner's details as of their latest visit. Immutable.
+     */
+    public static class Patient {
+        private final long id;
+        private final String owner;
+        private final String phone;
+        private final String petName;
+        private final String petType;
+        private final String breed;
+        private final String gender;
+        private final String weight;
+        private final String emergencyContact;
+        private final String history;
+        private final String allergies;
+        private final String lastVaccination;
+        private final long lastVisit;
+
+        public Patient(long id, String owner, String phone, String petName, String petType, String breed,
+                       String gender, String weight, String emergencyContact, String history, String allergies,
+                       String lastVaccination, long lastVisit) {
+            this.id = id;
+            this.owner = nonNull(owner).trim();
+            this.phone = nonNull(phone).trim();
+            this.petName = nonNull(petName).trim();
+            this.petType = nonNull(petType);
+            this.breed = nonNull(breed);
+            this.gender = nonNull(gender);
+            this.weight = nonNull(weight);
+            this.emergencyContact = nonNull(emergencyContact);
+            this.history = nonNull(history);
+            this.allergies = nonNull(allergies);
+            this.lastVaccination = nonNull(lastVaccination);
+            this.lastVisit = lastVisit;
+        }
+
+        public long getId() { return id; }
+        public String getOwner() { return owner; }
+        public String getPhone() { return phone; }
+        public String getPetName() { return petName; }
+        public String getPetType() { return petType; }
+        public String getBreed() { return breed; }
+        public String getGender() { return gender; }
+        public String getWeight() { return weight; }
+        public String getEmergencyContact() { return emergencyContact; }
+        public String getHistory() { return history; }
+        public String getAllergies() { return allergies; }
+        public String getLastVaccination() { return lastVaccination; }
+        /** Epoch millis of the visit that last updated this record. */
+        public long getLastVisit() { return lastVisit; }
+
+        Patient withId(long newId) {
+            return new Patient(newId, owner, phone, petName, petType, breed, gender, weight, emergencyContact,
+                history, allergies, lastVaccination, lastVisit);
+        }
+    }
+
+    private final Map<Long, Patient> patients = new HashMap<>();
+    private final Map<String, Set<Long>> byHousehold = new HashMap<>();
+    private final Map<String, Set<Long>> byOwner = new HashMap<>();
+    private final Map<String, Long> byIdentity = new HashMap<>();
+    private final TreeMap<String, Set<Long>> byPetName = new TreeMap<>();
+    private FramedLog log;
+    private long nextId = 1;
+
+    public static synchronized PatientRegistry getDefault() {
+        if (defaultRegistry == null) {
+            defaultRegistry = new PatientRegistry(Paths.get(DEFAULT_PATH));
+        }
+        return defaultRegistry;
+    }
+
+    public PatientRegistry(Path path) {
+        try {
+            log = new FramedLog(path, MAX_RECORD_BYTES, this::replay);
+            if (log.recordCount() >= COMPACT_MIN_RECORDS && log.recordCount() > patients.size() * 2) {
+                compact();
+            }
+        } catch (IOException e) {
+            System.err.println("Patient registry unavailable, visits will not be saved: " + e.getMessage());
+            log = null;
+        }
+    }
+
+    public synchronized int size() {
+        return patients.size();
+    }
+
+    public synchronized Patient get(long id) {
+        return patients.get(id);
+    }
+
+    /**
+     * Saves a visit: updates the record for the same owner, contact number
+     * and pet if there is one, otherwise adds a new patient. Returns the
+     * stored record.
+     */
+    public Patient record(Patient visit) {
+        List<Patient> one = new ArrayList<>(1);
+        one.add(visit);
+        return recordAll(one).get(0);
+    }
+
+    /**
+     * Saves many visits with a single force of the log (e.g. migrating old records).
+     */
+    public synchronized List<Patient> recordAll(List<Patient> visits) {
+        List<Patient> stored = new ArrayList<>(visits.size());
+        for (Patient visit : visits) {
+            Long existing = byIdentity.get(identityKey(visit));
+            Patient patient = visit.withId(existing != null ? existing : nextId);
+            append(patient);
+            apply(patient);
+            stored.add(patient);
+        }
+        force();
+        return stored;
+    }
+
+    /**
+     * The owner's pets, most recently seen first. A contact number narrows the
+     * match to that household; a blank or partial one falls back to every
+     * owner with that name.
+     */
+    public synchronized List<Patient> findByOwner(String owner, String phone) {
+        String name = normalizeName(owner);
+        String digits = normalizePhone(phone);
+        Set<Long> ids = digits.isEmpty() ? byOwner.get(name) : byHousehold.get(householdKey(name, digits));
+        if (ids == null) return new ArrayList<>();
+        List<Patient> found = new ArrayList<>(ids.size());
+        for (long id : ids) {
+            found.add(patients.get(id));
+        }
+        found.sort((a, b) -> Long.compare(b.lastVisit, a.lastVisit));
+        return found;
+    }
+
+    /**
+     * Up to `limit` patients whose pet name starts with `prefix`, in name order.
+     */
+    public synchronized List<Patient> findByPetName(String prefix, int limit) {
+        String key = normalizeName(prefix);
+        List<Patient> found = new ArrayList<>();
+        if (key.isEmpty()) return found;
+        for (Set<Long> ids : byPetName.subMap(key, true, key + Character.MAX_VALUE, false).values()) {
+            for (long id : ids) {
+                if (found.size() == limit) return found;
+                found.add(patients.get(id));
+            }
+        }
+        return found;
+    }
+
+    public synchronized void close() {
+        if (log != null) {
+            log.close();
+            log = null;
+        }
+    }
+
+    private void apply(Patient patient) {
+        Patient old = patients.get(patient.getId());
+        if (old != null) {
+            unindex(byHousehold, householdKey(old), old.getId());
+            unindex(byOwner, normalizeName(old.owner), old.getId());
+            unindex(byPetName, normalizeName(old.petName), old.getId());
+            byIdentity.remove(identityKey(old));
+        }
+        patients.put(patient.getId(), patient);
+        byHousehold.computeIfAbsent(householdKey(patient), k -> new LinkedHashSet<>()).add(patient.getId());
+        byOwner.computeIfAbsent(normalizeName(patient.owner), k -> new LinkedHashSet<>()).add(patient.getId());
+        byPetName.computeIfAbsent(normalizeName(patient.petName), k -> new LinkedHashSet<>()).add(patient.getId());
+        byIdentity.put(identityKey(patient), patient.getId());
+        nextId = Math.max(nextId, patient.getId() + 1);
+    }
+
+    private static void unindex(Map<String, Set<Long>> index, String key, long id) {
+        Set<Long> ids = index.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) index.remove(key);
+        }
+    }
+
+    private void append(Patient patient) {
+        if (log == null) return;
+        try {
+            log.append(encode(patient));
+        } catch (IOException e) {
+            System.err.println("Patient registry write failed: " + e.getMessage());
+        }
+    }
+
+    private void force() {
+        if (log == null) return;
+        try {
+            log.force();
+        } catch (IOException e) {
+            System.err.println("Patient registry write failed: " + e.getMessage());
+        }
+    }
+
+    // Rewrites the log as one PUT per patient
+    private void compact() throws IOException {
+        Map<Long, Patient> ordered = new LinkedHashMap<>();
+        for (Set<Long> ids : byOwner.values()) {
+            for (long id : ids) ordered.put(id, patients.get(id));
+        }
+        log.compact(ordered.values(), PatientRegistry::encode);
+    }
+
+    // Records of an unknown type are skipped
+    private void replay(byte[] payload) throws IOException {
+        DataInputStream data = new DataInputStream(new ByteArrayInputStream(payload));
+        if (data.readByte() != OP_PUT) return;
+        apply(new Patient(data.readLong(), data.readUTF(), data.readUTF(), data.readUTF(), data.readUTF(),
+            data.readUTF(), data.readUTF(), data.readUTF(), data.readUTF(), data.readUTF(), data.readUTF(),
+            data.readUTF(), data.readLong()));
+    }
+
+    private static byte[] encode(Patient patient) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream payload = new DataOutputStream(bytes);
+        payload.writeByte(OP_PUT);
+        payload.writeLong(patient.getId());
+        payload.writeUTF(patient.owner);
+        payload.writeUTF(patient.phone);
+        payload.writeUTF(patient.petName);
+        payload.writeUTF(patient.petType);
+        payload.writeUTF(patient.breed);
+        payload.writeUTF(patient.gender);
+        payload.writeUTF(patient.weight);
+        payload.writeUTF(patient.emergencyContact);
+        payload.writeUTF(patient.history);
+        payload.writeUTF(patient.allergies);
+        payload.writeUTF(patient.lastVaccination);
+        payload.writeLong(patient.lastVisit);
+        return bytes.toByteArray();
+    }
+
+    private static String householdKey(Patient patient) {
+        return householdKey(normalizeName(patient.owner), normalizePhone(patient.phone));
+    }
+
+    private static String householdKey(String normalizedOwner, String phoneDigits) {
+        return normalizedOwner + '\n' + phoneDigits;
+    }
+
+    private static String identityKey(Patient patient) {
+        return householdKey(patient) + '\n' + normalizeName(patient.petName);
+    }
+
+    /**
+     * "  José  dela Cruz " and "jose dela-cruz" both become "jose dela cruz".
+     */
+    static String normalizeName(String name) {
+        if (name == null) return "";
+        String plain = ACCENTS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        return NON_NAME.matcher(plain.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Just the digits, or "" if there are too few to be a real number (e.g. an empty input mask).
+     */
+    static String normalizePhone(String phone) {
+        if (phone == null) return "";
+        StringBuilder digits = new StringBuilder(phone.length());
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') digits.append(c);
+        }
+        return digits.length() < MIN_PHONE_DIGITS ? "" : digits.toString();
+    }
+
+    private static String nonNull(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static void benchmark(int count) throws IOException {
+        String[] first = {"Maria", "Jose", "Ana", "Juan", "Liza", "Mark", "Grace", "Paolo", "Carla", "Miguel",
+            "Rosa", "Antonio", "Joy", "Ramon", "Kristine", "Carlo", "Angela", "Rafael", "Patricia", "Jerome"};
+        String[] last = {"Santos", "Reyes", "Cruz", "Bautista", "Garcia", "Mendoza", "Torres", "Flores", "Ramos", "Lim",
+            "Gonzales", "Aquino", "Castillo", "Villanueva", "Navarro", "Dela Cruz", "Tan", "Rivera", "Domingo", "Santiago"};
+        String[] pets = {"Max", "Bella", "Luna", "Coco", "Milo", "Choco", "Brownie", "Mochi", "Bantay", "Snow"};
+        Random random = new Random(11);
+        Path file = Files.createTempFile("patients-bench", ".db");
+        PatientRegistry registry = new PatientRegistry(file);
+
+        long start = System.nanoTime();
+        List<Patient> batch = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int household = i / 2;
+            batch.add(new Patient(0, benchOwner(first, last, household), benchPhone(household),
+                pets[random.nextInt(pets.length)] + (i % 500), "Dog", "Aspin", "Male", "12", "", "", "", "", i));
+            if (batch.size() == 5000) {
+                registry.recordAll(batch);
+                batch.clear();
+            }
+        }
+        registry.recordAll(batch);
+        System.out.printf("Recorded %,d patients (%d owner names) in %.1f s%n", registry.size(),
+            first.length * last.length, (System.nanoTime() - start) / 1e9);
+
+        int lookups = 100_000;
+        int households = (count + 1) / 2;
+        long matched = 0;
+        for (int round = 0; round < 3; round++) {
+            matched = 0;
+            start = System.nanoTime();
+            for (int i = 0; i < lookups; i++) {
+                int household = random.nextInt(households);
+                matched += registry.findByOwner(benchOwner(first, last, household), benchPhone(household)).size();
+            }
+        }
+        System.out.printf("Owner + phone lookup: %.2f us (%.1f pets each)%n",
+            (System.nanoTime() - start) / 1e3 / lookups, (double) matched / lookups);
+        matched = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < lookups / 10; i++) {
+            matched += registry.findByOwner(benchOwner(first, last, random.nextInt(households)), null).size();
+        }
+        System.out.printf("Owner-only lookup: %.2f us (%.1f pets each)%n",
+            (System.nanoTime() - start) / 1e3 / (lookups / 10), (double) matched / (lookups / 10));
+        int found = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            found += registry.findByPetName(pets[i % pets.length].substring(0, 2), 8).size();
+        }
+        System.out.printf("Pet name prefix lookup (8 results): %.2f us (%d found)%n",
+            (System.nanoTime() - start) / 1e3 / lookups, found);
+        registry.close();
+        Files.deleteIfExists(file);
+    }
+
+    // Names repeat across households, as common Filipino names do; the number tells them apart
+    private static String benchOwner(String[] first, String[] last, int household) {
+        return first[household % first.length] + " " + last[(household / first.length) % last.length];
+    }
+
+    private static String benchPhone(int household) {
+        return String.format("+63 9%02d-%03d-%04d", 17 + household / 10_000_000 % 80, household / 10_000 % 1000, household % 10_000);
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length >= 1 && "--benchmark".equals(args[0])) {
+            benchmark(args.length >= 2 ? Integer.parseInt(args[1]) : 300_000);
+        } else {
+            System.err.println("Usage: PatientRegistry --benchmark [patients]");
+        }
+    }
+}
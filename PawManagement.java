@@ -5,7 +5,6 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.geom.RoundRectangle2D;
 import java.awt.image.BufferedImage;
-import java.io.File;
 
 public class PawManagement extends JPanel {
 
@@ -15,34 +14,55 @@ public class PawManagement extends JPanel {
     private final Color ACCENT_PRIMARY = new Color(99, 102, 241);
     private final Color ACCENT_SECONDARY = new Color(168, 85, 247);
 
+    // Gallery thumbnails, loaded as cards come into view; ~60 cards' worth stays cached (~15 MB)
+    private final ThumbnailCache thumbnails = new ThumbnailCache(280, 220, 60);
+
+    private static final Color STATUS_AVAILABLE_COLOR = new Color(34, 197, 94);
+    private static final Color STATUS_ADOPTED_COLOR = new Color(239, 68, 68);
+    private static final Color STATUS_IN_FOSTER_COLOR = new Color(251, 146, 60);
+    private static final Color STATUS_OTHER_COLOR = new Color(148, 163, 184);
+
+    // Age filter choices: label, then min and max age in months
+    private static final Object[][] AGE_RANGES = {
+        {"Any age", PetFilterIndex.ANY_AGE, PetFilterIndex.ANY_AGE},
+        {"Under 1 yr", PetFilterIndex.ANY_AGE, 11},
+        {"1-3 yrs", 12, 47},
+        {"4-7 yrs", 48, 95},
+        {"8+ yrs", 96, PetFilterIndex.ANY_AGE}
+    };
+    private static final String ALL = "All";
+
+    private final java.util.function.Consumer<PetRegistry.Change> registryListener;
+    private final GalleryPanel imageGridPanel;
+    private PetFilterIndex filterIndex;
+    private JComboBox<String> statusFilter;
+    private JComboBox<String> speciesFilter;
+    private JComboBox<String> ageFilter;
+    private JTextField traitsFilter;
+    private JLabel resultCount;
+
     public PawManagement() {
         setLayout(new BorderLayout());
+        ResourceGovernor.getDefault().registerCache("Pet gallery thumbnails", this, thumbnails);
 
         JPanel headerPanel = createHeaderPanel();
-        add(headerPanel, BorderLayout.NORTH);
-
-        JPanel imageGridPanel = new JPanel(new GridLayout(0, 3, 30, 30));
+        JPanel northPanel = new JPanel(new BorderLayout());
+        northPanel.add(headerPanel, BorderLayout.NORTH);
+        northPanel.add(createFilterBar(), BorderLayout.SOUTH);
+        add(northPanel, BorderLayout.NORTH);
+
+        // Only the cards in (or next to) the viewport exist; they are reused while scrolling
+        PetRegistry registry = PetRegistry.getDefault();
+        filterIndex = new PetFilterIndex(registry.getAll());
+        imageGridPanel = new GalleryPanel(filterIndex.filter(null, null, PetFilterIndex.ANY_AGE, PetFilterIndex.ANY_AGE,
+            java.util.Collections.emptyList()));
         imageGridPanel.setOpaque(false);
-        imageGridPanel.setBorder(BorderFactory.createEmptyBorder(30, 40, 30, 40));
-
-        String[][] petData = {
-            {"Paul", "Available", "C:\\Users\\Julian\\Documents\\Visual Studio Code\\Project\\Paw Track Management 2.0\\SYSTEM\\image\\1.png"},
-            {"Lucy", "Adopted", "C:\\Users\\Julian\\Documents\\Visual Studio Code\\Project\\Paw Track Management 2.0\\SYSTEM\\image\\2.png"},
-            {"Max", "Available", "C:\\Users\\Julian\\Documents\\Visual Studio Code\\Project\\Paw Track Management 2.0\\SYSTEM\\image\\3.png"},
-            {"Bella", "In Foster", "C:\\Users\\Julian\\Documents\\Visual Studio Code\\Project\\Paw Track Management 2.0\\SYSTEM\\image\\4.png"},
-            {"Daisy", "Available", "C:\\Users\\Julian\\Documents\\Visual Studio Code\\Project\\Paw Track Management 2.0\\SYSTEM\\image\\5.png"},
-            {"Charlie", "In Foster", "C:\\Users\\Julian\\Documents\\Visual Studio Code\\Project\\Paw Track Management 2.0\\SYSTEM\\image\\6.png"},
-            {"Sadie", "Available", "C:\\Users\\Julian\\Documents\\Visual Studio Code\\Project\\Paw Track Management 2.0\\SYSTEM\\image\\7.png"},
-            {"Rocky", "Adopted", "C:\\Users\\Julian\\Documents\\Visual Studio Code\\Project\\Paw Track Management 2.0\\SYSTEM\\image\\8.png"},
-            {"Molly", "Available", "C:\\Users\\Julian\\Documents\\Visual Studio Code\\Project\\Paw Track Management 2.0\\SYSTEM\\image\\9.png"},
-            {"Zoe", "Available", "C:\\Users\\Julian\\Documents\\Visual Studio Code\\Project\\Paw Track Management 2.0\\SYSTEM\\image\\10.png"},
-            {"Luna", "Adopted", "C:\\Users\\Julian\\Documents\\Visual Studio Code\\Project\\Paw Track Management 2.0\\SYSTEM\\image\\11.png"},
-            {"Buddy", "Available", "C:\\Users\\Julian\\Documents\\Visual Studio Code\\Project\\Paw Track Management 2.0\\SYSTEM\\image\\12.png"}
-        };
-
-        for (String[] data : petData) {
-            imageGridPanel.add(createModernPetCard(data[2], data[0], data[1]));
-        }
+        // Any change from another screen (e.g. an adoption approved by an admin) rebuilds the index
+        registryListener = change -> SwingUtilities.invokeLater(() -> {
+            filterIndex = new PetFilterIndex(registry.getAll());
+            refreshSpeciesFilter();
+            applyFilters();
+        });
 
         JPanel contentWrapper = new JPanel(new BorderLayout()) {
             @Override
@@ -65,7 +85,101 @@ public class PawManagement extends JPanel {
         scrollPane.setOpaque(false);
         scrollPane.getViewport().setOpaque(false);
 
+        scrollPane.getViewport().addChangeListener(e -> imageGridPanel.layoutVisibleCards());
+
         add(scrollPane, BorderLayout.CENTER);
+        updateResultCount();
+    }
+
+    private JPanel createFilterBar() {
+        JPanel filterBar = new JPanel(new FlowLayout(FlowLayout.LEFT, 12, 10));
+        filterBar.setBackground(Color.WHITE);
+        filterBar.setBorder(BorderFactory.createCompoundBorder(
+            BorderFactory.createMatteBorder(0, 0, 1, 0, new Color(226, 232, 240)),
+            new EmptyBorder(0, 28, 0, 20)));
+
+        statusFilter = new JComboBox<>(new String[]{
+            ALL, PetRegistry.STATUS_AVAILABLE, PetRegistry.STATUS_ADOPTED, PetRegistry.STATUS_IN_FOSTER});
+        speciesFilter = new JComboBox<>();
+        refreshSpeciesFilter();
+        ageFilter = new JComboBox<>();
+        for (Object[] range : AGE_RANGES) {
+            ageFilter.addItem((String) range[0]);
+        }
+        traitsFilter = new JTextField(14);
+        traitsFilter.setToolTipText("Comma-separated traits, e.g. friendly, calm");
+        resultCount = new JLabel();
+        resultCount.setForeground(new Color(100, 116, 139));
+
+        statusFilter.addActionListener(e -> applyFilters());
+        speciesFilter.addActionListener(e -> applyFilters());
+        ageFilter.addActionListener(e -> applyFilters());
+        traitsFilter.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
+            @Override
+            public void insertUpdate(javax.swing.event.DocumentEvent e) { applyFilters(); }
+            @Override
+            public void removeUpdate(javax.swing.event.DocumentEvent e) { applyFilters(); }
+            @Override
+            public void changedUpdate(javax.swing.event.DocumentEvent e) { applyFilters(); }
+        });
+
+        Font labelFont = new Font("SansSerif", Font.BOLD, 13);
+        String[] labels = {"Status", "Species", "Age", "Traits"};
+        JComponent[] fields = {statusFilter, speciesFilter, ageFilter, traitsFilter};
+        for (int i = 0; i < labels.length; i++) {
+            JLabel label = new JLabel(labels[i]);
+            label.setFont(labelFont);
+            label.setForeground(new Color(71, 85, 105));
+            filterBar.add(label);
+            filterBar.add(fields[i]);
+        }
+        filterBar.add(resultCount);
+        return filterBar;
+    }
+
+    // Rebuilds the species menu from the registry, keeping the current choice if it still exists.
+    // Swapping in a new model fires no action event, so this does not re-run the filter itself.
+    private void refreshSpeciesFilter() {
+        Object selected = speciesFilter.getSelectedItem();
+        DefaultComboBoxModel<String> model = new DefaultComboBoxModel<>();
+        model.addElement(ALL);
+        for (String species : PetRegistry.getDefault().getSpecies()) {
+            if (!species.isEmpty()) model.addElement(species);
+        }
+        if (selected != null && model.getIndexOf(selected) >= 0) {
+            model.setSelectedItem(selected);
+        }
+        speciesFilter.setModel(model);
+    }
+
+    // Re-runs the filter bar's query against the bitset index; cheap enough to run per keystroke
+    private void applyFilters() {
+        if (imageGridPanel == null) return;
+        String status = (String) statusFilter.getSelectedItem();
+        String species = (String) speciesFilter.getSelectedItem();
+        Object[] ageRange = AGE_RANGES[Math.max(0, ageFilter.getSelectedIndex())];
+        imageGridPanel.setPets(filterIndex.filter(
+            ALL.equals(status) ? null : status,
+            ALL.equals(species) ? null : species,
+            (Integer) ageRange[1], (Integer) ageRange[2],
+            PetFilterIndex.traitsOf(traitsFilter.getText())));
+        updateResultCount();
+    }
+
+    private void updateResultCount() {
+        resultCount.setText(imageGridPanel.pets.size() + " of " + filterIndex.size() + " pets");
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        PetRegistry.getDefault().addChangeListener(registryListener);
+    }
+
+    @Override
+    public void removeNotify() {
+        PetRegistry.getDefault().removeChangeListener(registryListener);
+        super.removeNotify();
     }
 
     private JPanel createHeaderPanel() {
@@ -92,110 +206,261 @@ public class PawManagement extends JPanel {
         return headerPanel;
     }
 
-    private JPanel createModernPetCard(String imagePath, String petName, String status) {
-        JPanel cardPanel = new JPanel(new BorderLayout(0, 0)) {
-            @Override
-            protected void paintComponent(Graphics g) {
-                Graphics2D g2d = (Graphics2D) g.create();
-                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                
-                g2d.setColor(CARD_BACKGROUND);
-                g2d.fill(new RoundRectangle2D.Float(0, 0, getWidth(), getHeight(), 20, 20));
-                
-                g2d.setColor(new Color(0, 0, 0, 10));
-                g2d.fill(new RoundRectangle2D.Float(3, 3, getWidth(), getHeight(), 20, 20));
-                
-                g2d.dispose();
-            }
-        };
-        cardPanel.setOpaque(false);
-        cardPanel.setPreferredSize(new Dimension(280, 380));
-        cardPanel.setCursor(new Cursor(Cursor.HAND_CURSOR));
+    /**
+     * The pet grid (3 columns), virtualized: it is as tall as all the rows, but
+     * only the rows inside the viewport, plus one above and below, have card
+     * components. Cards that scroll out are rebound to the pets scrolling in, so
+     * a shelter with thousands of animals still has only a few dozen cards.
+     */
+    private class GalleryPanel extends JPanel {
+        private static final int COLUMNS = 3;
+        private static final int GAP = 30;
+        private static final int CARD_WIDTH = 280;
+        private static final int CARD_HEIGHT = 380;
+        private static final int BUFFER_ROWS = 1;
+        private static final int PAD_TOP = 30;
+        private static final int PAD_SIDE = 40;
+
+        private java.util.List<PetRegistry.Pet> pets;
+        private final java.util.Map<Integer, PetCard> activeCards = new java.util.HashMap<>();
+        private final java.util.ArrayDeque<PetCard> spareCards = new java.util.ArrayDeque<>();
+
+        GalleryPanel(java.util.List<PetRegistry.Pet> pets) {
+            super(null);
+            this.pets = pets;
+            thumbnails.addLoadListener(path -> {
+                for (PetCard card : activeCards.values()) {
+                    if (path.equals(card.imagePath)) card.imageLabel.repaint();
+                }
+            });
+            // Thumbnails are only requested as cards are laid out, so ask again after a trim
+            thumbnails.addEvictListener(this::layoutVisibleCards);
+            addComponentListener(new java.awt.event.ComponentAdapter() {
+                @Override
+                public void componentResized(java.awt.event.ComponentEvent e) {
+                    layoutVisibleCards();
+                }
+            });
+        }
 
-        cardPanel.addMouseListener(new MouseAdapter() {
-            @Override
-            public void mouseEntered(MouseEvent e) {
-                cardPanel.setLocation(cardPanel.getX(), cardPanel.getY() - 5);
+        // Rebinds every card, since pets may have moved to different indices
+        void setPets(java.util.List<PetRegistry.Pet> newPets) {
+            pets = newPets;
+            for (PetCard card : activeCards.values()) {
+                card.setVisible(false);
+                spareCards.push(card);
             }
+            activeCards.clear();
+            revalidate();
+            layoutVisibleCards();
+            repaint();
+        }
 
-            @Override
-            public void mouseExited(MouseEvent e) {
-                cardPanel.setLocation(cardPanel.getX(), cardPanel.getY() + 5);
-            }
-        });
+        private int rowCount() {
+            return (pets.size() + COLUMNS - 1) / COLUMNS;
+        }
 
-        JLabel imageLabel = createRoundedImageLabel(imagePath);
-        imageLabel.setPreferredSize(new Dimension(280, 220));
-        
-        JPanel detailsPanel = new JPanel();
-        detailsPanel.setLayout(new BoxLayout(detailsPanel, BoxLayout.Y_AXIS));
-        detailsPanel.setOpaque(false);
-        detailsPanel.setBorder(new EmptyBorder(15, 20, 10, 20));
-
-        JLabel nameLabel = new JLabel(petName);
-        nameLabel.setFont(new Font("SansSerif", Font.BOLD, 22));
-        nameLabel.setForeground(new Color(30, 30, 30));
-        nameLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
-
-        JPanel statusPanel = createStatusBadge(status);
-        statusPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
-        
-        detailsPanel.add(nameLabel);
-        detailsPanel.add(Box.createRigidArea(new Dimension(0, 10)));
-        detailsPanel.add(statusPanel);
-        
-        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 0));
-        buttonPanel.setOpaque(false);
-        buttonPanel.setBorder(new EmptyBorder(5, 10, 15, 10));
-
-        JButton viewButton = createModernButton("View Details", new Color(99, 102, 241), false);
-        viewButton.addActionListener(e -> {
-            ViewContent viewWindow = new ViewContent((JFrame) SwingUtilities.getWindowAncestor(this), petName);
-            viewWindow.setVisible(true);
-        });
+        private int cardWidth() {
+            return Math.max(CARD_WIDTH, (getWidth() - 2 * PAD_SIDE - (COLUMNS - 1) * GAP) / COLUMNS);
+        }
+
+        @Override
+        public Dimension getPreferredSize() {
+            int rows = rowCount();
+            return new Dimension(2 * PAD_SIDE + COLUMNS * CARD_WIDTH + (COLUMNS - 1) * GAP,
+                2 * PAD_TOP + rows * CARD_HEIGHT + Math.max(0, rows - 1) * GAP);
+        }
 
-        JButton adoptButton = createModernButton("Adopt Now", new Color(236, 72, 153), true);
-        adoptButton.addActionListener(e -> {
-            Window parentWindow = SwingUtilities.getWindowAncestor(this);
-            JFrame parentFrame = (parentWindow instanceof JFrame) ? (JFrame) parentWindow : null;
-            
-            PetAdoptionForm adoptionForm = new PetAdoptionForm();
-            adoptionForm.setVisible(true);
-            
-            if (parentFrame != null) {
-                parentFrame.setVisible(false);
+        // Binds cards to the rows intersecting the visible area and recycles the rest
+        void layoutVisibleCards() {
+            Rectangle visible = getVisibleRect();
+            int rowHeight = CARD_HEIGHT + GAP;
+            int firstRow = Math.max(0, (visible.y - PAD_TOP) / rowHeight - BUFFER_ROWS);
+            int lastRow = Math.min(rowCount() - 1, (visible.y + visible.height - PAD_TOP) / rowHeight + BUFFER_ROWS);
+            int first = firstRow * COLUMNS;
+            int last = Math.min(pets.size() - 1, lastRow * COLUMNS + COLUMNS - 1);
+
+            for (java.util.Iterator<java.util.Map.Entry<Integer, PetCard>> it = activeCards.entrySet().iterator(); it.hasNext(); ) {
+                java.util.Map.Entry<Integer, PetCard> entry = it.next();
+                if (entry.getKey() < first || entry.getKey() > last) {
+                    entry.getValue().setVisible(false);
+                    spareCards.push(entry.getValue());
+                    it.remove();
+                }
             }
-        });
-        
-        buttonPanel.add(viewButton);
-        buttonPanel.add(adoptButton);
 
-        cardPanel.add(imageLabel, BorderLayout.NORTH);
-        cardPanel.add(detailsPanel, BorderLayout.CENTER);
-        cardPanel.add(buttonPanel, BorderLayout.SOUTH);
+            int width = cardWidth();
+            java.util.List<String> wantedImages = new java.util.ArrayList<>();
+            for (int index = first; index <= last; index++) {
+                PetCard card = activeCards.get(index);
+                if (card == null) {
+                    card = spareCards.isEmpty() ? newCard() : spareCards.pop();
+                    PetRegistry.Pet pet = pets.get(index);
+                    card.bind(pet.getName(), pet.getStatus(), pet.getImagePath());
+                    card.setVisible(true);
+                    activeCards.put(index, card);
+                }
+                int row = index / COLUMNS;
+                int column = index % COLUMNS;
+                card.setBounds(PAD_SIDE + column * (width + GAP), PAD_TOP + row * rowHeight, width, CARD_HEIGHT);
+                card.validate();
+                wantedImages.add(card.imagePath);
+            }
+            thumbnails.retainOnly(wantedImages);
+            // Newest requests load first, so ask for the bottom cards first and the top ones last
+            for (int i = wantedImages.size() - 1; i >= 0; i--) {
+                thumbnails.get(wantedImages.get(i));
+            }
+        }
 
-        return cardPanel;
+        private PetCard newCard() {
+            PetCard card = new PetCard();
+            add(card);
+            return card;
+        }
     }
 
-    private JLabel createRoundedImageLabel(String imagePath) {
-        JLabel imageLabel = new JLabel() {
-            private Image image;
+    /**
+     * One reusable pet card; bind() points it at a different pet.
+     */
+    private class PetCard extends JPanel {
+        private String petName;
+        private String status;
+        private String imagePath;
+        // Worked out once in bind() so painting the badge does no lookups
+        private Color badgeColor = STATUS_OTHER_COLOR;
+        private Color badgeTint = new Color(0, 0, 0, 0);
+        private final JLabel imageLabel = createRoundedImageLabel(this);
+        private final JLabel nameLabel = new JLabel();
+        private final JLabel statusLabel = new JLabel();
+
+        PetCard() {
+            super(new BorderLayout(0, 0));
+            setOpaque(false);
+            setCursor(new Cursor(Cursor.HAND_CURSOR));
+
+            addMouseListener(new MouseAdapter() {
+                @Override
+                public void mouseEntered(MouseEvent e) {
+                    setLocation(getX(), getY() - 5);
+                }
 
-            {
-                if (imagePath != null && new File(imagePath).exists()) {
-                    ImageIcon icon = new ImageIcon(imagePath);
-                    image = icon.getImage().getScaledInstance(280, 220, Image.SCALE_SMOOTH);
+                @Override
+                public void mouseExited(MouseEvent e) {
+                    setLocation(getX(), getY() + 5);
                 }
-            }
+            });
+
+            imageLabel.setPreferredSize(new Dimension(280, 220));
+
+            JPanel detailsPanel = new JPanel();
+            detailsPanel.setLayout(new BoxLayout(detailsPanel, BoxLayout.Y_AXIS));
+            detailsPanel.setOpaque(false);
+            detailsPanel.setBorder(new EmptyBorder(15, 20, 10, 20));
+
+            nameLabel.setFont(new Font("SansSerif", Font.BOLD, 22));
+            nameLabel.setForeground(new Color(30, 30, 30));
+            nameLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
+
+            JPanel statusPanel = createStatusBadge();
+            statusPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
+
+            detailsPanel.add(nameLabel);
+            detailsPanel.add(Box.createRigidArea(new Dimension(0, 10)));
+            detailsPanel.add(statusPanel);
+
+            JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 0));
+            buttonPanel.setOpaque(false);
+            buttonPanel.setBorder(new EmptyBorder(5, 10, 15, 10));
+
+            JButton viewButton = createModernButton("View Details", new Color(99, 102, 241), false);
+            viewButton.addActionListener(e -> {
+                ViewContent viewWindow = new ViewContent((JFrame) SwingUtilities.getWindowAncestor(PawManagement.this), petName);
+                viewWindow.setVisible(true);
+            });
+
+            JButton adoptButton = createModernButton("Adopt Now", new Color(236, 72, 153), true);
+            adoptButton.addActionListener(e -> {
+                Window parentWindow = SwingUtilities.getWindowAncestor(PawManagement.this);
+                JFrame parentFrame = (parentWindow instanceof JFrame) ? (JFrame) parentWindow : null;
+
+                PetAdoptionForm adoptionForm = new PetAdoptionForm();
+                adoptionForm.setVisible(true);
+
+                if (parentFrame != null) {
+                    parentFrame.setVisible(false);
+                }
+            });
+
+            buttonPanel.add(viewButton);
+            buttonPanel.add(adoptButton);
+
+            add(imageLabel, BorderLayout.NORTH);
+            add(detailsPanel, BorderLayout.CENTER);
+            add(buttonPanel, BorderLayout.SOUTH);
+        }
+
+        void bind(String petName, String status, String imagePath) {
+            this.petName = petName;
+            this.status = status;
+            this.imagePath = imagePath;
+            nameLabel.setText(petName);
+            badgeColor = statusColor(status);
+            badgeTint = new Color(badgeColor.getRed(), badgeColor.getGreen(), badgeColor.getBlue(), 30);
+            statusLabel.setText("● " + status);
+            statusLabel.setForeground(badgeColor);
+            repaint();
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2d = (Graphics2D) g.create();
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+            g2d.setColor(CARD_BACKGROUND);
+            g2d.fill(new RoundRectangle2D.Float(0, 0, getWidth(), getHeight(), 20, 20));
+
+            g2d.setColor(new Color(0, 0, 0, 10));
+            g2d.fill(new RoundRectangle2D.Float(3, 3, getWidth(), getHeight(), 20, 20));
+
+            g2d.dispose();
+        }
+
+        private JPanel createStatusBadge() {
+            JPanel badgePanel = new JPanel() {
+                @Override
+                protected void paintComponent(Graphics g) {
+                    Graphics2D g2d = (Graphics2D) g.create();
+                    g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+                    g2d.setColor(badgeTint);
+                    g2d.fill(new RoundRectangle2D.Float(0, 0, getWidth(), getHeight(), 15, 15));
+
+                    g2d.dispose();
+                }
+            };
+            badgePanel.setOpaque(false);
+            badgePanel.setLayout(new FlowLayout(FlowLayout.LEFT, 8, 5));
+            badgePanel.setMaximumSize(new Dimension(150, 30));
+
+            statusLabel.setFont(new Font("SansSerif", Font.BOLD, 13));
+            badgePanel.add(statusLabel);
+            return badgePanel;
+        }
+    }
 
+    // Paints the card's thumbnail once it has loaded, and a paw placeholder until then
+    private JLabel createRoundedImageLabel(PetCard card) {
+        JLabel imageLabel = new JLabel() {
             @Override
             protected void paintComponent(Graphics g) {
                 Graphics2D g2d = (Graphics2D) g.create();
                 g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
+                BufferedImage image = thumbnails.peek(card.imagePath);
                 if (image != null) {
                     g2d.setClip(new RoundRectangle2D.Float(5, 5, getWidth() - 10, getHeight() - 10, 15, 15));
-                    g2d.drawImage(image, 5, 5, getWidth() - 10, getHeight() - 10, this);
+                    g2d.drawImage(image, 5, 5, getWidth() - 10, getHeight() - 10, null);
                 } else {
                     g2d.setColor(new Color(248, 250, 252));
                     g2d.fill(new RoundRectangle2D.Float(5, 5, getWidth() - 10, getHeight() - 10, 15, 15));
@@ -214,43 +479,12 @@ public class PawManagement extends JPanel {
         return imageLabel;
     }
 
-    private JPanel createStatusBadge(String status) {
-        JPanel badgePanel = new JPanel() {
-            @Override
-            protected void paintComponent(Graphics g) {
-                Graphics2D g2d = (Graphics2D) g.create();
-                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                
-                Color badgeColor;
-                switch (status.toLowerCase()) {
-                    case "available" -> badgeColor = new Color(34, 197, 94);
-                    case "adopted" -> badgeColor = new Color(239, 68, 68);
-                    case "in foster" -> badgeColor = new Color(251, 146, 60);
-                    default -> badgeColor = new Color(148, 163, 184);
-                }
-                
-                g2d.setColor(new Color(badgeColor.getRed(), badgeColor.getGreen(), badgeColor.getBlue(), 30));
-                g2d.fill(new RoundRectangle2D.Float(0, 0, getWidth(), getHeight(), 15, 15));
-                
-                g2d.dispose();
-            }
-        };
-        badgePanel.setOpaque(false);
-        badgePanel.setLayout(new FlowLayout(FlowLayout.LEFT, 8, 5));
-        badgePanel.setMaximumSize(new Dimension(150, 30));
-
-        JLabel statusLabel = new JLabel("● " + status);
-        statusLabel.setFont(new Font("SansSerif", Font.BOLD, 13));
-        
-        switch (status.toLowerCase()) {
-            case "available" -> statusLabel.setForeground(new Color(34, 197, 94));
-            case "adopted" -> statusLabel.setForeground(new Color(239, 68, 68));
-            case "in foster" -> statusLabel.setForeground(new Color(251, 146, 60));
-            default -> statusLabel.setForeground(new Color(148, 163, 184));
-        }
-        
-        badgePanel.add(statusLabel);
-        return badgePanel;
+    // Registry statuses are canonical constants, so this is a reference comparison
+    private static Color statusColor(String status) {
+        if (status == PetRegistry.STATUS_AVAILABLE) return STATUS_AVAILABLE_COLOR;
+        if (status == PetRegistry.STATUS_ADOPTED) return STATUS_ADOPTED_COLOR;
+        if (status == PetRegistry.STATUS_IN_FOSTER) return STATUS_IN_FOSTER_COLOR;
+        return STATUS_OTHER_COLOR;
     }
 
     private JButton createModernButton(String text, Color baseColor, boolean filled) {
@@ -7,8 +7,10 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.font.TextAttribute;
 import java.awt.image.BufferedImage;
+import java.io.IOException;
 import java.net.URL;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.awt.datatransfer.StringSelection;
 import java.awt.datatransfer.Clipboard;
 import java.awt.Toolkit;
@@ -17,6 +19,8 @@ import javax.swing.text.AbstractDocument;
 import javax.swing.text.AttributeSet;
 import javax.swing.text.BadLocationException;
 import javax.swing.text.DocumentFilter;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 
 /**
  * A Java Swing application that replicates the payment method screen from the image.
@@ -44,7 +48,34 @@ public class PaymentFrame extends JFrame {
     private static final Color COLOR_BUTTON_PAY = new Color(40, 167, 69); // Green
     private static final Color COLOR_INPUT_BG = new Color(108, 117, 125); // Gray
 
+    // --- Payment Details (recorded in the order ledger) ---
+    private final String paymentDescription;
+    private final double paymentAmount;
+    private PlaceholderTextField refInputField;
+    private PlaceholderTextField amountInputField;
+    private JComboBox<String> walletSelector;
+    private JLabel duplicateWarningLabel;
+
+    // No amount known up front: the payer enters what they sent
     public PaymentFrame() {
+        this("Pet Adoption Payment", 0.0);
+    }
+
+    public PaymentFrame(String paymentDescription, double paymentAmount) {
+        this.paymentDescription = paymentDescription;
+        this.paymentAmount = paymentAmount;
+
+        // Open the reference index in the background so the first keystroke doesn't wait on disk
+        Thread indexLoader = new Thread(() -> {
+            try {
+                ReferenceIndex.getDefault();
+            } catch (Exception e) {
+                System.err.println("Could not load reference index: " + e.getMessage());
+            }
+        }, "reference-index-loader");
+        indexLoader.setDaemon(true);
+        indexLoader.start();
+        QrImageCache.preload(QR_SIZE, "GCASH.png", "MAYA.png");
         setTitle("Payment Method");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setExtendedState(JFrame.MAXIMIZED_BOTH); // Maximize window to full screen
@@ -119,31 +150,72 @@ public class PaymentFrame extends JFrame {
         // Don't call pack() when using full screen
 
         // --- Pay Now Button Logic ---
-        // We get the reference to the text field from the Step 3 panel
-        JPanel step3Panel = (JPanel) mainPanel.getComponent(3); // 3 is the index of the 3rd panel
-        PlaceholderTextField refInputField = (PlaceholderTextField) step3Panel.getComponent(2); // 2 is index of text field
-        
         payNowButton.addActionListener(e -> {
             String refText = refInputField.getText().trim();
-            if (refText.isEmpty()) {
+            double amount = enteredAmount();
+            if (amount <= 0) {
+                JOptionPane.showMessageDialog(this,
+                        "Please enter the amount you paid.",
+                        "Input Error",
+                        JOptionPane.ERROR_MESSAGE);
+            } else if (refText.isEmpty()) {
                 JOptionPane.showMessageDialog(this,
                         "Please enter a reference number.",
                         "Input Error",
                         JOptionPane.ERROR_MESSAGE);
             } else {
-                JOptionPane.showMessageDialog(this,
+                submitPayment(payNowButton, refText, amount);
+            }
+        });
+    }
+
+    // The index may still be loading (or rebuilding from the ledger), so the duplicate
+    // check and the writes run off the EDT; the button stays disabled until they finish
+    private void submitPayment(JButton payNowButton, String referenceNumber, double amount) {
+        String wallet = (String) walletSelector.getSelectedItem();
+        payNowButton.setEnabled(false);
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<Boolean, Void>() {
+            @Override
+            protected Boolean doInBackground() throws Exception {
+                return recordPayment(referenceNumber, amount, wallet);
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                payNowButton.setEnabled(true);
+                boolean recorded;
+                try {
+                    recorded = get();
+                } catch (Exception ex) {
+                    System.err.println("Could not record reference number: " + ex.getMessage());
+                    JOptionPane.showMessageDialog(PaymentFrame.this,
+                            "Could not check the reference number. Please try again.",
+                            "Payment Error",
+                            JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                if (!recorded) {
+                    JOptionPane.showMessageDialog(PaymentFrame.this,
+                            "This reference number has already been submitted.",
+                            "Duplicate Reference",
+                            JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                JOptionPane.showMessageDialog(PaymentFrame.this,
                         "Please wait a moment for re-verify (2-5 mins).",
                         "Payment Verification",
                         JOptionPane.INFORMATION_MESSAGE);
-                
+
                 // Close current PaymentFrame and open Dashboard
-                this.dispose();
+                dispose();
                 SwingUtilities.invokeLater(() -> {
                     Dashboard dashboard = new Dashboard();
                     dashboard.setVisible(true);
                 });
             }
-        });
+        }.execute();
     }
 
     /**
@@ -262,10 +334,126 @@ public class PaymentFrame extends JFrame {
             }
         });
 
-        panel.add(refInput, BorderLayout.SOUTH);
+        // Wallet used for the payment (GCash / Maya)
+        walletSelector = new JComboBox<>(new String[]{"GCash", "Maya"});
+        walletSelector.setFont(FONT_BODY);
+        walletSelector.setFocusable(false);
+
+        // Inline duplicate check as the user types
+        duplicateWarningLabel = new JLabel(" ");
+        duplicateWarningLabel.setFont(FONT_BODY.deriveFont(Font.BOLD, 13f));
+        duplicateWarningLabel.setForeground(new Color(255, 120, 130));
+        refInput.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) { updateDuplicateWarning(); }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) { updateDuplicateWarning(); }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) { updateDuplicateWarning(); }
+        });
+
+        // Amount sent; fixed when the caller knows what is owed
+        PlaceholderTextField amountInput = new PlaceholderTextField("Enter the Amount Paid (PHP)");
+        amountInput.setBackground(COLOR_INPUT_BG);
+        amountInput.setForeground(Color.WHITE);
+        amountInput.setCaretColor(Color.WHITE);
+        amountInput.setFont(FONT_BODY.deriveFont(16f));
+        amountInput.setBorder(new EmptyBorder(12, 12, 12, 12));
+        ((AbstractDocument) amountInput.getDocument()).setDocumentFilter(new DocumentFilter() {
+            @Override
+            public void insertString(FilterBypass fb, int offset, String string, AttributeSet attr) throws BadLocationException {
+                replace(fb, offset, 0, string, attr);
+            }
+
+            @Override
+            public void replace(FilterBypass fb, int offset, int length, String text, AttributeSet attrs) throws BadLocationException {
+                if (text == null) return;
+                String current = fb.getDocument().getText(0, fb.getDocument().getLength());
+                String next = current.substring(0, offset) + text + current.substring(offset + length);
+                if (next.matches("\\d{0,7}(\\.\\d{0,2})?")) {
+                    super.replace(fb, offset, length, text, attrs);
+                }
+            }
+        });
+        if (paymentAmount > 0) {
+            amountInput.setText(String.format(java.util.Locale.ROOT, "%.2f", paymentAmount));
+            amountInput.setEditable(false);
+        }
+        amountInputField = amountInput;
+
+        JPanel walletPanel = new JPanel(new BorderLayout(0, 10));
+        walletPanel.setOpaque(false);
+        walletPanel.add(walletSelector, BorderLayout.NORTH);
+        walletPanel.add(amountInput, BorderLayout.SOUTH);
+
+        JPanel inputPanel = new JPanel(new BorderLayout(0, 10));
+        inputPanel.setOpaque(false);
+        inputPanel.add(walletPanel, BorderLayout.NORTH);
+        inputPanel.add(refInput, BorderLayout.CENTER);
+        inputPanel.add(duplicateWarningLabel, BorderLayout.SOUTH);
+
+        refInputField = refInput;
+        panel.add(inputPanel, BorderLayout.SOUTH);
         return panel;
     }
 
+    // Per keystroke on the EDT: until the index has loaded, no warning rather than a stall
+    private void updateDuplicateWarning() {
+        ReferenceIndex index = ReferenceIndex.getIfLoaded();
+        boolean duplicate = index != null && isDuplicateReference(index, refInputField.getText().trim());
+        duplicateWarningLabel.setText(duplicate ? "This reference number was already submitted." : " ");
+    }
+
+    /**
+     * O(1) lookup in the persistent reference index (Bloom filter first, then disk).
+     */
+    private boolean isDuplicateReference(ReferenceIndex index, String referenceNumber) {
+        if (referenceNumber.isEmpty()) return false;
+        try {
+            return index.contains(referenceNumber);
+        } catch (Exception e) {
+            System.err.println("Reference index lookup failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // The amount typed (or fixed) in Step 3, or 0 if none was given
+    private double enteredAmount() {
+        String text = amountInputField.getText().trim();
+        if (text.isEmpty() || text.equals(".")) return 0;
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Remembers the reference number and appends the payment to the order
+     * ledger as pending verification. Returns false, writing nothing, if the
+     * reference was already submitted. Without a known amount no ledger row is
+     * written, since it could never reconcile against the statement. Blocks on
+     * disk: call it off the EDT.
+     */
+    private boolean recordPayment(String referenceNumber, double amount, String wallet) throws IOException {
+        if (!ReferenceIndex.getDefault().add(referenceNumber)) return false;
+        if (amount <= 0) return true;
+        try {
+            OrderLedger.getDefault().append(new OrderLedger.Entry(
+                System.currentTimeMillis(),
+                paymentDescription,
+                -amount,
+                wallet,
+                "Pending",
+                referenceNumber));
+        } catch (Exception ex) {
+            System.err.println("Could not record payment in ledger: " + ex.getMessage());
+        }
+        return true;
+    }
+
     /**
      * Helper to create a base panel for a Step.
      */
@@ -355,51 +543,8 @@ public class PaymentFrame extends JFrame {
         gcashLogo.setForeground(new Color(0, 114, 188)); // GCash blue
         gcashPanel.add(gcashLogo, BorderLayout.NORTH);
 
-        // Load GCash QR from the image you provided
-        JLabel gcashQR = new JLabel();
-        gcashQR.setHorizontalAlignment(SwingConstants.CENTER);
-        try {
-            // Try multiple path strategies
-            ImageIcon gcashIcon = null;
-            
-            // Strategy 1: Try as resource (if images are in src folder)
-            URL gcashUrl = getClass().getResource("/image/GCASH.png");
-            if (gcashUrl == null) {
-                // Strategy 2: Try without leading slash
-                gcashUrl = getClass().getResource("image/GCASH.png");
-            }
-            
-            if (gcashUrl != null) {
-                gcashIcon = new ImageIcon(gcashUrl);
-            } else {
-                // Strategy 3: Try as file path (if images are outside src)
-                String currentDir = System.getProperty("user.dir");
-                String imagePath = currentDir + "\\src\\image\\GCASH.png";
-                java.io.File imageFile = new java.io.File(imagePath);
-                if (imageFile.exists()) {
-                    gcashIcon = new ImageIcon(imagePath);
-                } else {
-                    // Try alternative path
-                    imagePath = currentDir + "\\image\\GCASH.png";
-                    imageFile = new java.io.File(imagePath);
-                    if (imageFile.exists()) {
-                        gcashIcon = new ImageIcon(imagePath);
-                    }
-                }
-            }
-            
-            if (gcashIcon != null && gcashIcon.getIconWidth() > 0) {
-                // Use SCALE_REPLICATE for crisp QR codes (preserves pixel boundaries)
-                Image img = gcashIcon.getImage().getScaledInstance(250, 250, Image.SCALE_REPLICATE);
-                gcashQR.setIcon(new ImageIcon(img));
-            } else {
-                throw new Exception("Image not found in any location");
-            }
-        } catch (Exception e) {
-            gcashQR.setText("<html><center>GCash QR Code<br/>Image not found<br/><small>(" + e.getMessage() + ")</small></center></html>");
-            gcashQR.setFont(FONT_BODY);
-            e.printStackTrace(); // Print stack trace to console for debugging
-        }
+        // QR bitmaps come pre-scaled from the cache (preloaded when the frame opened)
+        JLabel gcashQR = createQrLabel("GCASH.png", "GCash");
         gcashPanel.add(gcashQR, BorderLayout.CENTER);
 
         JPanel gcashInfoPanel = new JPanel(new GridLayout(2, 1, 0, 5));
@@ -425,51 +570,8 @@ public class PaymentFrame extends JFrame {
         mayaLogo.setForeground(new Color(0, 200, 117)); // Maya green
         mayaPanel.add(mayaLogo, BorderLayout.NORTH);
 
-        // Load Maya QR from the image you provided
-        JLabel mayaQR = new JLabel();
-        mayaQR.setHorizontalAlignment(SwingConstants.CENTER);
-        try {
-            // Try multiple path strategies
-            ImageIcon mayaIcon = null;
-            
-            // Strategy 1: Try as resource (if images are in src folder)
-            URL mayaUrl = getClass().getResource("/image/MAYA.png");
-            if (mayaUrl == null) {
-                // Strategy 2: Try without leading slash
-                mayaUrl = getClass().getResource("image/MAYA.png");
-            }
-            
-            if (mayaUrl != null) {
-                mayaIcon = new ImageIcon(mayaUrl);
-            } else {
-                // Strategy 3: Try as file path (if images are outside src)
-                String currentDir = System.getProperty("user.dir");
-                String imagePath = currentDir + "\\src\\image\\MAYA.png";
-                java.io.File imageFile = new java.io.File(imagePath);
-                if (imageFile.exists()) {
-                    mayaIcon = new ImageIcon(imagePath);
-                } else {
-                    // Try alternative path
-                    imagePath = currentDir + "\\image\\MAYA.png";
-                    imageFile = new java.io.File(imagePath);
-                    if (imageFile.exists()) {
-                        mayaIcon = new ImageIcon(imagePath);
-                    }
-                }
-            }
-            
-            if (mayaIcon != null && mayaIcon.getIconWidth() > 0) {
-                // Use SCALE_REPLICATE for crisp QR codes (preserves pixel boundaries)
-                Image img = mayaIcon.getImage().getScaledInstance(250, 250, Image.SCALE_REPLICATE);
-                mayaQR.setIcon(new ImageIcon(img));
-            } else {
-                throw new Exception("Image not found in any location");
-            }
-        } catch (Exception e) {
-            mayaQR.setText("<html><center>Maya QR Code<br/>Image not found<br/><small>(" + e.getMessage() + ")</small></center></html>");
-            mayaQR.setFont(FONT_BODY);
-            e.printStackTrace(); // Print stack trace to console for debugging
-        }
+        // QR bitmaps come pre-scaled from the cache (preloaded when the frame opened)
+        JLabel mayaQR = createQrLabel("MAYA.png", "Maya");
         mayaPanel.add(mayaQR, BorderLayout.CENTER);
 
         JPanel mayaInfoPanel = new JPanel(new GridLayout(2, 1, 0, 5));
@@ -499,6 +601,96 @@ public class PaymentFrame extends JFrame {
     }
 
 
+    private static final int QR_SIZE = 250;
+
+    private static JLabel createQrLabel(String fileName, String walletName) {
+        JLabel qrLabel = new JLabel();
+        qrLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        try {
+            qrLabel.setIcon(QrImageCache.get(fileName, QR_SIZE));
+        } catch (Exception e) {
+            qrLabel.setText("<html><center>" + walletName + " QR Code<br/>Image not found<br/><small>(" + e.getMessage() + ")</small></center></html>");
+            qrLabel.setFont(FONT_BODY);
+            e.printStackTrace(); // Print stack trace to console for debugging
+        }
+        return qrLabel;
+    }
+
+    /**
+     * Decoded QR images, kept for the life of the app. Each source PNG is decoded
+     * once, and each size it is shown at is scaled once (nearest-neighbour, the
+     * same pixels SCALE_REPLICATE produces, so codes stay crisp) into a
+     * ready-to-paint bitmap.
+     */
+    private static class QrImageCache {
+        private static final Map<String, BufferedImage> decoded = new ConcurrentHashMap<>();
+        private static final Map<String, ImageIcon> scaled = new ConcurrentHashMap<>();
+
+        static ImageIcon get(String fileName, int size) throws IOException {
+            String key = fileName + "@" + size;
+            ImageIcon icon = scaled.get(key);
+            if (icon == null) {
+                icon = new ImageIcon(scale(decode(fileName), size));
+                ImageIcon existing = scaled.putIfAbsent(key, icon);
+                if (existing != null) icon = existing;
+            }
+            return icon;
+        }
+
+        // Warms the cache off the EDT so the modal never touches the disk
+        static void preload(int size, String... fileNames) {
+            Thread loader = new Thread(() -> {
+                for (String fileName : fileNames) {
+                    try {
+                        get(fileName, size);
+                    } catch (IOException e) {
+                        System.err.println("Could not preload QR image " + fileName + ": " + e.getMessage());
+                    }
+                }
+            }, "qr-image-preloader");
+            loader.setDaemon(true);
+            loader.start();
+        }
+
+        private static BufferedImage decode(String fileName) throws IOException {
+            BufferedImage image = decoded.get(fileName);
+            if (image != null) return image;
+
+            // Try as a resource (images in src), then as a file next to the working directory
+            URL url = PaymentFrame.class.getResource("/image/" + fileName);
+            if (url == null) {
+                url = PaymentFrame.class.getResource("image/" + fileName);
+            }
+            if (url != null) {
+                image = ImageIO.read(url);
+            } else {
+                String currentDir = System.getProperty("user.dir");
+                for (java.io.File file : new java.io.File[]{
+                        new java.io.File(currentDir, "src" + java.io.File.separator + "image" + java.io.File.separator + fileName),
+                        new java.io.File(currentDir, "image" + java.io.File.separator + fileName)}) {
+                    if (file.exists()) {
+                        image = ImageIO.read(file);
+                        break;
+                    }
+                }
+            }
+            if (image == null) {
+                throw new IOException("Image not found in any location");
+            }
+            decoded.put(fileName, image);
+            return image;
+        }
+
+        private static BufferedImage scale(BufferedImage source, int size) {
+            BufferedImage target = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g2d = target.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+            g2d.drawImage(source, 0, 0, size, size, null);
+            g2d.dispose();
+            return target;
+        }
+    }
+
     /**
      * Main method to run the application.
      */
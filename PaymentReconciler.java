@@ -0,0 +1,487 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Reconciles GCash and Maya wallet statements against the payments recorded in
+ * the order ledger (references entered in PaymentFrame).
+ *
+ * This is a partitioned hash join. In the first phase the two statement files
+ * and the ledger are streamed concurrently, and every row is spilled to one of
+ * PARTITIONS temp files chosen by the hash of its reference. In the second
+ * phase the partitions are joined in parallel across cores. Each partition
+ * groups its rows by (wallet, reference) in a hash map and joins the groups.
+ * Memory is bounded by the largest partition, not by the statement size.
+ *
+ * A reference identifies one payment only if it is non-empty and appears
+ * once on each side. Rows with an empty reference, and every row of a
+ * reference seen more than once on either side, are never joined; they are
+ * reported on their own so each one can be checked by hand.
+ *
+ * Reports are written as CSV to the output directory:
+ * matched.csv, amount_mismatch.csv and unmatched.csv (with the side the row
+ * came from and why it was not matched).
+ *
+ * Run standalone with: PaymentReconciler gcash.csv maya.csv outputDir
+ * or: PaymentReconciler --benchmark [rows]
+ */
+public class PaymentReconciler {
+
+    private static final int PARTITIONS = 64;
+    private static final int SCAN_CHUNK = 8192;
+    private static final double AMOUNT_TOLERANCE = 0.005;
+
+    /**
+     * Counts of each outcome; the CSV reports hold the rows.
+     */
+    public static class Result {
+        private long matched;
+        private long amountMismatch;
+        private long unmatchedStatement;
+        private long unmatchedLedger;
+        private long badReference;
+
+        public long getMatched() { return matched; }
+        public long getAmountMismatch() { return amountMismatch; }
+        public long getUnmatchedStatement() { return unmatchedStatement; }
+        public long getUnmatchedLedger() { return unmatchedLedger; }
+        /** Rows (either side) with an empty or repeated reference, which are never joined. */
+        public long getBadReference() { return badReference; }
+
+        synchronized void add(Result other) {
+            matched += other.matched;
+            amountMismatch += other.amountMismatch;
+            unmatchedStatement += other.unmatchedStatement;
+            unmatchedLedger += other.unmatchedLedger;
+            badReference += other.badReference;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("matched=%d, amount mismatch=%d, unmatched statement=%d, unmatched ledger=%d,"
+                + " no or duplicate reference=%d", matched, amountMismatch, unmatchedStatement, unmatchedLedger, badReference);
+        }
+    }
+
+    // One spilled row: which wallet, the reference, the amount and where it came from
+    private static class Row {
+        final String wallet;
+        final String reference;
+        final double amount;
+        final String source;
+
+        Row(String wallet, String reference, double amount, String source) {
+            this.wallet = wallet;
+            this.reference = reference;
+            this.amount = amount;
+            this.source = source;
+        }
+
+        String key() {
+            return wallet + "|" + reference;
+        }
+    }
+
+    private final OrderLedger ledger;
+    private final int threads;
+
+    public PaymentReconciler(OrderLedger ledger) {
+        this(ledger, Runtime.getRuntime().availableProcessors());
+    }
+
+    public PaymentReconciler(OrderLedger ledger, int threads) {
+        this.ledger = ledger;
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Reconciles the given statements (either may be null) and writes the
+     * reports to outputDir. Ledger payments are only checked for the wallets
+     * whose statement was given.
+     */
+    public Result reconcile(Path gcashStatement, Path mayaStatement, Path outputDir) throws Exception {
+        Files.createDirectories(outputDir);
+        Path work = Files.createTempDirectory(outputDir, "reconcile-");
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(threads, 3));
+        try {
+            // Phase 1: stream and partition all three inputs concurrently
+            // Only payments made with a wallet whose statement was supplied can be reconciled
+            List<String> wallets = new ArrayList<>();
+            if (gcashStatement != null) wallets.add("GCash");
+            if (mayaStatement != null) wallets.add("Maya");
+            List<Future<?>> spills = new ArrayList<>();
+            spills.add(pool.submit(() -> { spillLedger(work.resolve("ledger"), wallets); return null; }));
+            if (gcashStatement != null) {
+                spills.add(pool.submit(() -> { spillStatement(gcashStatement, "GCash", work.resolve("gcash")); return null; }));
+            }
+            if (mayaStatement != null) {
+                spills.add(pool.submit(() -> { spillStatement(mayaStatement, "Maya", work.resolve("maya")); return null; }));
+            }
+            for (Future<?> spill : spills) spill.get();
+
+            // Phase 2: join partitions in parallel
+            Result total = new Result();
+            List<Future<?>> joins = new ArrayList<>();
+            for (int p = 0; p < PARTITIONS; p++) {
+                int partition = p;
+                joins.add(pool.submit(() -> {
+                    total.add(joinPartition(work, partition));
+                    return null;
+                }));
+            }
+            for (Future<?> join : joins) join.get();
+
+            // Concatenate per-partition reports
+            concatReports(work, outputDir, "matched.csv", "Wallet,Reference Number,Statement Amount,Ledger Amount");
+            concatReports(work, outputDir, "amount_mismatch.csv", "Wallet,Reference Number,Statement Amount,Ledger Amount");
+            concatReports(work, outputDir, "unmatched.csv", "Side,Wallet,Reference Number,Amount,Source,Reason");
+            return total;
+        } finally {
+            pool.shutdownNow();
+            deleteRecursively(work);
+        }
+    }
+
+    private void spillLedger(Path dir, List<String> wallets) throws IOException {
+        DataOutputStream[] outs = openPartitions(dir);
+        try {
+            long size = ledger.size();
+            for (long from = 0; from < size; from += SCAN_CHUNK) {
+                for (OrderLedger.Entry entry : ledger.read(from, (int) Math.min(SCAN_CHUNK, size - from))) {
+                    String wallet = normalizeWallet(entry.getPaymentMethod());
+                    if (wallet == null || !wallets.contains(wallet)) continue;
+                    writeRow(outs, new Row(wallet, entry.getReferenceNumber().trim(),
+                        Math.abs(entry.getAmount()), "ledger #" + entry.getSequence()));
+                }
+            }
+        } finally {
+            closeAll(outs);
+        }
+    }
+
+    // Statement CSV: the header must have a column containing "reference" and one containing "amount"
+    private static void spillStatement(Path statement, String wallet, Path dir) throws IOException {
+        DataOutputStream[] outs = openPartitions(dir);
+        try (BufferedReader reader = Files.newBufferedReader(statement, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null) return;
+            List<String> columns = splitCsv(header.replace("﻿", ""));
+            int refColumn = -1;
+            int amountColumn = -1;
+            for (int i = 0; i < columns.size(); i++) {
+                String name = columns.get(i).trim().toLowerCase(Locale.ROOT);
+                if (refColumn < 0 && name.contains("reference")) refColumn = i;
+                if (amountColumn < 0 && name.contains("amount")) amountColumn = i;
+            }
+            if (refColumn < 0 || amountColumn < 0) {
+                throw new IOException(statement.getFileName() + ": header needs Reference and Amount columns");
+            }
+
+            String line;
+            long lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) continue;
+                List<String> fields = splitCsv(line);
+                if (fields.size() <= Math.max(refColumn, amountColumn)) continue;
+                double amount;
+                try {
+                    amount = Math.abs(parseAmount(fields.get(amountColumn)));
+                } catch (NumberFormatException e) {
+                    System.err.println(statement.getFileName() + ":" + lineNumber + ": unreadable amount, row skipped");
+                    continue;
+                }
+                String reference = fields.get(refColumn).trim();
+                writeRow(outs, new Row(wallet, reference, amount,
+                    statement.getFileName() + ":" + lineNumber));
+            }
+        } finally {
+            closeAll(outs);
+        }
+    }
+
+    // Splits one CSV line (RFC 4180): quoted fields may hold commas and doubled quotes
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // Wallet exports write amounts like "1,234.50" or "PHP 1,234.50"; keep only the number
+    static double parseAmount(String text) {
+        StringBuilder number = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if ((c >= '0' && c <= '9') || c == '.' || c == '-') number.append(c);
+        }
+        return Double.parseDouble(number.toString());
+    }
+
+    private static Result joinPartition(Path work, int partition) throws IOException {
+        Result result = new Result();
+        // (wallet, reference) -> that reference's rows on each side
+        Map<String, List<Row>> ledgerRows = new LinkedHashMap<>();
+        Map<String, List<Row>> statementRows = new LinkedHashMap<>();
+        for (Row row : readPartition(work.resolve("ledger"), partition)) {
+            ledgerRows.computeIfAbsent(row.key(), k -> new ArrayList<>(1)).add(row);
+        }
+        for (String side : new String[]{"gcash", "maya"}) {
+            Path dir = work.resolve(side);
+            if (!Files.exists(dir)) continue;
+            for (Row row : readPartition(dir, partition)) {
+                statementRows.computeIfAbsent(row.key(), k -> new ArrayList<>(1)).add(row);
+            }
+        }
+
+        try (Writer matched = report(work, "matched.csv", partition);
+             Writer mismatched = report(work, "amount_mismatch.csv", partition);
+             Writer unmatched = report(work, "unmatched.csv", partition)) {
+            for (Map.Entry<String, List<Row>> group : statementRows.entrySet()) {
+                List<Row> rows = group.getValue();
+                List<Row> ledgerGroup = ledgerRows.remove(group.getKey());
+                Row row = rows.get(0);
+                String problem = referenceProblem(row.reference, rows, ledgerGroup);
+                if (problem != null) {
+                    result.badReference += reportAll(unmatched, "Statement", rows, problem);
+                    if (ledgerGroup != null) result.badReference += reportAll(unmatched, "Ledger", ledgerGroup, problem);
+                } else if (ledgerGroup == null) {
+                    result.unmatchedStatement++;
+                    unmatched.write(csv("Statement", row.wallet, row.reference, amount(row.amount), row.source, "Not in ledger"));
+                } else {
+                    Row ledgerRow = ledgerGroup.get(0);
+                    boolean same = Math.abs(ledgerRow.amount - row.amount) <= AMOUNT_TOLERANCE;
+                    if (same) {
+                        result.matched++;
+                    } else {
+                        result.amountMismatch++;
+                    }
+                    (same ? matched : mismatched).write(csv(row.wallet, row.reference, amount(row.amount), amount(ledgerRow.amount)));
+                }
+            }
+            for (List<Row> rows : ledgerRows.values()) {
+                String problem = referenceProblem(rows.get(0).reference, null, rows);
+                if (problem != null) {
+                    result.badReference += reportAll(unmatched, "Ledger", rows, problem);
+                } else {
+                    result.unmatchedLedger += reportAll(unmatched, "Ledger", rows, "Not in statement");
+                }
+            }
+        }
+        return result;
+    }
+
+    // Why a reference cannot be joined, or null if it identifies at most one row on each side
+    private static String referenceProblem(String reference, List<Row> statementRows, List<Row> ledgerRows) {
+        if (reference.isEmpty()) return "No reference";
+        if ((statementRows != null && statementRows.size() > 1) || (ledgerRows != null && ledgerRows.size() > 1)) {
+            return "Duplicate reference";
+        }
+        return null;
+    }
+
+    private static int reportAll(Writer unmatched, String side, List<Row> rows, String reason) throws IOException {
+        for (Row row : rows) {
+            unmatched.write(csv(side, row.wallet, row.reference, amount(row.amount), row.source, reason));
+        }
+        return rows.size();
+    }
+
+    private static DataOutputStream[] openPartitions(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        DataOutputStream[] outs = new DataOutputStream[PARTITIONS];
+        for (int p = 0; p < PARTITIONS; p++) {
+            outs[p] = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(dir.resolve(p + ".bin")), 32 * 1024));
+        }
+        return outs;
+    }
+
+    private static void writeRow(DataOutputStream[] outs, Row row) throws IOException {
+        DataOutputStream out = outs[Math.floorMod(row.reference.hashCode(), PARTITIONS)];
+        out.writeUTF(row.wallet);
+        out.writeUTF(row.reference);
+        out.writeDouble(row.amount);
+        out.writeUTF(row.source);
+    }
+
+    // A single partition is small enough to read whole
+    private static List<Row> readPartition(Path dir, int partition) throws IOException {
+        List<Row> rows = new ArrayList<>();
+        Path file = dir.resolve(partition + ".bin");
+        if (!Files.exists(file)) return rows;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024))) {
+            while (true) {
+                String wallet;
+                try {
+                    wallet = in.readUTF();
+                } catch (EOFException end) {
+                    break;
+                }
+                rows.add(new Row(wallet, in.readUTF(), in.readDouble(), in.readUTF()));
+            }
+        }
+        return rows;
+    }
+
+    private static void closeAll(DataOutputStream[] outs) throws IOException {
+        for (DataOutputStream out : outs) {
+            if (out != null) out.close();
+        }
+    }
+
+    private static Writer report(Path work, String name, int partition) throws IOException {
+        return Files.newBufferedWriter(work.resolve(name + "." + partition), StandardCharsets.UTF_8);
+    }
+
+    private static void concatReports(Path work, Path outputDir, String name, String header) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(outputDir.resolve(name), StandardCharsets.UTF_8)) {
+            out.write(header);
+            out.write("\r\n");
+            out.flush();
+        }
+        for (int p = 0; p < PARTITIONS; p++) {
+            Path part = work.resolve(name + "." + p);
+            if (Files.exists(part)) {
+                Files.write(outputDir.resolve(name), Files.readAllBytes(part), StandardOpenOption.APPEND);
+            }
+        }
+    }
+
+    private static String normalizeWallet(String method) {
+        if ("GCash".equalsIgnoreCase(method)) return "GCash";
+        if ("Maya".equalsIgnoreCase(method)) return "Maya";
+        return null;
+    }
+
+    private static String amount(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    private static String csv(String... fields) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) line.append(',');
+            String field = fields[i];
+            if (field.indexOf(',') >= 0 || field.indexOf('"') >= 0) {
+                line.append('"').append(field.replace("\"", "\"\"")).append('"');
+            } else {
+                line.append(field);
+            }
+        }
+        return line.append("\r\n").toString();
+    }
+
+    private static void deleteRecursively(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException ignored) { }
+            });
+        } catch (IOException ignored) { }
+    }
+
+    /**
+     * Builds a synthetic ledger and a GCash statement of the given size in a
+     * temp directory and times a full reconciliation of them.
+     */
+    private static void runBenchmark(int rows) throws Exception {
+        Path dir = Files.createTempDirectory("reconcile-bench-");
+        try {
+            Random random = new Random(42);
+            OrderLedger benchLedger = new OrderLedger(dir.resolve("ledger"));
+            Path statement = dir.resolve("gcash.csv");
+            List<OrderLedger.Entry> batch = new ArrayList<>(SCAN_CHUNK);
+            long start = System.nanoTime();
+            try (BufferedWriter out = Files.newBufferedWriter(statement, StandardCharsets.UTF_8)) {
+                out.write("Date,Reference Number,Amount\n");
+                for (int i = 0; i < rows; i++) {
+                    String reference = String.valueOf(1_000_000_000_000L + i);
+                    double amount = 50 + random.nextInt(100_000) / 100.0;
+                    // ~1% missing from the statement, ~1% with the wrong amount
+                    int roll = random.nextInt(100);
+                    if (roll != 0) {
+                        double statementAmount = roll == 1 ? amount + 1 : amount;
+                        out.write("2025-11-01," + reference + "," + amount(statementAmount) + "\n");
+                    }
+                    batch.add(new OrderLedger.Entry(0, "Benchmark", -amount, "GCash", "Pending", reference));
+                    if (batch.size() == SCAN_CHUNK) {
+                        benchLedger.appendAll(batch);
+                        batch.clear();
+                    }
+                }
+            }
+            benchLedger.appendAll(batch);
+            System.out.printf("Generated %,d rows in %.1f s%n", rows, (System.nanoTime() - start) / 1e9);
+
+            start = System.nanoTime();
+            Result result = new PaymentReconciler(benchLedger).reconcile(statement, null, dir.resolve("reports"));
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Reconciled %,d rows in %.2f s (%,.0f rows/s) on %d cores%n",
+                rows, seconds, rows / seconds, Runtime.getRuntime().availableProcessors());
+            System.out.println(result);
+        } finally {
+            deleteRecursively(dir);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length >= 1 && "--benchmark".equals(args[0])) {
+            runBenchmark(args.length >= 2 ? Integer.parseInt(args[1]) : 1_000_000);
+            return;
+        }
+        if (args.length < 3) {
+            System.err.println("Usage: PaymentReconciler <gcash.csv|-> <maya.csv|-> <outputDir>");
+            System.err.println("       PaymentReconciler --benchmark [rows]");
+            return;
+        }
+        Path gcash = "-".equals(args[0]) ? null : Paths.get(args[0]);
+        Path maya = "-".equals(args[1]) ? null : Paths.get(args[1]);
+        Result result = new PaymentReconciler(OrderLedger.getDefault()).reconcile(gcash, maya, Paths.get(args[2]));
+        System.out.println(result);
+    }
+}
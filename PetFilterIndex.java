@@ -0,0 +1,158 @@
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Bitset indexes over a snapshot of the pet registry, for the gallery filters.
+ *
+ * Each pet gets a position; every status, species, trait and age (in months)
+ * has a BitSet of the positions that have it. A filter is then a handful of
+ * word-wide ANDs/ORs instead of a pass over the pets and their strings, which
+ * keeps it well under a millisecond for tens of thousands of pets.
+ *
+ * The index is immutable: build a new one when the registry changes.
+ */
+public class PetFilterIndex {
+
+    // Pass for min/max age to leave that end of the range open
+    public static final int ANY_AGE = -1;
+
+    private final List<PetRegistry.Pet> pets;
+    private final BitSet all;
+    private final Map<String, BitSet> byStatus = new HashMap<>();
+    private final Map<String, BitSet> bySpecies = new HashMap<>();
+    private final Map<String, BitSet> byTrait = new HashMap<>();
+    private final NavigableMap<Integer, BitSet> byAge = new TreeMap<>();
+
+    public PetFilterIndex(List<PetRegistry.Pet> pets) {
+        this.pets = new ArrayList<>(pets);
+        this.all = new BitSet(pets.size());
+        all.set(0, pets.size());
+        for (int i = 0; i < this.pets.size(); i++) {
+            PetRegistry.Pet pet = this.pets.get(i);
+            byStatus.computeIfAbsent(pet.getStatus(), k -> new BitSet()).set(i);
+            bySpecies.computeIfAbsent(key(pet.getSpecies()), k -> new BitSet()).set(i);
+            for (String trait : traitsOf(pet.getTraits())) {
+                byTrait.computeIfAbsent(trait, k -> new BitSet()).set(i);
+            }
+            // Unknown ages (0) stay out of the age index, so any age range excludes them
+            if (pet.getAgeMonths() > 0) {
+                byAge.computeIfAbsent(pet.getAgeMonths(), k -> new BitSet()).set(i);
+            }
+        }
+    }
+
+    public int size() {
+        return pets.size();
+    }
+
+    /**
+     * Positions of the pets matching every given criterion. A null status or
+     * species, ANY_AGE bounds and an empty trait list match everything; each
+     * listed trait must be present.
+     */
+    public BitSet select(String status, String species, int minAgeMonths, int maxAgeMonths, Collection<String> traits) {
+        BitSet result = (BitSet) all.clone();
+        if (status != null) {
+            result.and(byStatus.getOrDefault(PetRegistry.canonicalStatus(status), new BitSet()));
+        }
+        if (species != null) {
+            result.and(bySpecies.getOrDefault(key(species), new BitSet()));
+        }
+        if (minAgeMonths != ANY_AGE || maxAgeMonths != ANY_AGE) {
+            int low = minAgeMonths == ANY_AGE ? 0 : minAgeMonths;
+            int high = maxAgeMonths == ANY_AGE ? Integer.MAX_VALUE : maxAgeMonths;
+            BitSet inRange = new BitSet(pets.size());
+            if (low <= high) {
+                for (BitSet ages : byAge.subMap(low, true, high, true).values()) {
+                    inRange.or(ages);
+                }
+            }
+            result.and(inRange);
+        }
+        for (String trait : traits) {
+            if (result.isEmpty()) break;
+            result.and(byTrait.getOrDefault(key(trait), new BitSet()));
+        }
+        return result;
+    }
+
+    /**
+     * The matching pets, in registry order.
+     */
+    public List<PetRegistry.Pet> filter(String status, String species, int minAgeMonths, int maxAgeMonths,
+                                        Collection<String> traits) {
+        BitSet selected = select(status, species, minAgeMonths, maxAgeMonths, traits);
+        List<PetRegistry.Pet> result = new ArrayList<>(selected.cardinality());
+        for (int i = selected.nextSetBit(0); i >= 0; i = selected.nextSetBit(i + 1)) {
+            result.add(pets.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Number of pets per status, e.g. for labelling the status filter.
+     */
+    public int countWithStatus(String status) {
+        BitSet positions = byStatus.get(PetRegistry.canonicalStatus(status));
+        return positions == null ? 0 : positions.cardinality();
+    }
+
+    /**
+     * Splits a traits field ("Friendly, good with kids") or a typed filter into
+     * lower-case trait words.
+     */
+    public static List<String> traitsOf(String text) {
+        if (text == null || text.trim().isEmpty()) return Collections.emptyList();
+        List<String> traits = new ArrayList<>();
+        for (String part : text.split("[,;/]")) {
+            String trait = key(part);
+            if (!trait.isEmpty() && !traits.contains(trait)) traits.add(trait);
+        }
+        return traits;
+    }
+
+    private static String key(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Times filters over a synthetic shelter: java PetFilterIndex [pets]
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        String[] statuses = {PetRegistry.STATUS_AVAILABLE, PetRegistry.STATUS_ADOPTED, PetRegistry.STATUS_IN_FOSTER};
+        String[] species = {"Dog", "Cat", "Rabbit", "Bird"};
+        String[] traits = {"Friendly", "Calm", "Playful", "Smart", "Lazy", "Good with kids", "House trained"};
+        java.util.Random random = new java.util.Random(42);
+        List<PetRegistry.Pet> pets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String petTraits = traits[random.nextInt(traits.length)] + ", " + traits[random.nextInt(traits.length)];
+            pets.add(new PetRegistry.Pet(i, "Pet " + i, statuses[random.nextInt(statuses.length)],
+                species[random.nextInt(species.length)], "", "", 1 + random.nextInt(180), "", petTraits, "", "", ""));
+        }
+
+        long start = System.nanoTime();
+        PetFilterIndex index = new PetFilterIndex(pets);
+        System.out.printf(Locale.ROOT, "Indexed %d pets in %.1f ms%n", count, (System.nanoTime() - start) / 1e6);
+
+        List<String> wanted = traitsOf("friendly, good with kids");
+        int matches = 0;
+        int runs = 2_000;
+        for (int warmup = 0; warmup < 2; warmup++) {
+            start = System.nanoTime();
+            for (int i = 0; i < runs; i++) {
+                matches = index.select(PetRegistry.STATUS_AVAILABLE, "dog", 12, 84, wanted).cardinality();
+            }
+        }
+        System.out.printf(Locale.ROOT, "Available dogs aged 1-7 yrs, friendly and good with kids: %d, %.1f us per filter%n",
+            matches, (System.nanoTime() - start) / 1e3 / runs);
+    }
+}
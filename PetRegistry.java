@@ -0,0 +1,414 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Shared store of shelter pets, read by PawManagement's gallery and the admin
+ * dashboard.
+ *
+ * All pets are held in memory, with secondary indexes (id sets) on status,
+ * species and breed so the common queries never scan. Every change is
+ * appended to a local FramedLog (data/pets.db) and forced to disk before the
+ * call returns. On open the
+ * log is replayed, a torn tail is cut off, and the log is compacted once it
+ * holds far more records than pets. A brand-new store is seeded with the
+ * shelter's starting pets.
+ *
+ * Listeners are told about every change on the thread that made it.
+ */
+public class PetRegistry {
+
+    public static final String STATUS_AVAILABLE = "Available";
+    public static final String STATUS_ADOPTED = "Adopted";
+    public static final String STATUS_IN_FOSTER = "In Foster";
+
+    private static final String DEFAULT_PATH = "data/pets.db";
+    private static final int COMPACT_MIN_RECORDS = 256;
+    private static final int MAX_RECORD_BYTES = 64 * 1024;
+
+    private static final byte OP_PUT = 1;
+    private static final byte OP_REMOVE = 2;
+
+    private static PetRegistry defaultRegistry;
+
+    /**
+     * One pet. Immutable; use the with... methods to derive an updated copy.
+     */
+    public static class Pet {
+        private final long id;
+        private final String name;
+        private final String status;
+        private final String species;
+        private final String breed;
+        private final String gender;
+        private final int ageMonths;
+        private final String health;
+        private final String traits;
+        private final String contact;
+        private final String reason;
+        private final String imagePath;
+
+        public Pet(long id, String name, String status, String species, String breed, String gender,
+                   int ageMonths, String health, String traits, String contact, String reason, String imagePath) {
+            this.id = id;
+            this.name = nonNull(name);
+            this.status = canonicalStatus(status);
+            this.species = nonNull(species);
+            this.breed = nonNull(breed);
+            this.gender = nonNull(gender);
+            this.ageMonths = ageMonths;
+            this.health = nonNull(health);
+            this.traits = nonNull(traits);
+            this.contact = nonNull(contact);
+            this.reason = nonNull(reason);
+            this.imagePath = nonNull(imagePath);
+        }
+
+        public long getId() { return id; }
+        public String getName() { return name; }
+        public String getStatus() { return status; }
+        public String getSpecies() { return species; }
+        public String getBreed() { return breed; }
+        public String getGender() { return gender; }
+        public int getAgeMonths() { return ageMonths; }
+        public String getHealth() { return health; }
+        public String getTraits() { return traits; }
+        public String getContact() { return contact; }
+        public String getReason() { return reason; }
+        public String getImagePath() { return imagePath; }
+
+        // "4 mos", "1 yr", "2 yrs" as shown in the admin table
+        public String getAgeText() {
+            if (ageMonths <= 0) return "";
+            if (ageMonths < 12) return ageMonths + (ageMonths == 1 ? " mo" : " mos");
+            int years = ageMonths / 12;
+            return years + (years == 1 ? " yr" : " yrs");
+        }
+
+        // True if someone has applied to adopt this pet
+        public boolean hasApplication() {
+            return !contact.isEmpty();
+        }
+
+        public Pet withId(long newId) {
+            return new Pet(newId, name, status, species, breed, gender, ageMonths, health, traits, contact, reason, imagePath);
+        }
+
+        public Pet withStatus(String newStatus) {
+            return new Pet(id, name, newStatus, species, breed, gender, ageMonths, health, traits, contact, reason, imagePath);
+        }
+    }
+
+    /**
+     * What happened to a pet; `pet` is the new value (the old one for REMOVED).
+     */
+    public static class Change {
+        public enum Type { ADDED, UPDATED, REMOVED }
+
+        private final Type type;
+        private final Pet pet;
+
+        Change(Type type, Pet pet) {
+            this.type = type;
+            this.pet = pet;
+        }
+
+        public Type getType() { return type; }
+        public Pet getPet() { return pet; }
+    }
+
+    private final Map<Long, Pet> pets = new LinkedHashMap<>();
+    private final Map<String, Set<Long>> byStatus = new HashMap<>();
+    private final Map<String, Set<Long>> bySpecies = new HashMap<>();
+    private final Map<String, Set<Long>> byBreed = new HashMap<>();
+    private final List<Consumer<Change>> listeners = new CopyOnWriteArrayList<>();
+    private FramedLog log;
+    private long nextId = 1;
+
+    public static synchronized PetRegistry getDefault() {
+        if (defaultRegistry == null) {
+            Path path = Paths.get(DEFAULT_PATH);
+            boolean fresh = !Files.exists(path);
+            defaultRegistry = new PetRegistry(path);
+            if (fresh) {
+                defaultRegistry.seed();
+            }
+        }
+        return defaultRegistry;
+    }
+
+    public PetRegistry(Path path) {
+        try {
+            log = new FramedLog(path, MAX_RECORD_BYTES, this::replay);
+            if (log.recordCount() >= COMPACT_MIN_RECORDS && log.recordCount() > pets.size() * 2) {
+                compact();
+            }
+        } catch (IOException e) {
+            System.err.println("Pet registry unavailable, changes will not be saved: " + e.getMessage());
+            log = null;
+        }
+    }
+
+    public void addChangeListener(Consumer<Change> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeChangeListener(Consumer<Change> listener) {
+        listeners.remove(listener);
+    }
+
+    public synchronized int size() {
+        return pets.size();
+    }
+
+    public synchronized Pet get(long id) {
+        return pets.get(id);
+    }
+
+    /**
+     * Every pet, in the order they were added.
+     */
+    public synchronized List<Pet> getAll() {
+        return new ArrayList<>(pets.values());
+    }
+
+    public synchronized List<Pet> findByStatus(String status) {
+        return resolve(byStatus.get(canonicalStatus(status)));
+    }
+
+    public synchronized List<Pet> findBySpecies(String species) {
+        return resolve(bySpecies.get(key(species)));
+    }
+
+    public synchronized List<Pet> findByBreed(String breed) {
+        return resolve(byBreed.get(key(breed)));
+    }
+
+    /**
+     * Pets matching every non-null criterion; walks only the smallest matching index.
+     */
+    public synchronized List<Pet> find(String status, String species, String breed) {
+        List<Set<Long>> sets = new ArrayList<>(3);
+        if (status != null) sets.add(byStatus.getOrDefault(canonicalStatus(status), Collections.emptySet()));
+        if (species != null) sets.add(bySpecies.getOrDefault(key(species), Collections.emptySet()));
+        if (breed != null) sets.add(byBreed.getOrDefault(key(breed), Collections.emptySet()));
+        if (sets.isEmpty()) return getAll();
+
+        sets.sort((a, b) -> Integer.compare(a.size(), b.size()));
+        List<Pet> result = new ArrayList<>();
+        outer:
+        for (Long id : sets.get(0)) {
+            for (int i = 1; i < sets.size(); i++) {
+                if (!sets.get(i).contains(id)) continue outer;
+            }
+            result.add(pets.get(id));
+        }
+        return result;
+    }
+
+    /**
+     * Distinct species (or breeds) currently in the registry, for filter menus.
+     */
+    public synchronized List<String> getSpecies() {
+        return distinct(bySpecies, Pet::getSpecies);
+    }
+
+    public synchronized List<String> getBreeds() {
+        return distinct(byBreed, Pet::getBreed);
+    }
+
+    /**
+     * Adds a pet (its id is ignored and a new one assigned); returns the stored pet.
+     */
+    public Pet add(Pet pet) {
+        Pet stored;
+        synchronized (this) {
+            stored = pet.withId(nextId);
+            write(OP_PUT, stored);
+            apply(OP_PUT, stored);
+        }
+        fire(new Change(Change.Type.ADDED, stored));
+        return stored;
+    }
+
+    /**
+     * Replaces the pet with the same id; returns false if there is none.
+     */
+    public boolean update(Pet pet) {
+        synchronized (this) {
+            if (!pets.containsKey(pet.getId())) return false;
+            write(OP_PUT, pet);
+            apply(OP_PUT, pet);
+        }
+        fire(new Change(Change.Type.UPDATED, pet));
+        return true;
+    }
+
+    public boolean remove(long id) {
+        Pet removed;
+        synchronized (this) {
+            removed = pets.get(id);
+            if (removed == null) return false;
+            write(OP_REMOVE, removed);
+            apply(OP_REMOVE, removed);
+        }
+        fire(new Change(Change.Type.REMOVED, removed));
+        return true;
+    }
+
+    public synchronized void close() {
+        if (log != null) {
+            log.close();
+            log = null;
+        }
+    }
+
+    private void fire(Change change) {
+        for (Consumer<Change> listener : listeners) {
+            listener.accept(change);
+        }
+    }
+
+    private List<Pet> resolve(Set<Long> ids) {
+        List<Pet> result = new ArrayList<>();
+        if (ids != null) {
+            for (Long id : ids) result.add(pets.get(id));
+        }
+        return result;
+    }
+
+    private List<String> distinct(Map<String, Set<Long>> index, java.util.function.Function<Pet, String> field) {
+        List<String> values = new ArrayList<>();
+        for (Set<Long> ids : index.values()) {
+            if (!ids.isEmpty()) values.add(field.apply(pets.get(ids.iterator().next())));
+        }
+        values.sort(String.CASE_INSENSITIVE_ORDER);
+        return values;
+    }
+
+    private void apply(byte op, Pet pet) {
+        Pet old = pets.get(pet.getId());
+        if (old != null) {
+            unindex(byStatus, old.getStatus(), old.getId());
+            unindex(bySpecies, key(old.getSpecies()), old.getId());
+            unindex(byBreed, key(old.getBreed()), old.getId());
+        }
+        if (op == OP_REMOVE) {
+            pets.remove(pet.getId());
+            return;
+        }
+        pets.put(pet.getId(), pet);
+        byStatus.computeIfAbsent(pet.getStatus(), k -> new LinkedHashSet<>()).add(pet.getId());
+        bySpecies.computeIfAbsent(key(pet.getSpecies()), k -> new LinkedHashSet<>()).add(pet.getId());
+        byBreed.computeIfAbsent(key(pet.getBreed()), k -> new LinkedHashSet<>()).add(pet.getId());
+        nextId = Math.max(nextId, pet.getId() + 1);
+    }
+
+    private static void unindex(Map<String, Set<Long>> index, String key, long id) {
+        Set<Long> ids = index.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) index.remove(key);
+        }
+    }
+
+    private void write(byte op, Pet pet) {
+        if (log == null) return;
+        try {
+            log.append(encode(op, pet));
+            log.force();
+        } catch (IOException e) {
+            System.err.println("Pet registry write failed: " + e.getMessage());
+        }
+    }
+
+    // Rewrites the log as one PUT per pet
+    private void compact() throws IOException {
+        log.compact(pets.values(), pet -> encode(OP_PUT, pet));
+    }
+
+    private void replay(byte[] payload) throws IOException {
+        DataInputStream data = new DataInputStream(new ByteArrayInputStream(payload));
+        byte op = data.readByte();
+        apply(op, new Pet(data.readLong(), data.readUTF(), data.readUTF(), data.readUTF(), data.readUTF(),
+            data.readUTF(), data.readInt(), data.readUTF(), data.readUTF(), data.readUTF(), data.readUTF(),
+            data.readUTF()));
+    }
+
+    private static byte[] encode(byte op, Pet pet) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream payload = new DataOutputStream(bytes);
+        payload.writeByte(op);
+        payload.writeLong(pet.getId());
+        payload.writeUTF(pet.getName());
+        payload.writeUTF(pet.getStatus());
+        payload.writeUTF(pet.getSpecies());
+        payload.writeUTF(pet.getBreed());
+        payload.writeUTF(pet.getGender());
+        payload.writeInt(pet.getAgeMonths());
+        payload.writeUTF(pet.getHealth());
+        payload.writeUTF(pet.getTraits());
+        payload.writeUTF(pet.getContact());
+        payload.writeUTF(pet.getReason());
+        payload.writeUTF(pet.getImagePath());
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Maps any spelling of a known status ("adopted", "IN FOSTER") to its constant,
+     * so indexes and callers can compare statuses with ==.
+     */
+    public static String canonicalStatus(String status) {
+        if (status == null) return "";
+        String trimmed = status.trim();
+        if (trimmed.equalsIgnoreCase(STATUS_AVAILABLE)) return STATUS_AVAILABLE;
+        if (trimmed.equalsIgnoreCase(STATUS_ADOPTED)) return STATUS_ADOPTED;
+        if (trimmed.equalsIgnoreCase(STATUS_IN_FOSTER)) return STATUS_IN_FOSTER;
+        return trimmed.intern();
+    }
+
+    private static String key(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String nonNull(String value) {
+        return value == null ? "" : value;
+    }
+
+    // The shelter's starting pets (previously hardcoded in PawManagement and DashboardAdmin)
+    private void seed() {
+        add(new Pet(0, "Paul", STATUS_AVAILABLE, "", "", "", 0, "", "", "", "", "SYSTEM/image/1.png"));
+        add(new Pet(0, "Lucy", STATUS_ADOPTED, "", "", "", 0, "", "", "", "", "SYSTEM/image/2.png"));
+        add(new Pet(0, "Max", STATUS_AVAILABLE, "Dog", "Beagle", "Male", 4, "Healthy", "Playful",
+            "0912-345-6789", "Family pet", "SYSTEM/image/3.png"));
+        add(new Pet(0, "Bella", STATUS_IN_FOSTER, "Dog", "Poodle", "Female", 36, "Sick", "Smart",
+            "0922-111-2222", "Gift", "SYSTEM/image/4.png"));
+        add(new Pet(0, "Daisy", STATUS_AVAILABLE, "", "", "", 0, "", "", "", "", "SYSTEM/image/5.png"));
+        add(new Pet(0, "Charlie", STATUS_IN_FOSTER, "", "", "", 0, "", "", "", "", "SYSTEM/image/6.png"));
+        add(new Pet(0, "Sadie", STATUS_AVAILABLE, "", "", "", 0, "", "", "", "", "SYSTEM/image/7.png"));
+        add(new Pet(0, "Rocky", STATUS_ADOPTED, "Dog", "Bulldog", "Male", 60, "Healthy", "Lazy",
+            "0915-888-9999", "Guard dog", "SYSTEM/image/8.png"));
+        add(new Pet(0, "Molly", STATUS_AVAILABLE, "", "", "", 0, "", "", "", "", "SYSTEM/image/9.png"));
+        add(new Pet(0, "Zoe", STATUS_AVAILABLE, "", "", "", 0, "", "", "", "", "SYSTEM/image/10.png"));
+        add(new Pet(0, "Luna", STATUS_ADOPTED, "Cat", "Siamese Cat", "Female", 12, "Spayed", "Calm",
+            "0998-765-4321", "Loves cats", "SYSTEM/image/11.png"));
+        add(new Pet(0, "Buddy", STATUS_AVAILABLE, "Dog", "Golden Retriever", "Male", 24, "Vaccinated", "Friendly",
+            "0917-123-4567", "Companion", "SYSTEM/image/12.png"));
+    }
+}
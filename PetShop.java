@@ -7,6 +7,16 @@ import java.awt.*;
 import java.awt.event.*;
 import java.awt.geom.RoundRectangle2D;
 import java.util.function.Consumer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 public class PetShop extends JFrame {
     // ...existing fields...
@@ -21,16 +31,23 @@ public class PetShop extends JFrame {
     public PetShop(boolean embedded) {
         this.embedded = embedded;
         this.theme = new UITheme();
-        this.inventoryManager = new InventoryManager();
-        this.cartManager = new CartManager();
+        // The embedded shop and any standalone window share one catalog and cart
+        this.inventoryManager = InventoryManager.getDefault();
+        this.cartManager = CartManager.getDefault();
+        this.recommendationManager = RecommendationManager.getDefault();
         initializeApplication();
     }
     
     // Core Data Models
     private final InventoryManager inventoryManager;
     private final CartManager cartManager;
+    private final RecommendationManager recommendationManager;
     private final UITheme theme;
     
+    // Listeners on the shared models, attached while this shop's panel is showing
+    private Runnable cartBadgeListener;
+    private Consumer<List<Item>> inventoryListener;
+    
     // UI Components
     private NavigationBar navigationBar;
     private SidebarPanel sidebarPanel;
@@ -215,6 +232,9 @@ public class PetShop extends JFrame {
          public boolean hasFreeShipping() { return freeShipping; }
          public String getImagePath() { return imagePath; }
          
+         // Stable across restarts (unlike id), used to persist references to this item
+         public String getCatalogKey() { return category + "/" + name; }
+         
          public void decreaseStock(int amount) { 
              this.stock = Math.max(0, this.stock - amount); 
          }
@@ -237,19 +257,36 @@ public class PetShop extends JFrame {
     
     // Business Logic Managers
     public static class InventoryManager {
+        private static InventoryManager defaultInventory;
+        
         private final List<Item> items;
+        private final Map<String, Item> itemsById;
+        private final Map<String, Item> itemsByCatalogKey;
         private final List<Consumer<List<Item>>> listeners;
         
         public InventoryManager() {
             this.items = new ArrayList<>();
+            this.itemsById = new HashMap<>();
+            this.itemsByCatalogKey = new HashMap<>();
             this.listeners = new ArrayList<>();
             generateSampleInventory();
         }
         
+        public static synchronized InventoryManager getDefault() {
+            if (defaultInventory == null) {
+                defaultInventory = new InventoryManager();
+            }
+            return defaultInventory;
+        }
+        
         public void addListener(Consumer<List<Item>> listener) {
             listeners.add(listener);
         }
         
+        public void removeListener(Consumer<List<Item>> listener) {
+            listeners.remove(listener);
+        }
+        
         public List<Item> getAllItems() {
             return new ArrayList<>(items);
         }
@@ -266,7 +303,11 @@ public class PetShop extends JFrame {
         }
         
         public Optional<Item> findItemById(String id) {
-            return items.stream().filter(item -> item.getId().equals(id)).findFirst();
+            return Optional.ofNullable(itemsById.get(id));
+        }
+        
+        public Optional<Item> findItemByCatalogKey(String catalogKey) {
+            return Optional.ofNullable(itemsByCatalogKey.get(catalogKey));
         }
         
         private void generateSampleInventory() {
@@ -320,7 +361,10 @@ public class PetShop extends JFrame {
                 int stock = random.nextInt(25) + 5;
                 String description = "Premium quality " + category.toLowerCase() + " for your beloved pet";
                 
-                items.add(new Item(name, category, price, description, stock));
+                Item item = new Item(name, category, price, description, stock);
+                items.add(item);
+                itemsById.put(item.getId(), item);
+                itemsByCatalogKey.put(item.getCatalogKey(), item);
             }
         }
         
@@ -330,19 +374,51 @@ public class PetShop extends JFrame {
     }
     
     public static class CartManager {
+        private static CartManager defaultCart;
+        
         private final List<CartItem> cartItems;
         private final List<Runnable> updateListeners;
+        private final CartJournal journal; // null when the cart is not persisted
         
         public CartManager() {
+            this(null);
+        }
+        
+        public CartManager(CartJournal journal) {
             this.cartItems = new ArrayList<>();
             this.updateListeners = new ArrayList<>();
+            this.journal = journal;
+        }
+        
+        // The process-wide cart, backed by the default journal and restored once
+        public static synchronized CartManager getDefault() {
+            if (defaultCart == null) {
+                defaultCart = new CartManager(CartJournal.getDefault());
+                defaultCart.restore(InventoryManager.getDefault());
+            }
+            return defaultCart;
+        }
+        
+        // Rebuilds the cart from the journal; entries no longer in the catalog are dropped
+        public void restore(InventoryManager inventory) {
+            if (journal == null) return;
+            cartItems.clear();
+            journal.getRestoredCart().forEach((catalogKey, quantity) ->
+                inventory.findItemByCatalogKey(catalogKey)
+                    .ifPresent(item -> cartItems.add(new CartItem(item, quantity))));
+            notifyListeners();
         }
         
         public void addUpdateListener(Runnable listener) {
             updateListeners.add(listener);
         }
         
+        public void removeUpdateListener(Runnable listener) {
+            updateListeners.remove(listener);
+        }
+        
         public void addItem(Item item, int quantity) {
+            if (journal != null) journal.logAdd(item.getCatalogKey(), quantity);
             Optional<CartItem> existing = findCartItem(item.getId());
             if (existing.isPresent()) {
                 CartItem cartItem = existing.get();
@@ -354,6 +430,9 @@ public class PetShop extends JFrame {
         }
         
         public void removeItem(String itemId) {
+            if (journal != null) {
+                findCartItem(itemId).ifPresent(cartItem -> journal.logRemove(cartItem.getItem().getCatalogKey()));
+            }
             cartItems.removeIf(cartItem -> cartItem.getItem().getId().equals(itemId));
             notifyListeners();
         }
@@ -363,6 +442,7 @@ public class PetShop extends JFrame {
                 if (newQuantity <= 0) {
                     removeItem(itemId);
                 } else {
+                    if (journal != null) journal.logUpdate(cartItem.getItem().getCatalogKey(), newQuantity);
                     cartItem.setQuantity(newQuantity);
                     notifyListeners();
                 }
@@ -370,6 +450,7 @@ public class PetShop extends JFrame {
         }
         
         public void clear() {
+            if (journal != null) journal.logClear();
             cartItems.clear();
             notifyListeners();
         }
@@ -401,6 +482,229 @@ public class PetShop extends JFrame {
         }
     }
     
+    // "Customers also bought" engine. Each product keeps a small, fixed-size row of
+    // co-purchase counters (space-saving top-K), so memory stays bounded no matter
+    // how many orders go through and lookups only read the head of one row.
+    // Rows are keyed by catalog key, which is stable across restarts (item ids are
+    // not), and every basket is appended to a FramedLog so the counters persist.
+    public static class RecommendationManager {
+        private static final int MAX_TRACKED_ITEMS = 2048;
+        private static final int COUNTERS_PER_ITEM = 16;
+        private static final int MAX_BASKET_ITEMS = 32;
+        
+        private static final String DEFAULT_PATH = "data/recommendations.db";
+        private static final int MAX_RECORD_BYTES = 64 * 1024;
+        private static final int COMPACT_MIN_RECORDS = 1024;
+        
+        // Record types: one basket as bought, or one whole row written by compaction
+        private static final byte OP_BASKET = 1;
+        private static final byte OP_ROW = 2;
+        
+        private static RecommendationManager defaultManager;
+        
+        private final Map<String, CoPurchaseRow> rows;
+        private final ExecutorService writer;
+        private FramedLog log; // null when the counters are not persisted
+        
+        // Shared engine used by every PetShop instance in this process
+        public static synchronized RecommendationManager getDefault() {
+            if (defaultManager == null) {
+                defaultManager = new RecommendationManager(Paths.get(DEFAULT_PATH));
+            }
+            return defaultManager;
+        }
+        
+        public RecommendationManager() {
+            this(null);
+        }
+        
+        public RecommendationManager(Path path) {
+            // Access-ordered so the least recently bought product is dropped first
+            this.rows = new LinkedHashMap<String, CoPurchaseRow>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CoPurchaseRow> eldest) {
+                    return size() > MAX_TRACKED_ITEMS;
+                }
+            };
+            if (path == null) {
+                this.writer = null;
+                return;
+            }
+            try {
+                log = new FramedLog(path, MAX_RECORD_BYTES, this::replay);
+                // Only compacted on open: queued baskets are already counted in memory
+                if (log.recordCount() >= COMPACT_MIN_RECORDS && log.recordCount() > rows.size() * 2) {
+                    compact();
+                }
+            } catch (IOException e) {
+                System.err.println("Recommendation log unavailable, counters will not be persisted: " + e.getMessage());
+                log = null;
+            }
+            // Appends and fsyncs happen here so checkout never waits on the disk
+            this.writer = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "recommendation-writer");
+                t.setDaemon(true);
+                return t;
+            });
+            Runtime.getRuntime().addShutdownHook(new Thread(this::close, "recommendation-shutdown"));
+        }
+        
+        // Called once per completed checkout with the items that were bought together
+        public synchronized void recordPurchase(List<CartItem> basket) {
+            List<String> keys = basket.stream()
+                .map(cartItem -> cartItem.getItem().getCatalogKey())
+                .distinct()
+                .limit(MAX_BASKET_ITEMS)
+                .collect(Collectors.toList());
+            if (keys.size() < 2) return;
+            
+            apply(keys);
+            if (writer != null) {
+                writer.execute(() -> append(keys));
+            }
+        }
+        
+        // Returns up to limit catalog keys most often bought with the given one, best first
+        public synchronized List<String> getAlsoBought(String catalogKey, int limit) {
+            CoPurchaseRow row = rows.get(catalogKey);
+            if (row == null) return Collections.emptyList();
+            return row.top(limit);
+        }
+        
+        public void close() {
+            if (writer == null) return;
+            writer.shutdown();
+            try {
+                writer.awaitTermination(2, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (this) {
+                if (log != null) {
+                    log.close();
+                    log = null;
+                }
+            }
+        }
+        
+        private void apply(List<String> keys) {
+            for (String key : keys) {
+                CoPurchaseRow row = rows.computeIfAbsent(key, k -> new CoPurchaseRow());
+                for (String otherKey : keys) {
+                    if (!otherKey.equals(key)) {
+                        row.increment(otherKey, 1);
+                    }
+                }
+            }
+        }
+        
+        private synchronized void append(List<String> keys) {
+            if (log == null) return;
+            try {
+                log.append(encodeBasket(keys));
+                log.force();
+            } catch (IOException e) {
+                System.err.println("Recommendation log write failed: " + e.getMessage());
+            }
+        }
+        
+        // Rewrites the log as one ROW per tracked product, least recently bought first
+        private void compact() throws IOException {
+            log.compact(new ArrayList<>(rows.entrySet()), entry -> encodeRow(entry.getKey(), entry.getValue()));
+        }
+        
+        private void replay(byte[] record) throws IOException {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+            byte op = in.readByte();
+            int size = in.readInt();
+            if (op == OP_BASKET) {
+                List<String> keys = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    keys.add(in.readUTF());
+                }
+                apply(keys);
+            } else if (op == OP_ROW) {
+                String key = in.readUTF();
+                CoPurchaseRow row = new CoPurchaseRow();
+                for (int i = 0; i < size; i++) {
+                    row.increment(in.readUTF(), in.readLong());
+                }
+                rows.put(key, row);
+            }
+        }
+        
+        private static byte[] encodeBasket(List<String> keys) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(OP_BASKET);
+            out.writeInt(keys.size());
+            for (String key : keys) {
+                out.writeUTF(key);
+            }
+            return bytes.toByteArray();
+        }
+        
+        private static byte[] encodeRow(String key, CoPurchaseRow row) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(OP_ROW);
+            out.writeInt(row.size);
+            out.writeUTF(key);
+            for (int i = 0; i < row.size; i++) {
+                out.writeUTF(row.keys[i]);
+                out.writeLong(row.counts[i]);
+            }
+            return bytes.toByteArray();
+        }
+    }
+    
+    // Fixed-capacity counter row kept sorted by count (descending)
+    private static class CoPurchaseRow {
+        private final String[] keys = new String[RecommendationManager.COUNTERS_PER_ITEM];
+        private final long[] counts = new long[RecommendationManager.COUNTERS_PER_ITEM];
+        private int size;
+        
+        void increment(String key, long delta) {
+            int index = -1;
+            for (int i = 0; i < size; i++) {
+                if (keys[i].equals(key)) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                if (size < keys.length) {
+                    index = size++;
+                } else {
+                    // Row is full: take over the weakest counter, inheriting its count
+                    index = size - 1;
+                }
+                keys[index] = key;
+            }
+            counts[index] += delta;
+            
+            // Bubble the counter up to keep the row sorted
+            while (index > 0 && counts[index] > counts[index - 1]) {
+                String k = keys[index];
+                long count = counts[index];
+                keys[index] = keys[index - 1];
+                counts[index] = counts[index - 1];
+                keys[index - 1] = k;
+                counts[index - 1] = count;
+                index--;
+            }
+        }
+        
+        List<String> top(int limit) {
+            int n = Math.min(limit, size);
+            List<String> result = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                result.add(keys[i]);
+            }
+            return result;
+        }
+    }
+    
     // UI Components
     public class NavigationBar extends JPanel {
         private final JLabel cartBadge;
@@ -1421,27 +1725,101 @@ public class PetShop extends JFrame {
         }
         
         double total = cartManager.getTotalPrice();
-        int confirm = JOptionPane.showConfirmDialog(this,
-            String.format("Checkout total: ₱%,.2f\nProceed with purchase?", total),
-            "Confirm Purchase", JOptionPane.YES_NO_OPTION);
-        
-        if (confirm == JOptionPane.YES_OPTION) {
-            // Process the checkout
-            for (CartItem cartItem : cartManager.getItems()) {
-                cartItem.getItem().decreaseStock(cartItem.getQuantity());
+        JComboBox<String> paymentMethod = new JComboBox<>(new String[]{"Cash", "GCash", "Maya"});
+        // Wallet payments are reconciled against the wallet statement by their reference number
+        JTextField referenceField = new JTextField(16);
+        referenceField.setEnabled(false);
+        paymentMethod.addActionListener(e -> referenceField.setEnabled(!"Cash".equals(paymentMethod.getSelectedItem())));
+        Object[] message = {String.format("Checkout total: ₱%,.2f\nPayment method:", total), paymentMethod,
+            "GCash/Maya reference number:", referenceField, "Proceed with purchase?"};
+        String method;
+        String reference;
+        while (true) {
+            int confirm = JOptionPane.showConfirmDialog(this, message, "Confirm Purchase", JOptionPane.YES_NO_OPTION);
+            if (confirm != JOptionPane.YES_OPTION) return;
+            method = (String) paymentMethod.getSelectedItem();
+            reference = "Cash".equals(method) ? "" : referenceField.getText().trim();
+            if (!"Cash".equals(method) && reference.isEmpty()) {
+                JOptionPane.showMessageDialog(this, "Please enter the " + method + " reference number.",
+                    "Input Error", JOptionPane.ERROR_MESSAGE);
+                continue;
             }
-            
-            cartManager.clear();
-            
-            // Refresh the product display
-            if (filterManager != null) {
-                filterManager.applyFilters();
+            break;
+        }
+
+        List<CartItem> purchased = cartManager.getItems();
+        if (reference.isEmpty()) {
+            recordOrder(purchased, total, method, "");
+            completeCheckout(purchased);
+            return;
+        }
+        // The reference index may have to be built from the ledger first, so check it off the EDT
+        String paymentMethodName = method;
+        String referenceNumber = reference;
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<Boolean, Void>() {
+            @Override
+            protected Boolean doInBackground() throws Exception {
+                if (!ReferenceIndex.getDefault().add(referenceNumber)) return false;
+                recordOrder(purchased, total, paymentMethodName, referenceNumber);
+                return true;
             }
-            
-            JOptionPane.showMessageDialog(this, 
-                "Purchase successful! Thank you for shopping with us!", 
-                "Purchase Complete", 
-                JOptionPane.INFORMATION_MESSAGE);
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    if (get()) {
+                        completeCheckout(purchased);
+                    } else {
+                        JOptionPane.showMessageDialog(PetShop.this,
+                            "This reference number has already been submitted.",
+                            "Duplicate Reference", JOptionPane.ERROR_MESSAGE);
+                    }
+                } catch (Exception e) {
+                    System.err.println("Could not check reference number: " + e.getMessage());
+                    JOptionPane.showMessageDialog(PetShop.this,
+                        "Could not check the reference number. Please try again.",
+                        "Checkout Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    // Stock, recommendations and the cart, once the order is in the ledger
+    private void completeCheckout(List<CartItem> purchased) {
+        for (CartItem cartItem : purchased) {
+            cartItem.getItem().decreaseStock(cartItem.getQuantity());
+        }
+        recommendationManager.recordPurchase(purchased);
+        
+        cartManager.clear();
+        
+        // Refresh the product display
+        if (filterManager != null) {
+            filterManager.applyFilters();
+        }
+        
+        JOptionPane.showMessageDialog(this, 
+            "Purchase successful! Thank you for shopping with us!", 
+            "Purchase Complete", 
+            JOptionPane.INFORMATION_MESSAGE);
+    }
+    
+    // Appends a completed checkout to the shared order ledger (shown in TransactionHistory).
+    // Wallet orders carry their reference and stay Pending until the statement confirms them.
+    private void recordOrder(List<CartItem> purchased, double total, String paymentMethod, String reference) {
+        int itemCount = purchased.stream().mapToInt(CartItem::getQuantity).sum();
+        try {
+            OrderLedger.getDefault().append(new OrderLedger.Entry(
+                System.currentTimeMillis(),
+                "PawShop Order - " + itemCount + (itemCount == 1 ? " item" : " items"),
+                -total,
+                paymentMethod,
+                reference.isEmpty() ? "Completed" : "Pending",
+                reference));
+        } catch (Exception e) {
+            System.err.println("Could not record order in ledger: " + e.getMessage());
         }
     }
     
@@ -1499,13 +1877,11 @@ public class PetShop extends JFrame {
     }
     
     private void setupEventListeners() {
-        // Cart update listener
-        cartManager.addUpdateListener(() -> 
-        navigationBar.updateCartBadge(cartManager.getTotalItems()));
-        
-        // Inventory update listener
-        inventoryManager.addListener(items -> 
-        productGridPanel.updateProducts(items));
+        // Cart and inventory listeners; attached by the main panel while it is showing
+        cartBadgeListener = () -> 
+        navigationBar.updateCartBadge(cartManager.getTotalItems());
+        inventoryListener = items -> 
+        productGridPanel.updateProducts(items);
         
         // Window resize listener for dynamic layout adjustments
         addComponentListener(new ComponentAdapter() {
@@ -1556,6 +1932,22 @@ public class PetShop extends JFrame {
                 g2d.setPaint(gradient);
                 g2d.fillRect(0, 0, getWidth(), getHeight());
             }
+            
+            @Override
+            public void addNotify() {
+                super.addNotify();
+                cartManager.addUpdateListener(cartBadgeListener);
+                inventoryManager.addListener(inventoryListener);
+                // Reflect changes made through another shop while this one was hidden
+                cartBadgeListener.run();
+            }
+            
+            @Override
+            public void removeNotify() {
+                cartManager.removeUpdateListener(cartBadgeListener);
+                inventoryManager.removeListener(inventoryListener);
+                super.removeNotify();
+            }
         };
         
         mainPanel.add(navigationBar, BorderLayout.NORTH);
@@ -1816,6 +2208,9 @@ public class PetShop extends JFrame {
         // Action buttons
         JPanel buttonPanel = createModalActionButtons(item, modal);
         
+        // Customers also bought
+        JPanel alsoBoughtPanel = createAlsoBoughtPanel(item, modal);
+        
         // Assembly with spacing
         detailsPanel.add(brandLabel);
         detailsPanel.add(Box.createVerticalStrut(10));
@@ -1834,6 +2229,10 @@ public class PetShop extends JFrame {
         detailsPanel.add(quantityPanel);
         detailsPanel.add(Box.createVerticalStrut(30));
         detailsPanel.add(buttonPanel);
+        if (alsoBoughtPanel != null) {
+            detailsPanel.add(Box.createVerticalStrut(30));
+            detailsPanel.add(alsoBoughtPanel);
+        }
         
         return detailsPanel;
     }
@@ -1940,6 +2339,45 @@ public class PetShop extends JFrame {
         return quantityPanel;
     }
     
+    private JPanel createAlsoBoughtPanel(Item item, JDialog modal) {
+        List<Item> related = new ArrayList<>();
+        for (String relatedKey : recommendationManager.getAlsoBought(item.getCatalogKey(), 4)) {
+            inventoryManager.findItemByCatalogKey(relatedKey).ifPresent(related::add);
+        }
+        if (related.isEmpty()) return null;
+        
+        JPanel alsoBoughtPanel = new JPanel();
+        alsoBoughtPanel.setLayout(new BoxLayout(alsoBoughtPanel, BoxLayout.Y_AXIS));
+        alsoBoughtPanel.setOpaque(false);
+        alsoBoughtPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
+        
+        JLabel headerLabel = new JLabel("Customers also bought:");
+        headerLabel.setFont(UITheme.getFont(UITheme.FontWeight.BOLD, 20));
+        headerLabel.setForeground(UITheme.PRIMARY);
+        headerLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
+        alsoBoughtPanel.add(headerLabel);
+        alsoBoughtPanel.add(Box.createVerticalStrut(10));
+        
+        for (Item relatedItem : related) {
+            JLabel relatedLabel = new JLabel(String.format("%s  -  ₱%,.2f", relatedItem.getName(), relatedItem.getPrice()));
+            relatedLabel.setFont(UITheme.getFont(UITheme.FontWeight.MEDIUM, 16));
+            relatedLabel.setForeground(UITheme.ACCENT);
+            relatedLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
+            relatedLabel.setCursor(new Cursor(Cursor.HAND_CURSOR));
+            relatedLabel.addMouseListener(new MouseAdapter() {
+                @Override
+                public void mouseClicked(MouseEvent e) {
+                    modal.dispose();
+                    showProductDetailModal(relatedItem);
+                }
+            });
+            alsoBoughtPanel.add(relatedLabel);
+            alsoBoughtPanel.add(Box.createVerticalStrut(6));
+        }
+        
+        return alsoBoughtPanel;
+    }
+    
     private JPanel createModalActionButtons(Item item, JDialog modal) {
         // add horizontal gap so buttons don't sit on top of each other
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 20, 0));
@@ -29,8 +29,7 @@ public class PetTrivia extends JFrame {
     private static final Color COLOR_ACCENT_HOVER = new Color(0xE85A2B); // Darker orange
 
     // --- Core App State ---
-    private List<Fact> facts;
-    private int currentFactIndex;
+    private FactDeck deck;
     private Timer autoAdvanceTimer; // Add timer for automatic advancement
 
     // --- UI Components ---
@@ -130,177 +129,33 @@ public class PetTrivia extends JFrame {
 
         // --- Initialize Timer for Auto-Advance ---
         autoAdvanceTimer = new Timer(5000, new AutoAdvanceListener()); // 5 seconds
+        ResourceGovernor.getDefault().bindToVisibility(autoAdvanceTimer, contentCard);
 
         // --- Initialize and Start the App ---
-        initializeFacts();
+        deck = new FactDeck();
+        ResourceGovernor.getDefault().registerCache("Pet trivia", contentCard, deck.images);
         startApp();
     }
 
     /**
-     * Populates the list of 10 trivia facts.
-     *
-     * !!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!
-     * IMPORTANT: Create a folder named "images" where your compiled .class
-     * file is. Place your 10 images in that folder and make sure their
-     * names match the paths below (e.g., "dog_nose.png", "cat_candy.png", etc.).
-     * !!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!
-     */
-    private void initializeFacts() {
-        facts = new ArrayList<>();
-        facts.add(new Fact(
-            "A dog's sense of smell is 10,000 to 100,000 times more powerful than a human's.",
-            "SYSTEM/image/dognose.jpg" // UPDATED
-        ));
-        facts.add(new Fact(
-            "Cats do not have taste receptors for sweet flavors.",
-            "SYSTEM/image/catcandy.jpg" // UPDATED
-        ));
-        facts.add(new Fact(
-            "A goldfish's memory span is at least three months, not just a few seconds.",
-            "SYSTEM/image/goldfish.jpg" // UPDATED
-        ));
-        facts.add(new Fact(
-            "The name 'hamster' comes from the German word 'hamstern,' which means 'to hoard'.",
-            "SYSTEM/image/hamster.jpg" // UPDATED
-        ));
-        facts.add(new Fact(
-            "Parrots (like African Greys) can mimic household sounds, like microwaves and phones.",
-            "SYSTEM/image/parrot.jpg" // UPDATED
-        ));
-        facts.add(new Fact(
-            "The Basenji dog breed is famous for not barking. Instead, it makes a yodel-like sound.",
-            "SYSTEM/image/dog.jpg" // UPDATED
-        ));
-        facts.add(new Fact(
-            "A cat's nose print is unique, much like a human's fingerprint.",
-            "SYSTEM/image/catnose.jpg" // UPDATED
-        ));
-        facts.add(new Fact(
-            "A rabbit's vision is nearly 360 degrees, allowing them to see predators from almost any angle.",
-            "SYSTEM/image/rabbit.jpg" // UPDATED
-        ));
-        facts.add(new Fact(
-            "Guinea pigs are not from Guinea; they are native to the Andes mountains in South America.",
-            "SYSTEM/image/guinea pig.jpg" // UPDATED
-        ));
-        facts.add(new Fact(
-            "A cat's purr vibrates at a frequency that can promote bone density and healing.",
-            "SYSTEM/image/cat-purring.jpeg" // UPDATED
-        ));
-    }
-
-    /**
-     * Resets variables and loads the first fact.
+     * Shows the first fact and starts the auto-advance timer.
      */
     private void startApp() {
-        currentFactIndex = 0;
-        Collections.shuffle(facts); // Randomize the fact order
-        loadFact(currentFactIndex);
-        
+        showNextFact(deck, imagePlaceholderLabel, descriptionLabel, nextButton);
+
         // Start the auto-advance timer
         if (autoAdvanceTimer != null) {
             autoAdvanceTimer.start();
         }
     }
 
-    /**
-     * Loads the fact, description, and image placeholder for the given index.
-     */
-    private void loadFact(int index) {
-        // Add safety checks
-        if (facts == null || facts.isEmpty() || index < 0 || index >= facts.size()) {
-            descriptionLabel.setText("No facts available.");
-            imagePlaceholderLabel.setIcon(null);
-            imagePlaceholderLabel.setText("No image available");
-            return;
-        }
-        
-        Fact f = facts.get(index);
-        if (f == null) {
-            descriptionLabel.setText("Fact not available.");
-            imagePlaceholderLabel.setIcon(null);
-            imagePlaceholderLabel.setText("No image available");
-            return;
-        }
-
-        // Use HTML for automatic word wrapping and set the text color
-        descriptionLabel.setText("<html><body style='width: 600px; text-align: center; color: #333333;'>"
-            + f.description + "</body></html>");
-
-        // --- THIS IS WHERE THE IMAGE IS LOADED ---
-        // Use robust loader that tries classpath and several file locations
-        ImageIcon imageIcon = loadImageIcon(f.imagePath);
-
-        // 2. Check if the image was found
-        if (imageIcon == null || imageIcon.getIconWidth() == -1) {
-            // Error: Image not found
-            imagePlaceholderLabel.setIcon(null); // Remove old icon
-            imagePlaceholderLabel.setText("Image not found: " + f.imagePath);
-        } else {
-            // Success: Scale the image and set it
-            // We scale it to fit inside the label's parent card (minus padding)
-            // Add null check for contentCard
-            int labelWidth = (contentCard != null) ? contentCard.getPreferredSize().width - 40 : 760; // Default fallback
-            int labelHeight = (contentCard != null) ? (int)(contentCard.getPreferredSize().height * 0.7) : 420; // Default fallback
-
-            Icon scaledIcon = scaleImageIcon(imageIcon, labelWidth, labelHeight);
-            imagePlaceholderLabel.setText(null); // Remove text
-            imagePlaceholderLabel.setIcon(scaledIcon); // Set the new scaled image
-        }
-        
-        // Update button text
-        if (currentFactIndex == facts.size() - 1) {
-            nextButton.setText("Restart");
-        } else {
-            nextButton.setText("Next Fact");
-        }
-    }
-
-    /**
-     * NEW HELPER METHOD
-     * Scales an ImageIcon to fit within a target width and height,
-     * maintaining its original aspect ratio.
-     *
-     * @param icon The source ImageIcon.
-     * @param targetWidth The maximum width of the new icon.
-     * @param targetHeight The maximum height of the new icon.
-     * @return A new, scaled Icon.
-     */
-    private Icon scaleImageIcon(ImageIcon icon, int targetWidth, int targetHeight) {
-        int originalWidth = icon.getIconWidth();
-        int originalHeight = icon.getIconHeight();
-
-        // If the image is already smaller than the target, no need to scale up
-        if (originalWidth <= targetWidth && originalHeight <= targetHeight) {
-            return icon;
-        }
-
-        // Calculate the new dimensions while maintaining aspect ratio
-        double widthRatio = (double) targetWidth / (double) originalWidth;
-        double heightRatio = (double) targetHeight / (double) originalHeight;
-        double ratio = Math.min(widthRatio, heightRatio); // Use the smaller ratio to fit inside
-
-        int newWidth = (int) (originalWidth * ratio);
-        int newHeight = (int) (originalHeight * ratio);
-
-        // Get the Image object from the ImageIcon
-        Image image = icon.getImage();
-
-        // Create a new scaled Image
-        Image scaledImage = image.getScaledInstance(newWidth, newHeight, Image.SCALE_SMOOTH);
-
-        // Return the scaled image as a new ImageIcon
-        return new ImageIcon(scaledImage);
-    }
-
-
     /**
      * Main action listener for the "Next" / "Restart" button.
      */
     private class NextButtonListener implements ActionListener {
         @Override
         public void actionPerformed(ActionEvent e) {
-            if (facts == null || facts.isEmpty()) {
+            if (deck == null || deck.size() == 0) {
                 return; // Do nothing if no facts are available
             }
             
@@ -319,7 +174,7 @@ public class PetTrivia extends JFrame {
     private class AutoAdvanceListener implements ActionListener {
         @Override
         public void actionPerformed(ActionEvent e) {
-            if (facts == null || facts.isEmpty()) {
+            if (deck == null || deck.size() == 0) {
                 return; // Do nothing if no facts are available
             }
             
@@ -331,14 +186,8 @@ public class PetTrivia extends JFrame {
      * Helper method to advance to the next fact.
      */
     private void advanceToNextFact() {
-        currentFactIndex++;
-        if (currentFactIndex >= facts.size()) {
-            // If we've shown all facts, restart
-            startApp();
-        } else {
-            // Otherwise, load the next fact
-            loadFact(currentFactIndex);
-        }
+        // The deck reshuffles itself after the last fact
+        showNextFact(deck, imagePlaceholderLabel, descriptionLabel, nextButton);
     }
 
     /**
@@ -350,12 +199,6 @@ public class PetTrivia extends JFrame {
         JPanel wrapperPanel = new GradientPanel();
         wrapperPanel.setLayout(new BorderLayout(10, 10));
 
-        // Create an instance of PetTrivia to access its methods and components
-        PetTrivia triviaInstance = new PetTrivia();
-        
-        // Extract the content from the PetTrivia frame
-        Container contentPane = triviaInstance.getContentPane();
-        
         // Create new components similar to the original but for panel use
         JLabel titleLabel = new JLabel("Pet Facts", SwingConstants.CENTER);
         titleLabel.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 36));
@@ -404,20 +247,15 @@ public class PetTrivia extends JFrame {
         wrapperPanel.add(bottomPanel, BorderLayout.SOUTH);
 
         // Initialize trivia data and functionality
-        List<Fact> facts = new ArrayList<>();
-        initializePanelFacts(facts);
-        
-        final int[] currentFactIndex = {0};
+        FactDeck deck = new FactDeck();
         Timer autoAdvanceTimer = new Timer(5000, null);
+        ResourceGovernor.getDefault().bindToVisibility(autoAdvanceTimer, wrapperPanel);
+        ResourceGovernor.getDefault().registerCache("Pet trivia", wrapperPanel, deck.images);
         
         // Set up the auto-advance and manual advance functionality
         ActionListener advanceAction = e -> {
-            currentFactIndex[0]++;
-            if (currentFactIndex[0] >= facts.size()) {
-                currentFactIndex[0] = 0;
-                Collections.shuffle(facts);
-            }
-            loadPanelFact(facts.get(currentFactIndex[0]), imagePlaceholderLabel, descriptionLabel, contentCard, nextButton, currentFactIndex[0], facts.size());
+            if (deck.size() == 0) return;
+            showNextFact(deck, imagePlaceholderLabel, descriptionLabel, nextButton);
             if (autoAdvanceTimer.isRunning()) {
                 autoAdvanceTimer.restart();
             }
@@ -427,192 +265,180 @@ public class PetTrivia extends JFrame {
         nextButton.addActionListener(advanceAction);
         
         // Load first fact
-        Collections.shuffle(facts);
-        loadPanelFact(facts.get(0), imagePlaceholderLabel, descriptionLabel, contentCard, nextButton, 0, facts.size());
+        showNextFact(deck, imagePlaceholderLabel, descriptionLabel, nextButton);
         autoAdvanceTimer.start();
 
         return wrapperPanel;
     }
 
-    private static void initializePanelFacts(List<Fact> facts) {
-        facts.add(new Fact(
-            "A dog's sense of smell is 10,000 to 100,000 times more powerful than a human's.",
-            "SYSTEM/image/dognose.jpg"
-        ));
-        facts.add(new Fact(
-            "Cats do not have taste receptors for sweet flavors.",
-            "SYSTEM/image/catcandy.jpg"
-        ));
-        facts.add(new Fact(
-            "A goldfish's memory span is at least three months, not just a few seconds.",
-            "SYSTEM/image/goldfish.jpg"
-        ));
-        facts.add(new Fact(
-            "The name 'hamster' comes from the German word 'hamstern,' which means 'to hoard'.",
-            "SYSTEM/image/hamster.jpg"
-        ));
-        facts.add(new Fact(
-            "Parrots (like African Greys) can mimic household sounds, like microwaves and phones.",
-            "SYSTEM/image/parrot.jpg"
-        ));
-        facts.add(new Fact(
-            "The Basenji dog breed is famous for not barking. Instead, it makes a yodel-like sound.",
-            "SYSTEM/image/dog.jpg"
-        ));
-        facts.add(new Fact(
-            "A cat's nose print is unique, much like a human's fingerprint.",
-            "SYSTEM/image/catnose.jpg"
-        ));
-        facts.add(new Fact(
-            "A rabbit's vision is nearly 360 degrees, allowing them to see predators from almost any angle.",
-            "SYSTEM/image/rabbit.jpg"
-        ));
-        facts.add(new Fact(
-            "Guinea pigs are not from Guinea; they are native to the Andes mountains in South America.",
-            "SYSTEM/image/guinea pig.jpg"
-        ));
-        facts.add(new Fact(
-            "A cat's purr vibrates at a frequency that can promote bone density and healing.",
-            "SYSTEM/image/cat-purring.jpeg"
-        ));
-    }
-
-    private static void loadPanelFact(Fact fact, JLabel imagePlaceholderLabel, JLabel descriptionLabel, 
-                                    RoundedPanel contentCard, RoundedButton nextButton, 
-                                    int currentIndex, int totalFacts) {
+    /**
+     * Advances the deck and shows the new fact. The description changes at once;
+     * the image is normally already prefetched, otherwise it follows as soon as
+     * the worker has decoded it.
+     */
+    private static void showNextFact(FactDeck deck, JLabel imagePlaceholderLabel,
+                                     JLabel descriptionLabel, JButton nextButton) {
+        Fact fact = deck.next(image -> {
+            if (image == null) {
+                imagePlaceholderLabel.setIcon(null);
+                imagePlaceholderLabel.setText("Image not found");
+            } else {
+                imagePlaceholderLabel.setText(null);
+                imagePlaceholderLabel.setIcon(new ImageIcon(image));
+            }
+        });
         if (fact == null) {
-            descriptionLabel.setText("Fact not available.");
+            descriptionLabel.setText("No facts available.");
             imagePlaceholderLabel.setIcon(null);
             imagePlaceholderLabel.setText("No image available");
             return;
         }
 
-        // Set description with HTML for word wrapping
+        // Use HTML for automatic word wrapping and set the text color
         descriptionLabel.setText("<html><body style='width: 600px; text-align: center; color: #333333;'>"
             + fact.description + "</body></html>");
 
-        // Load and scale image (robust loader)
-        ImageIcon imageIcon = loadImageIconStatic(fact.imagePath);
-
-        if (imageIcon == null || imageIcon.getIconWidth() == -1) {
-            imagePlaceholderLabel.setIcon(null);
-            imagePlaceholderLabel.setText("Image not found: " + fact.imagePath);
-        } else {
-            int labelWidth = (contentCard != null) ? contentCard.getPreferredSize().width - 40 : 760;
-            int labelHeight = (contentCard != null) ? (int)(contentCard.getPreferredSize().height * 0.7) : 420;
-            Icon scaledIcon = scaleImageIconStatic(imageIcon, labelWidth, labelHeight);
-            imagePlaceholderLabel.setText(null);
-            imagePlaceholderLabel.setIcon(scaledIcon);
-        }
-        
         // Update button text
-        if (currentIndex == totalFacts - 1) {
+        if (deck.isLastInRound()) {
             nextButton.setText("Restart");
         } else {
             nextButton.setText("Next Fact");
         }
     }
 
-    private static Icon scaleImageIconStatic(ImageIcon icon, int targetWidth, int targetHeight) {
-        int originalWidth = icon.getIconWidth();
-        int originalHeight = icon.getIconHeight();
+    /**
+     * The shuffled facts, read from FACTS_FILE, with their images prefetched a
+     * couple of facts ahead of the auto-advance timer. Images are decoded and
+     * scaled into a small ring of recycled bitmaps (see ImagePrefetcher), so
+     * memory stays flat however long the kiosk runs. The next round's order is
+     * shuffled in advance so prefetching carries on across the restart.
+     */
+    private static class FactDeck {
+        private static final String FACTS_FILE = "pet_facts.txt";
+        private static final int PREFETCH_AHEAD = 2;
+        // Image area inside the 800x600 card (minus padding, 70% of the height)
+        private static final int IMAGE_WIDTH = 760;
+        private static final int IMAGE_HEIGHT = 420;
+
+        private final List<Fact> facts;
+        private final ImagePrefetcher images;
+        private List<Integer> order;
+        private List<Integer> nextOrder;
+        private int position = -1;
+
+        FactDeck() {
+            facts = loadFacts();
+            List<String> paths = new ArrayList<>();
+            for (Fact fact : facts) {
+                paths.add(resolveImagePath(fact.imagePath));
+            }
+            images = new ImagePrefetcher(paths, IMAGE_WIDTH, IMAGE_HEIGHT, true, PREFETCH_AHEAD);
+            order = shuffledOrder();
+            nextOrder = shuffledOrder();
+        }
 
-        if (originalWidth <= targetWidth && originalHeight <= targetHeight) {
-            return icon;
+        int size() {
+            return facts.size();
         }
 
-        double widthRatio = (double) targetWidth / (double) originalWidth;
-        double heightRatio = (double) targetHeight / (double) originalHeight;
-        double ratio = Math.min(widthRatio, heightRatio);
+        boolean isLastInRound() {
+            return position == facts.size() - 1;
+        }
 
-        int newWidth = (int) (originalWidth * ratio);
-        int newHeight = (int) (originalHeight * ratio);
+        /**
+         * Moves to the next fact (starting a new shuffled round after the last)
+         * and delivers its image to onImage on the EDT.
+         */
+        Fact next(java.util.function.Consumer<java.awt.image.BufferedImage> onImage) {
+            if (facts.isEmpty()) return null;
+            position++;
+            if (position >= facts.size()) {
+                position = 0;
+                order = nextOrder;
+                nextOrder = shuffledOrder();
+            }
+            int index = order.get(position);
 
-        Image image = icon.getImage();
-        Image scaledImage = image.getScaledInstance(newWidth, newHeight, Image.SCALE_SMOOTH);
+            List<Integer> upcoming = new ArrayList<>(PREFETCH_AHEAD);
+            for (int i = 1; i <= PREFETCH_AHEAD; i++) {
+                int ahead = position + i;
+                upcoming.add(ahead < facts.size() ? order.get(ahead) : nextOrder.get(ahead - facts.size()));
+            }
+            images.show(index, upcoming, onImage);
+            return facts.get(index);
+        }
 
-        return new ImageIcon(scaledImage);
+        private List<Integer> shuffledOrder() {
+            List<Integer> shuffled = new ArrayList<>();
+            for (int i = 0; i < facts.size(); i++) {
+                shuffled.add(i);
+            }
+            Collections.shuffle(shuffled);
+            return shuffled;
+        }
+
+        // Reads "image path | fact" lines from the working directory, or the classpath
+        private static List<Fact> loadFacts() {
+            List<Fact> loaded = new ArrayList<>();
+            java.io.File file = new java.io.File(FACTS_FILE);
+            try (java.io.InputStream in = file.exists()
+                    ? new java.io.FileInputStream(file)
+                    : PetTrivia.class.getResourceAsStream("/" + FACTS_FILE)) {
+                if (in != null) {
+                    java.io.BufferedReader reader = new java.io.BufferedReader(
+                        new java.io.InputStreamReader(in, java.nio.charset.StandardCharsets.UTF_8));
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        line = line.trim();
+                        if (line.isEmpty() || line.startsWith("#")) continue;
+                        int separator = line.indexOf('|');
+                        if (separator < 0) {
+                            System.err.println("Skipping malformed fact line: " + line);
+                            continue;
+                        }
+                        loaded.add(new Fact(line.substring(separator + 1).trim(), line.substring(0, separator).trim()));
+                    }
+                }
+            } catch (java.io.IOException e) {
+                System.err.println("Could not read " + FACTS_FILE + ": " + e.getMessage());
+            }
+            if (loaded.isEmpty()) {
+                System.err.println("No pet facts found in " + FACTS_FILE);
+            }
+            return loaded;
+        }
     }
 
     /**
-     * Attempts to load an ImageIcon using several fallbacks:
+     * Finds where an image actually lives, trying in order:
      * 1) Classpath resource (e.g. resources bundled in JAR under /image/...)
      * 2) Direct file path as given
      * 3) Relative to user.dir
      * 4) Try with a leading "image/" prefix
+     * Returns the path unchanged if none match, so the loader reports it as missing.
      */
-    private ImageIcon loadImageIcon(String path) {
-        if (path == null) return null;
-
-        // 1) Try loading as classpath resource
-        try {
-            String resourcePath = path.startsWith("/") ? path.substring(1) : path;
-            java.net.URL url = getClass().getClassLoader().getResource(resourcePath);
-            if (url != null) {
-                return new ImageIcon(url);
-            }
-        } catch (Exception ignored) {}
-
-        // 2) Try direct file path
-        try {
-            java.io.File f = new java.io.File(path);
-            if (f.exists()) {
-                return new ImageIcon(f.getAbsolutePath());
-            }
-        } catch (Exception ignored) {}
-
-        // 3) Try relative to working directory
-        try {
-            java.io.File wd = new java.io.File(System.getProperty("user.dir"));
-            java.io.File f = new java.io.File(wd, path);
-            if (f.exists()) {
-                return new ImageIcon(f.getAbsolutePath());
-            }
-        } catch (Exception ignored) {}
+    private static String resolveImagePath(String path) {
+        if (path == null) return "";
 
-        // 4) Try prefixing with "image/" (common project layout)
-        try {
-            java.io.File f = new java.io.File("image" + java.io.File.separator + new java.io.File(path).getName());
-            if (f.exists()) {
-                return new ImageIcon(f.getAbsolutePath());
-            }
-        } catch (Exception ignored) {}
-
-        // Not found
-        return null;
-    }
-
-    // Static variant used by static helper methods
-    private static ImageIcon loadImageIconStatic(String path) {
-        if (path == null) return null;
-
-        // 1) Try classloader resource
-        try {
-            String resourcePath = path.startsWith("/") ? path.substring(1) : path;
-            java.net.URL url = PetTrivia.class.getClassLoader().getResource(resourcePath);
-            if (url != null) return new ImageIcon(url);
-        } catch (Exception ignored) {}
+        // 1) Classpath resource; ImagePrefetcher falls back to the classpath itself
+        String resourcePath = path.startsWith("/") ? path.substring(1) : path;
+        if (PetTrivia.class.getClassLoader().getResource(resourcePath) != null) {
+            return resourcePath;
+        }
 
         // 2) Direct file
-        try {
-            java.io.File f = new java.io.File(path);
-            if (f.exists()) return new ImageIcon(f.getAbsolutePath());
-        } catch (Exception ignored) {}
+        java.io.File f = new java.io.File(path);
+        if (f.exists()) return f.getAbsolutePath();
 
         // 3) Relative to user.dir
-        try {
-            java.io.File wd = new java.io.File(System.getProperty("user.dir"));
-            java.io.File f = new java.io.File(wd, path);
-            if (f.exists()) return new ImageIcon(f.getAbsolutePath());
-        } catch (Exception ignored) {}
+        f = new java.io.File(new java.io.File(System.getProperty("user.dir")), path);
+        if (f.exists()) return f.getAbsolutePath();
 
         // 4) Try image/ prefix
-        try {
-            java.io.File f = new java.io.File("image" + java.io.File.separator + new java.io.File(path).getName());
-            if (f.exists()) return new ImageIcon(f.getAbsolutePath());
-        } catch (Exception ignored) {}
+        f = new java.io.File("image" + java.io.File.separator + new java.io.File(path).getName());
+        if (f.exists()) return f.getAbsolutePath();
 
-        return null;
+        return path;
     }
 
     /**
@@ -0,0 +1,313 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Persistent set of every payment reference number submitted in PaymentFrame.
+ *
+ * References are stored in an on-disk open-addressing hash table (one 8-byte
+ * slot per key, linear probing, kept at most half full). An in-memory Bloom
+ * filter sits in front of it, so the common "never seen before" answer costs no
+ * disk access at all, and a possible hit costs one or two positional reads.
+ * At ~10 bits per key the filter for a few million references is a few MB.
+ */
+public class ReferenceIndex {
+
+    private static final String DEFAULT_PATH = "data/references.idx";
+    private static final int HEADER_BYTES = 16;
+    private static final long MAGIC = 0x5041575245463032L; // "PAWREF02"
+    private static final int INITIAL_CAPACITY = 1 << 16;
+    private static final int BLOOM_BITS_PER_KEY = 10;
+    private static final int BLOOM_HASHES = 7;
+    private static final int SCAN_CHUNK = 8192;
+
+    // Published only once loaded and back-filled, so getIfLoaded() never sees a half-built index
+    private static volatile ReferenceIndex defaultIndex;
+
+    private final Path path;
+    private FileChannel channel;
+    private long capacity;
+    private long count;
+    private long[] bloom;
+    private long bloomBits;
+
+    // Shared index, opening it if needed (may block on disk). A brand-new index, or one in an
+    // older key format, is rebuilt from the wallet payments in the ledger.
+    public static synchronized ReferenceIndex getDefault() {
+        if (defaultIndex == null) {
+            Path path = Paths.get(DEFAULT_PATH);
+            try {
+                boolean fresh = !Files.exists(path) || !isCurrentFormat(path);
+                if (fresh) {
+                    Files.deleteIfExists(path);
+                }
+                ReferenceIndex index = new ReferenceIndex(path);
+                if (fresh) {
+                    index.backfill(OrderLedger.getDefault());
+                }
+                defaultIndex = index;
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not open reference index: " + e.getMessage(), e);
+            }
+        }
+        return defaultIndex;
+    }
+
+    /**
+     * The shared index if it has finished loading, else null. Never blocks, so
+     * it is safe for per-keystroke checks on the EDT.
+     */
+    public static ReferenceIndex getIfLoaded() {
+        return defaultIndex;
+    }
+
+    public ReferenceIndex(Path path) throws IOException {
+        this.path = path;
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        if (Files.exists(path) && Files.size(path) >= HEADER_BYTES) {
+            open();
+        } else {
+            create(path, INITIAL_CAPACITY).close();
+            open();
+        }
+    }
+
+    public synchronized long size() {
+        return count;
+    }
+
+    /**
+     * True if the reference has been submitted before.
+     */
+    public synchronized boolean contains(String reference) throws IOException {
+        long key = keyOf(reference);
+        if (key == 0 || !bloomMightContain(key)) return false;
+        return readSlot(findSlot(key)) == key;
+    }
+
+    /**
+     * Records the reference; returns false if it was already present.
+     */
+    public synchronized boolean add(String reference) throws IOException {
+        boolean added = insert(keyOf(reference));
+        if (added) {
+            channel.force(false);
+        }
+        return added;
+    }
+
+    private boolean insert(long key) throws IOException {
+        if (key == 0) return false;
+        if ((count + 1) * 2 > capacity) {
+            grow();
+        }
+        long slot = findSlot(key);
+        if (readSlot(slot) == key) return false;
+
+        writeSlot(slot, key);
+        count++;
+        bloomAdd(key);
+        return true;
+    }
+
+    private synchronized void backfill(OrderLedger ledger) throws IOException {
+        long size = ledger.size();
+        for (long from = 0; from < size; from += SCAN_CHUNK) {
+            List<OrderLedger.Entry> chunk = ledger.read(from, (int) Math.min(SCAN_CHUNK, size - from));
+            for (OrderLedger.Entry entry : chunk) {
+                String method = entry.getPaymentMethod();
+                if ("GCash".equalsIgnoreCase(method) || "Maya".equalsIgnoreCase(method)) {
+                    insert(keyOf(entry.getReferenceNumber()));
+                }
+            }
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Maps a reference to a non-zero 64-bit key (0 marks an empty slot). All-digit
+     * references up to 18 digits map exactly, length included, so "00123" and
+     * "123" stay distinct; anything else is hashed into a separate key range
+     * (bit 62 set) so the two can never collide.
+     */
+    static long keyOf(String reference) {
+        if (reference == null) return 0;
+        String trimmed = reference.trim();
+        if (trimmed.isEmpty()) return 0;
+        int length = trimmed.length();
+        if (length <= 18 && trimmed.chars().allMatch(Character::isDigit)) {
+            // Keys for shorter strings come first: length L starts after the 10 + 100 + ... + 10^(L-1) shorter ones
+            long shorter = 0;
+            long power = 1;
+            for (int i = 1; i < length; i++) {
+                power *= 10;
+                shorter += power;
+            }
+            return shorter + Long.parseLong(trimmed) + 1;
+        }
+        long hash = 0xcbf29ce484222325L; // FNV-1a
+        for (int i = 0; i < trimmed.length(); i++) {
+            hash ^= trimmed.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash | (1L << 62);
+    }
+
+    // Linear probe: returns the slot holding key, or the first empty slot on its chain
+    private long findSlot(long key) throws IOException {
+        long slot = mix(key) & (capacity - 1);
+        while (true) {
+            long stored = readSlot(slot);
+            if (stored == 0 || stored == key) return slot;
+            slot = (slot + 1) & (capacity - 1);
+        }
+    }
+
+    private long readSlot(long slot) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8);
+        long position = HEADER_BYTES + slot * 8;
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) return 0;
+        }
+        return buffer.getLong(0);
+    }
+
+    private void writeSlot(long slot, long key) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8).putLong(0, key);
+        long position = HEADER_BYTES + slot * 8;
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    private static boolean isCurrentFormat(Path file) throws IOException {
+        if (Files.size(file) < HEADER_BYTES) return false;
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(8);
+            in.read(header, 0);
+            return header.getLong(0) == MAGIC;
+        }
+    }
+
+    // Loads the header, then rebuilds the count and Bloom filter from one sequential pass
+    private void open() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        channel.read(header, 0);
+        if (header.getLong(0) != MAGIC) {
+            throw new IOException("Not a reference index: " + path);
+        }
+        capacity = header.getLong(8);
+        count = 0;
+        resetBloom(capacity / 2);
+
+        ByteBuffer chunk = ByteBuffer.allocate(SCAN_CHUNK * 8);
+        for (long slot = 0; slot < capacity; slot += SCAN_CHUNK) {
+            chunk.clear();
+            chunk.limit((int) Math.min(SCAN_CHUNK, capacity - slot) * 8);
+            long position = HEADER_BYTES + slot * 8;
+            while (chunk.hasRemaining()) {
+                if (channel.read(chunk, position + chunk.position()) < 0) break;
+            }
+            chunk.flip();
+            while (chunk.remaining() >= 8) {
+                long key = chunk.getLong();
+                if (key != 0) {
+                    count++;
+                    bloomAdd(key);
+                }
+            }
+        }
+    }
+
+    // Doubles the table into a new file, then atomically swaps it in
+    private void grow() throws IOException {
+        Path tmp = path.resolveSibling(path.getFileName() + ".grow");
+        long newCapacity = capacity * 2;
+        try (FileChannel out = create(tmp, newCapacity)) {
+            ByteBuffer chunk = ByteBuffer.allocate(SCAN_CHUNK * 8);
+            ByteBuffer probe = ByteBuffer.allocate(8);
+            for (long slot = 0; slot < capacity; slot += SCAN_CHUNK) {
+                chunk.clear();
+                chunk.limit((int) Math.min(SCAN_CHUNK, capacity - slot) * 8);
+                long position = HEADER_BYTES + slot * 8;
+                while (chunk.hasRemaining()) {
+                    if (channel.read(chunk, position + chunk.position()) < 0) break;
+                }
+                chunk.flip();
+                while (chunk.remaining() >= 8) {
+                    long key = chunk.getLong();
+                    if (key == 0) continue;
+                    long target = mix(key) & (newCapacity - 1);
+                    while (true) {
+                        probe.clear();
+                        out.read(probe, HEADER_BYTES + target * 8);
+                        if (probe.getLong(0) == 0) break;
+                        target = (target + 1) & (newCapacity - 1);
+                    }
+                    probe.clear();
+                    probe.putLong(0, key);
+                    out.write(probe, HEADER_BYTES + target * 8);
+                }
+            }
+            out.force(true);
+        }
+        channel.close();
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        open();
+    }
+
+    private static FileChannel create(Path file, long capacity) throws IOException {
+        FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putLong(0, MAGIC);
+        header.putLong(8, capacity);
+        out.write(header, 0);
+        // Extend the file so every slot reads back as zero (empty)
+        out.write(ByteBuffer.allocate(1), HEADER_BYTES + capacity * 8 - 1);
+        return out;
+    }
+
+    private void resetBloom(long expectedKeys) {
+        bloomBits = Math.max(64, expectedKeys * BLOOM_BITS_PER_KEY);
+        bloom = new long[(int) ((bloomBits + 63) / 64)];
+    }
+
+    private void bloomAdd(long key) {
+        long h1 = mix(key);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bloomBits);
+            bloom[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    private boolean bloomMightContain(long key) {
+        long h1 = mix(key);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bloomBits);
+            if ((bloom[(int) (bit >>> 6)] & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    // 64-bit finalizer (MurmurHash3 fmix64)
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+}
@@ -0,0 +1,294 @@
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import java.awt.Component;
+import java.awt.event.HierarchyEvent;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a long-running Dashboard (e.g. a lobby kiosk) from slowly filling the heap.
+ *
+ * It keeps weak track of three kinds of resources:
+ * - Swing timers. Timers bound to a component are paused while it is off-screen
+ *   and resumed when it is shown again.
+ * - Image caches, which implement Evictable and are trimmed when the heap is over
+ *   budget, off-screen ones first.
+ * - The Dashboard's card panels, which are listed in the report.
+ *
+ * The budget is compared against the heap still live after the last GC, so
+ * garbage waiting to be collected does not trigger eviction.
+ *
+ * Configured with system properties:
+ *   kiosk.memoryBudgetMb     live-heap budget before caches are trimmed (default 256)
+ *   kiosk.reportMinutes      how often to print the resource report, 0 for never (default 15)
+ */
+public class ResourceGovernor {
+
+    private static final long MB = 1024L * 1024L;
+    private static final int CHECK_SECONDS = 10;
+
+    /**
+     * A cache that can give memory back.
+     */
+    public interface Evictable {
+        long retainedBytes();
+
+        // Releases what it can; returns the bytes freed
+        long evict();
+    }
+
+    private static class TrackedCache {
+        final String name;
+        final WeakReference<Component> owner;
+        final WeakReference<Evictable> cache;
+
+        TrackedCache(String name, Component owner, Evictable cache) {
+            this.name = name;
+            this.owner = new WeakReference<>(owner);
+            this.cache = new WeakReference<>(cache);
+        }
+    }
+
+    private static ResourceGovernor defaultGovernor;
+
+    private final long budgetBytes;
+    private final long reportMillis;
+    // Weak keys: tracking never keeps a timer or panel alive
+    private final Map<Timer, WeakReference<Component>> timers = new WeakHashMap<>();
+    private final Map<Timer, Boolean> pausedTimers = new WeakHashMap<>();
+    private final Map<Component, String> panels = new WeakHashMap<>();
+    private final List<TrackedCache> caches = new ArrayList<>();
+    private ScheduledExecutorService scheduler;
+    private long lastReport;
+    private long evictedBytes;
+
+    public static synchronized ResourceGovernor getDefault() {
+        if (defaultGovernor == null) {
+            defaultGovernor = new ResourceGovernor(
+                Long.getLong("kiosk.memoryBudgetMb", 256) * MB,
+                Long.getLong("kiosk.reportMinutes", 15) * 60_000L);
+        }
+        return defaultGovernor;
+    }
+
+    public ResourceGovernor(long budgetBytes, long reportMillis) {
+        this.budgetBytes = budgetBytes;
+        this.reportMillis = reportMillis;
+    }
+
+    /**
+     * Starts the periodic budget check and report (idempotent).
+     */
+    public synchronized void start() {
+        if (scheduler != null) return;
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "resource-governor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        lastReport = System.currentTimeMillis();
+        scheduler.scheduleWithFixedDelay(() -> SwingUtilities.invokeLater(this::check),
+            CHECK_SECONDS, CHECK_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Counts the timer in the report; returns it for inline use.
+     */
+    public synchronized Timer trackTimer(Timer timer) {
+        timers.putIfAbsent(timer, null);
+        return timer;
+    }
+
+    /**
+     * Pauses the timer whenever owner is not on screen and resumes it (if it was
+     * running) once owner is shown again.
+     */
+    public Timer bindToVisibility(Timer timer, Component owner) {
+        synchronized (this) {
+            timers.put(timer, new WeakReference<>(owner));
+        }
+        owner.addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) == 0) return;
+            if (owner.isShowing()) {
+                resume(timer);
+            } else {
+                pause(timer);
+            }
+        });
+        return timer;
+    }
+
+    // Registering the same cache again just moves it to the new owner
+    public synchronized void registerCache(String name, Component owner, Evictable cache) {
+        caches.removeIf(tracked -> tracked.cache.get() == cache || tracked.cache.get() == null);
+        caches.add(new TrackedCache(name, owner, cache));
+    }
+
+    public synchronized void registerPanel(String name, Component panel) {
+        panels.put(panel, name);
+    }
+
+    private synchronized void pause(Timer timer) {
+        if (timer.isRunning()) {
+            timer.stop();
+            pausedTimers.put(timer, Boolean.TRUE);
+        }
+    }
+
+    private synchronized void resume(Timer timer) {
+        if (pausedTimers.remove(timer) != null) {
+            timer.start();
+        }
+    }
+
+    // Runs on the EDT so isShowing() and Timer state are read consistently
+    private void check() {
+        synchronized (this) {
+            // Catch timers whose owner was never shown (e.g. a card hidden from the start)
+            for (Map.Entry<Timer, WeakReference<Component>> entry : timers.entrySet()) {
+                Component owner = entry.getValue() == null ? null : entry.getValue().get();
+                if (owner != null && !owner.isShowing()) {
+                    pause(entry.getKey());
+                }
+            }
+        }
+
+        if (liveHeapBytes() > budgetBytes) {
+            trimCaches();
+        }
+
+        long now = System.currentTimeMillis();
+        if (reportMillis > 0 && now - lastReport >= reportMillis) {
+            lastReport = now;
+            System.out.println(getReport());
+        }
+    }
+
+    // Off-screen caches first, largest first; on-screen ones only if that was not enough
+    private void trimCaches() {
+        List<TrackedCache> offScreen = new ArrayList<>();
+        List<TrackedCache> onScreen = new ArrayList<>();
+        synchronized (this) {
+            for (Iterator<TrackedCache> it = caches.iterator(); it.hasNext(); ) {
+                TrackedCache tracked = it.next();
+                Evictable cache = tracked.cache.get();
+                if (cache == null) {
+                    it.remove();
+                    continue;
+                }
+                Component owner = tracked.owner.get();
+                (owner != null && owner.isShowing() ? onScreen : offScreen).add(tracked);
+            }
+        }
+        long needed = liveHeapBytes() - budgetBytes;
+        long freed = evictLargestFirst(offScreen, needed);
+        if (freed < needed) {
+            freed += evictLargestFirst(onScreen, needed - freed);
+        }
+        if (freed > 0) {
+            synchronized (this) {
+                evictedBytes += freed;
+            }
+            System.out.println(String.format(Locale.ROOT,
+                "[resources] over budget, trimmed image caches by %.1f MB", freed / (double) MB));
+        }
+    }
+
+    private static long evictLargestFirst(List<TrackedCache> candidates, long needed) {
+        candidates.sort((a, b) -> Long.compare(retained(b), retained(a)));
+        long freed = 0;
+        for (TrackedCache tracked : candidates) {
+            if (freed >= needed) break;
+            Evictable cache = tracked.cache.get();
+            if (cache != null) {
+                freed += cache.evict();
+            }
+        }
+        return freed;
+    }
+
+    private static long retained(TrackedCache tracked) {
+        Evictable cache = tracked.cache.get();
+        return cache == null ? 0 : cache.retainedBytes();
+    }
+
+    /**
+     * Heap still in use after the most recent GC of each heap pool, or plain
+     * heap usage if the JVM does not report that.
+     */
+    static long liveHeapBytes() {
+        long live = 0;
+        boolean reported = false;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() != MemoryType.HEAP) continue;
+            MemoryUsage afterGc = pool.getCollectionUsage();
+            if (afterGc != null) {
+                live += afterGc.getUsed();
+                reported = true;
+            }
+        }
+        if (!reported) {
+            live = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        }
+        return live;
+    }
+
+    /**
+     * One-line summary of heap use and tracked resources.
+     */
+    public synchronized String getReport() {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        int running = 0;
+        for (Timer timer : timers.keySet()) {
+            if (timer.isRunning()) running++;
+        }
+
+        long cacheBytes = 0;
+        List<String> cacheSizes = new ArrayList<>();
+        for (TrackedCache tracked : caches) {
+            Evictable cache = tracked.cache.get();
+            if (cache != null) {
+                long bytes = cache.retainedBytes();
+                cacheBytes += bytes;
+                cacheSizes.add(String.format(Locale.ROOT, "%s %.1f MB", tracked.name, bytes / (double) MB));
+            }
+        }
+
+        List<String> showing = new ArrayList<>();
+        int hidden = 0;
+        for (Map.Entry<Component, String> entry : panels.entrySet()) {
+            if (entry.getKey().isShowing()) {
+                showing.add(entry.getValue());
+            } else {
+                hidden++;
+            }
+        }
+
+        return String.format(Locale.ROOT,
+            "[resources] heap %d/%d MB (live after GC %d MB, budget %d MB) | timers %d tracked, %d running, %d paused off-screen"
+                + " | image caches %.1f MB %s (%.1f MB evicted so far) | panels showing %s, %d hidden",
+            heap.getUsed() / MB, heap.getMax() / MB, liveHeapBytes() / MB, budgetBytes / MB,
+            timers.size(), running, pausedTimers.size(),
+            cacheBytes / (double) MB, cacheSizes, evictedBytes / (double) MB,
+            showing, hidden);
+    }
+}
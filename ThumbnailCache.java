@@ -0,0 +1,201 @@
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.swing.SwingUtilities;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Fixed-size thumbnails loaded lazily on background threads, for galleries.
+ *
+ * get() never blocks: it returns the thumbnail if it is cached, otherwise it
+ * queues the path and returns null; peek() only looks, for paint code.
+ * Listeners are told (on the EDT) when a thumbnail arrives, and when the
+ * cache has been emptied so the visible images should be requested again. Requests are served newest first, so the cards that just
+ * scrolled into view load before ones that have already scrolled past, and
+ * retainOnly() drops queued requests nobody is waiting for any more. Large
+ * images are subsampled while decoding rather than decoded at full size.
+ *
+ * Thumbnails are kept in an LRU of at most `capacity` entries.
+ */
+public class ThumbnailCache implements ResourceGovernor.Evictable {
+
+    private final int width;
+    private final int height;
+    private final int capacity;
+    private final Map<String, BufferedImage> thumbnails;
+    private final Set<String> missing = new HashSet<>();
+    private final Deque<String> pending = new ArrayDeque<>();
+    // Paths in pending; each was submitted with its own worker task
+    private final Set<String> queued = new HashSet<>();
+    // Paths a worker has taken off pending and is decoding
+    private final Set<String> loading = new HashSet<>();
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+    private final List<Runnable> evictListeners = new CopyOnWriteArrayList<>();
+    private final ExecutorService workers;
+
+    public ThumbnailCache(int width, int height, int capacity) {
+        this.width = width;
+        this.height = height;
+        this.capacity = capacity;
+        this.thumbnails = new LinkedHashMap<>(capacity * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, BufferedImage> eldest) {
+                return size() > ThumbnailCache.this.capacity;
+            }
+        };
+        this.workers = Executors.newFixedThreadPool(2, r -> {
+            Thread thread = new Thread(r, "thumbnail-loader");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        });
+    }
+
+    /**
+     * Called on the EDT with the path of each thumbnail that finished loading.
+     */
+    public void addLoadListener(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Called on the EDT after evict() has emptied the cache.
+     */
+    public void addEvictListener(Runnable listener) {
+        evictListeners.add(listener);
+    }
+
+    /**
+     * The cached thumbnail, or null after queueing it for loading (or if the
+     * image is known to be missing).
+     */
+    public synchronized BufferedImage get(String path) {
+        if (path == null) return null;
+        BufferedImage thumbnail = thumbnails.get(path);
+        if (thumbnail != null || missing.contains(path) || loading.contains(path)) return thumbnail;
+
+        if (queued.add(path)) {
+            pending.addFirst(path);
+            workers.execute(this::loadNewest);
+        } else {
+            // Already queued: move it to the front
+            pending.remove(path);
+            pending.addFirst(path);
+        }
+        return null;
+    }
+
+    /**
+     * The cached thumbnail or null, without queueing anything.
+     */
+    public synchronized BufferedImage peek(String path) {
+        return path == null ? null : thumbnails.get(path);
+    }
+
+    /**
+     * Forgets queued requests for anything not in wanted (e.g. the visible cards).
+     */
+    public synchronized void retainOnly(Collection<String> wanted) {
+        for (Iterator<String> it = pending.iterator(); it.hasNext(); ) {
+            String path = it.next();
+            if (!wanted.contains(path)) {
+                it.remove();
+                queued.remove(path);
+            }
+        }
+    }
+
+    @Override
+    public synchronized long retainedBytes() {
+        return (long) thumbnails.size() * width * height * 4;
+    }
+
+    @Override
+    public synchronized long evict() {
+        long freed = retainedBytes();
+        thumbnails.clear();
+        SwingUtilities.invokeLater(() -> {
+            for (Runnable listener : evictListeners) {
+                listener.run();
+            }
+        });
+        return freed;
+    }
+
+    private void loadNewest() {
+        String path;
+        synchronized (this) {
+            path = pending.pollFirst();
+            if (path == null) return;
+            queued.remove(path);
+            loading.add(path);
+        }
+
+        BufferedImage thumbnail = null;
+        try {
+            thumbnail = load(new File(path));
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Could not load thumbnail " + path + ": " + e.getMessage());
+        }
+
+        synchronized (this) {
+            loading.remove(path);
+            if (thumbnail != null) {
+                thumbnails.put(path, thumbnail);
+            } else {
+                missing.add(path);
+            }
+        }
+        SwingUtilities.invokeLater(() -> {
+            for (Consumer<String> listener : listeners) {
+                listener.accept(path);
+            }
+        });
+    }
+
+    private BufferedImage load(File file) throws IOException {
+        if (!file.exists()) return null;
+        BufferedImage source;
+        try (ImageInputStream in = ImageIO.createImageInputStream(file)) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) return null;
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                // Skip pixels while decoding, keeping at least twice the thumbnail size for quality
+                int step = Math.max(1, Math.min(reader.getWidth(0) / (width * 2), reader.getHeight(0) / (height * 2)));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                source = reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+
+        BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = thumbnail.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2d.drawImage(source, 0, 0, width, height, null);
+        g2d.dispose();
+        return thumbnail;
+    }
+}
@@ -0,0 +1,230 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Running totals over the order ledger for the TransactionHistory summary.
+ *
+ * Totals are kept per payment method, per status, per day and per month and
+ * are bumped in O(1) as each entry is appended. On startup they are rebuilt
+ * from the ledger with a fork/join scan that splits the sequence range across
+ * cores and merges the partial totals.
+ *
+ * Each instance listens to the ledger until close(); the TransactionHistory
+ * summary builds one while it is in the UI and closes it when removed.
+ */
+public class TransactionAggregates {
+
+    // Ranges at or below this size are scanned directly by one fork/join task
+    private static final int SCAN_THRESHOLD = 16 * 1024;
+    private static final int READ_CHUNK = 4096;
+
+    /**
+     * Count and sum of amounts for one group.
+     */
+    public static class Totals {
+        private long count;
+        private double amount;
+
+        public synchronized long getCount() { return count; }
+        public synchronized double getAmount() { return amount; }
+
+        synchronized void add(long count, double amount) {
+            this.count += count;
+            this.amount += amount;
+        }
+    }
+
+    // Plain (single-threaded) totals built by each fork/join leaf before merging
+    private static class Partial {
+        final Map<String, double[]> byMethod = new HashMap<>();
+        final Map<String, double[]> byStatus = new HashMap<>();
+        final Map<LocalDate, double[]> byDay = new HashMap<>();
+        final Map<YearMonth, double[]> byMonth = new HashMap<>();
+
+        void add(OrderLedger.Entry entry, ZoneId zone) {
+            LocalDate day = dayOf(entry, zone);
+            bump(byMethod, entry.getPaymentMethod(), entry.getAmount());
+            bump(byStatus, entry.getStatus(), entry.getAmount());
+            bump(byDay, day, entry.getAmount());
+            bump(byMonth, YearMonth.from(day), entry.getAmount());
+        }
+
+        Partial merge(Partial other) {
+            other.byMethod.forEach((k, v) -> bump(byMethod, k, v));
+            other.byStatus.forEach((k, v) -> bump(byStatus, k, v));
+            other.byDay.forEach((k, v) -> bump(byDay, k, v));
+            other.byMonth.forEach((k, v) -> bump(byMonth, k, v));
+            return this;
+        }
+
+        private static <K> void bump(Map<K, double[]> map, K key, double amount) {
+            double[] totals = map.computeIfAbsent(key, k -> new double[2]);
+            totals[0]++;
+            totals[1] += amount;
+        }
+
+        private static <K> void bump(Map<K, double[]> map, K key, double[] other) {
+            double[] totals = map.computeIfAbsent(key, k -> new double[2]);
+            totals[0] += other[0];
+            totals[1] += other[1];
+        }
+    }
+
+    private static class ScanTask extends RecursiveTask<Partial> {
+        private final OrderLedger ledger;
+        private final long from;
+        private final long to;
+        private final ZoneId zone;
+
+        ScanTask(OrderLedger ledger, long from, long to, ZoneId zone) {
+            this.ledger = ledger;
+            this.from = from;
+            this.to = to;
+            this.zone = zone;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from <= SCAN_THRESHOLD) {
+                Partial partial = new Partial();
+                try {
+                    for (long start = from; start < to; start += READ_CHUNK) {
+                        for (OrderLedger.Entry entry : ledger.read(start, (int) Math.min(READ_CHUNK, to - start))) {
+                            partial.add(entry, zone);
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return partial;
+            }
+            long mid = from + (to - from) / 2;
+            ScanTask left = new ScanTask(ledger, from, mid, zone);
+            left.fork();
+            Partial right = new ScanTask(ledger, mid, to, zone).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final Map<String, Totals> byMethod = new ConcurrentHashMap<>();
+    private final Map<String, Totals> byStatus = new ConcurrentHashMap<>();
+    private final Map<LocalDate, Totals> byDay = new ConcurrentHashMap<>();
+    private final Map<YearMonth, Totals> byMonth = new ConcurrentHashMap<>();
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+    private final OrderLedger ledger;
+    private final Consumer<OrderLedger.Entry> appendListener;
+    private volatile boolean ready;
+
+    // Rebuilt from the ledger in the background; isReady() turns true when done
+    public TransactionAggregates(OrderLedger ledger) {
+        this.ledger = ledger;
+        // Listen first, then snapshot the size: entries below it come from the rebuild,
+        // entries at or above it from the listener, so nothing is counted twice or missed
+        AtomicLong rebuildEnd = new AtomicLong(Long.MAX_VALUE);
+        appendListener = entry -> {
+            if (entry.getSequence() >= rebuildEnd.get()) {
+                apply(entry);
+                fireChanged();
+            }
+        };
+        ledger.addAppendListener(appendListener);
+        long end = ledger.size();
+        rebuildEnd.set(end);
+        ForkJoinPool.commonPool().execute(() -> {
+            try {
+                Partial partial = ForkJoinPool.commonPool().invoke(new ScanTask(ledger, 0, end, zone));
+                load(partial);
+            } catch (RuntimeException e) {
+                System.err.println("Could not rebuild transaction totals: " + e.getMessage());
+            }
+            ready = true;
+            fireChanged();
+        });
+    }
+
+    public void addChangeListener(Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    public void removeChangeListener(Runnable listener) {
+        changeListeners.remove(listener);
+    }
+
+    /**
+     * Stops following the ledger; the totals are frozen from here on.
+     */
+    public void close() {
+        ledger.removeAppendListener(appendListener);
+        changeListeners.clear();
+    }
+
+    /**
+     * False until the startup rebuild has finished.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public Totals getByPaymentMethod(String method) {
+        return orEmpty(byMethod.get(method));
+    }
+
+    public Totals getByStatus(String status) {
+        return orEmpty(byStatus.get(status));
+    }
+
+    public Totals getByDay(LocalDate day) {
+        return orEmpty(byDay.get(day));
+    }
+
+    public Totals getByMonth(YearMonth month) {
+        return orEmpty(byMonth.get(month));
+    }
+
+    private void apply(OrderLedger.Entry entry) {
+        LocalDate day = dayOf(entry, zone);
+        totalsFor(byMethod, entry.getPaymentMethod()).add(1, entry.getAmount());
+        totalsFor(byStatus, entry.getStatus()).add(1, entry.getAmount());
+        totalsFor(byDay, day).add(1, entry.getAmount());
+        totalsFor(byMonth, YearMonth.from(day)).add(1, entry.getAmount());
+    }
+
+    private void load(Partial partial) {
+        partial.byMethod.forEach((k, v) -> totalsFor(byMethod, k).add((long) v[0], v[1]));
+        partial.byStatus.forEach((k, v) -> totalsFor(byStatus, k).add((long) v[0], v[1]));
+        partial.byDay.forEach((k, v) -> totalsFor(byDay, k).add((long) v[0], v[1]));
+        partial.byMonth.forEach((k, v) -> totalsFor(byMonth, k).add((long) v[0], v[1]));
+    }
+
+    private void fireChanged() {
+        for (Runnable listener : changeListeners) {
+            listener.run();
+        }
+    }
+
+    private static <K> Totals totalsFor(Map<K, Totals> map, K key) {
+        return map.computeIfAbsent(key, k -> new Totals());
+    }
+
+    private static Totals orEmpty(Totals totals) {
+        return totals == null ? new Totals() : totals;
+    }
+
+    private static LocalDate dayOf(OrderLedger.Entry entry, ZoneId zone) {
+        return Instant.ofEpochMilli(entry.getTimestamp()).atZone(zone).toLocalDate();
+    }
+}
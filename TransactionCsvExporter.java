@@ -0,0 +1,130 @@
+import javax.swing.SwingWorker;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Streams the order ledger to a CSV file off the EDT.
+ *
+ * The ledger is read READ_CHUNK entries at a time and encoded straight into a
+ * fixed-size direct buffer that is drained to a FileChannel, so memory use does
+ * not depend on how many rows are exported. The file is written as UTF-8 with a
+ * BOM and CRLF line endings so Excel opens it cleanly. Output goes to a ".part"
+ * file that only replaces the target once the export completes; a cancelled or
+ * failed export leaves nothing behind.
+ *
+ * Progress (0-100) is reported through the standard SwingWorker "progress"
+ * property, and get() returns the number of rows written.
+ */
+public class TransactionCsvExporter extends SwingWorker<Long, Void> {
+
+    private static final int READ_CHUNK = 4096;
+    private static final int BUFFER_BYTES = 256 * 1024;
+    private static final String HEADER = "Date,Description,Amount,Payment,Status,Reference Number\r\n";
+
+    private final OrderLedger ledger;
+    private final TransactionTableModel.Filter filter;
+    private final Path target;
+
+    public TransactionCsvExporter(OrderLedger ledger, TransactionTableModel.Filter filter, Path target) {
+        this.ledger = ledger;
+        this.filter = filter == null ? TransactionTableModel.Filter.NONE : filter;
+        this.target = target;
+    }
+
+    public Path getTarget() {
+        return target;
+    }
+
+    @Override
+    protected Long doInBackground() throws Exception {
+        Path part = target.resolveSibling(target.getFileName() + ".part");
+        long size = ledger.size();
+        long rows = 0;
+        boolean completed = false;
+
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        StringBuilder line = new StringBuilder(256);
+
+        try (FileChannel out = FileChannel.open(part, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            // UTF-8 byte order mark so Excel detects the encoding
+            buffer.put((byte) 0xEF).put((byte) 0xBB).put((byte) 0xBF);
+            write(out, encoder, buffer, HEADER);
+
+            for (long from = 0; from < size; from += READ_CHUNK) {
+                if (isCancelled()) return rows;
+                List<OrderLedger.Entry> chunk = ledger.read(from, (int) Math.min(READ_CHUNK, size - from));
+                for (OrderLedger.Entry entry : chunk) {
+                    if (!filter.matches(entry)) continue;
+                    line.setLength(0);
+                    line.append(dateFormat.format(new Date(entry.getTimestamp()))).append(',');
+                    appendField(line, entry.getDescription()).append(',');
+                    line.append(String.format(Locale.ROOT, "%.2f", entry.getAmount())).append(',');
+                    appendField(line, entry.getPaymentMethod()).append(',');
+                    appendField(line, entry.getStatus()).append(',');
+                    appendField(line, entry.getReferenceNumber()).append("\r\n");
+                    write(out, encoder, buffer, line);
+                    rows++;
+                }
+                setProgress((int) Math.min(100, (from + chunk.size()) * 100 / Math.max(1, size)));
+            }
+            drain(out, buffer);
+            out.force(false);
+            completed = true;
+        } finally {
+            if (!completed) {
+                Files.deleteIfExists(part);
+            }
+        }
+
+        Files.move(part, target, StandardCopyOption.REPLACE_EXISTING);
+        setProgress(100);
+        return rows;
+    }
+
+    // Quotes a field when it contains a delimiter, quote or line break (RFC 4180)
+    private static StringBuilder appendField(StringBuilder line, String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return line.append(value);
+        }
+        return line.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private static void write(FileChannel out, CharsetEncoder encoder, ByteBuffer buffer, CharSequence text) throws IOException {
+        CharBuffer chars = CharBuffer.wrap(text);
+        while (true) {
+            CoderResult result = encoder.encode(chars, buffer, true);
+            if (result.isOverflow()) {
+                drain(out, buffer);
+            } else if (result.isError()) {
+                result.throwException();
+            } else {
+                break;
+            }
+        }
+        encoder.reset();
+    }
+
+    private static void drain(FileChannel out, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+}
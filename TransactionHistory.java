@@ -1,11 +1,16 @@
 import javax.swing.*;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.text.DecimalFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.YearMonth;
 
 /**
  * A complete, runnable Java Swing application to display a
@@ -28,8 +33,20 @@ public class TransactionHistory {
         Color creditGreen = new Color(0, 150, 0); // Darker green
         Color borderColor = new Color(220, 220, 220); // Border color
 
+        // --- Table Data ---
+        // Lazy, paged model over the order ledger (newest first); non-editable.
+        // Created before the main panel, which disposes it.
+        TransactionTableModel tableModel = new TransactionTableModel(OrderLedger.getDefault());
+
         // --- 1. Main Content Panel ---
-        JPanel mainPanel = new JPanel();
+        // Releases the model's ledger listener and page loader once the panel leaves the UI
+        JPanel mainPanel = new JPanel() {
+            @Override
+            public void removeNotify() {
+                tableModel.dispose();
+                super.removeNotify();
+            }
+        };
         mainPanel.setLayout(new BorderLayout(20, 20)); // Increased gaps
         mainPanel.setBackground(backgroundColor);
         mainPanel.setBorder(BorderFactory.createEmptyBorder(25, 25, 25, 25)); // More padding
@@ -38,38 +55,13 @@ public class TransactionHistory {
         JLabel titleLabel = new JLabel("Your Recent Transactions", SwingConstants.CENTER);
         titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 32)); // Modern font, larger
         titleLabel.setForeground(primaryColor); // Use new primary color
-        mainPanel.add(titleLabel, BorderLayout.NORTH);
-
-        // --- 3. Table Data ---
-        // Column names updated as requested
-        String[] columnNames = {"DATE", "DESCRIPTION", "AMOUNT", "PAYMENT", "STATUS", "REFERENCE NUMBER"};
-        
-        // Data updated to match new columns
-        Object[][] data = {
-                {"2025-11-15", "Grocery Store - Whole Foods", -120.50, "Maya", "Completed", "1123456789012"},
-                {"2025-11-15", "Coffee Shop - Starbucks", -5.75, "GCash", "Pending", "1123456789013"},
-                {"2025-11-14", "Electric Bill Payment", -65.20, "GCash", "Completed", "1123456789014"},
-                {"2025-11-12", "Restaurant - Dinner with Friends", -45.00, "Maya", "Completed", "1123456789015"}, 
-                {"2025-11-11", "Gas Station - Shell", -55.10, "GCash", "Completed", "1123456789016"},
-                {"2025-11-10", "Gym Membership Renewal", -30.00, "Maya", "Completed", "1123456789017"},
-                {"2025-10-30", "Movie Tickets", -28.00, "GCash", "Completed", "1123456789018"},
-                {"2025-10-29", "Internet Bill - ISP Co.", -75.00, "Maya", "Completed", "1123456789019"}
-        };
 
-        // Use DefaultTableModel to make cells non-editable and define column types
-        DefaultTableModel tableModel = new DefaultTableModel(data, columnNames) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Make all cells non-editable
-            }
-            @Override
-            public Class<?> getColumnClass(int column) {
-                if (column == 2) { // Amount column
-                    return Double.class;
-                }
-                return String.class;
-            }
-        };
+        JPanel headerPanel = new JPanel(new BorderLayout(0, 15));
+        headerPanel.setOpaque(false);
+        headerPanel.add(titleLabel, BorderLayout.NORTH);
+        headerPanel.add(createSummaryPanel(primaryColor, borderColor), BorderLayout.CENTER);
+        headerPanel.add(createFilterBar(tableModel, primaryColor), BorderLayout.SOUTH);
+        mainPanel.add(headerPanel, BorderLayout.NORTH);
 
         JTable table = new JTable(tableModel);
 
@@ -151,6 +143,16 @@ public class TransactionHistory {
         // --- Disable column reordering (moving) ---
         tableHeader.setReorderingAllowed(false);
 
+        // --- Sorting: done by the model against the ledger, not by a RowSorter ---
+        tableHeader.setCursor(new Cursor(Cursor.HAND_CURSOR));
+        tableHeader.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int column = table.convertColumnIndexToModel(tableHeader.columnAtPoint(e.getPoint()));
+                tableModel.toggleSort(column);
+            }
+        });
+
         // Set preferred column widths
         table.getColumnModel().getColumn(0).setPreferredWidth(100); // DATE
         table.getColumnModel().getColumn(1).setPreferredWidth(250); // DESCRIPTION
@@ -174,6 +176,241 @@ public class TransactionHistory {
         return mainPanel;
     }
 
+    // Summary cards above the table, fed by the incrementally maintained ledger totals.
+    // The totals (and their ledger listener) exist only while the panel is in the UI.
+    private static JPanel createSummaryPanel(Color primaryColor, Color borderColor) {
+        DecimalFormat formatter = new DecimalFormat("¤ #,##0.00");
+
+        String[] titles = {"GCASH", "MAYA", "COMPLETED", "PENDING", "TODAY", "THIS MONTH"};
+        JLabel[] amountLabels = new JLabel[titles.length];
+        JLabel[] countLabels = new JLabel[titles.length];
+
+        JPanel summaryPanel = new JPanel(new GridLayout(1, titles.length, 12, 0)) {
+            private TransactionAggregates aggregates;
+            private final Runnable changeListener = () -> SwingUtilities.invokeLater(this::refresh);
+
+            @Override
+            public void addNotify() {
+                super.addNotify();
+                aggregates = new TransactionAggregates(OrderLedger.getDefault());
+                aggregates.addChangeListener(changeListener);
+                refresh();
+            }
+
+            @Override
+            public void removeNotify() {
+                aggregates.removeChangeListener(changeListener);
+                aggregates.close();
+                aggregates = null;
+                super.removeNotify();
+            }
+
+            private void refresh() {
+                if (aggregates == null || !aggregates.isReady()) return;
+                TransactionAggregates.Totals[] totals = {
+                    aggregates.getByPaymentMethod("GCash"),
+                    aggregates.getByPaymentMethod("Maya"),
+                    aggregates.getByStatus("Completed"),
+                    aggregates.getByStatus("Pending"),
+                    aggregates.getByDay(LocalDate.now()),
+                    aggregates.getByMonth(YearMonth.now())
+                };
+                for (int i = 0; i < totals.length; i++) {
+                    amountLabels[i].setText(formatter.format(totals[i].getAmount()));
+                    long count = totals[i].getCount();
+                    countLabels[i].setText(count + (count == 1 ? " transaction" : " transactions"));
+                }
+            }
+        };
+        summaryPanel.setOpaque(false);
+        for (int i = 0; i < titles.length; i++) {
+            JPanel card = new JPanel(new GridLayout(3, 1));
+            card.setBackground(Color.WHITE);
+            card.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createMatteBorder(1, 1, 1, 1, borderColor),
+                BorderFactory.createEmptyBorder(8, 12, 8, 12)));
+
+            JLabel title = new JLabel(titles[i]);
+            title.setFont(new Font("Segoe UI", Font.BOLD, 12));
+            title.setForeground(primaryColor);
+            amountLabels[i] = new JLabel("...");
+            amountLabels[i].setFont(new Font("Segoe UI", Font.BOLD, 18));
+            countLabels[i] = new JLabel(" ");
+            countLabels[i].setFont(new Font("Segoe UI", Font.PLAIN, 12));
+            countLabels[i].setForeground(Color.GRAY);
+
+            card.add(title);
+            card.add(amountLabels[i]);
+            card.add(countLabels[i]);
+            summaryPanel.add(card);
+        }
+
+        return summaryPanel;
+    }
+
+    // Filter bar: payment method, status, date range and amount range
+    private static JPanel createFilterBar(TransactionTableModel tableModel, Color primaryColor) {
+        Font labelFont = new Font("Segoe UI", Font.BOLD, 13);
+        Font fieldFont = new Font("Segoe UI", Font.PLAIN, 13);
+
+        JComboBox<String> paymentBox = new JComboBox<>(new String[]{"All", "GCash", "Maya", "Cash"});
+        JComboBox<String> statusBox = new JComboBox<>(new String[]{"All", "Completed", "Pending"});
+        JTextField fromField = new JTextField(8);
+        JTextField toField = new JTextField(8);
+        JTextField minField = new JTextField(6);
+        JTextField maxField = new JTextField(6);
+        fromField.setToolTipText("yyyy-MM-dd");
+        toField.setToolTipText("yyyy-MM-dd");
+
+        JPanel bar = new JPanel(new FlowLayout(FlowLayout.LEFT, 8, 0));
+        bar.setOpaque(false);
+        Object[][] fields = {
+            {"Payment:", paymentBox}, {"Status:", statusBox},
+            {"From:", fromField}, {"To:", toField},
+            {"Min:", minField}, {"Max:", maxField}
+        };
+        for (Object[] field : fields) {
+            JLabel label = new JLabel((String) field[0]);
+            label.setFont(labelFont);
+            label.setForeground(primaryColor);
+            JComponent input = (JComponent) field[1];
+            input.setFont(fieldFont);
+            bar.add(label);
+            bar.add(input);
+        }
+
+        JButton applyButton = new JButton("Apply");
+        JButton clearButton = new JButton("Clear");
+        JButton exportButton = new JButton("Export CSV");
+        JButton reconcileButton = new JButton("Reconcile");
+        for (JButton button : new JButton[]{applyButton, clearButton, exportButton, reconcileButton}) {
+            button.setFont(labelFont);
+            button.setFocusPainted(false);
+            button.setCursor(new Cursor(Cursor.HAND_CURSOR));
+            bar.add(button);
+        }
+
+        applyButton.addActionListener(e -> {
+            try {
+                SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+                dateFormat.setLenient(false);
+                Long from = fromField.getText().isBlank() ? null : dateFormat.parse(fromField.getText().trim()).getTime();
+                // "To" is inclusive of the whole day
+                Long to = toField.getText().isBlank() ? null : dateFormat.parse(toField.getText().trim()).getTime() + 24L * 60 * 60 * 1000;
+                Double min = minField.getText().isBlank() ? null : Double.valueOf(minField.getText().trim());
+                Double max = maxField.getText().isBlank() ? null : Double.valueOf(maxField.getText().trim());
+                String payment = "All".equals(paymentBox.getSelectedItem()) ? null : (String) paymentBox.getSelectedItem();
+                String status = "All".equals(statusBox.getSelectedItem()) ? null : (String) statusBox.getSelectedItem();
+                tableModel.setFilter(new TransactionTableModel.Filter(from, to, min, max, payment, status));
+            } catch (ParseException | NumberFormatException ex) {
+                JOptionPane.showMessageDialog(bar,
+                    "Dates must be yyyy-MM-dd and amounts must be numbers.",
+                    "Invalid Filter", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+        clearButton.addActionListener(e -> {
+            paymentBox.setSelectedIndex(0);
+            statusBox.setSelectedIndex(0);
+            fromField.setText("");
+            toField.setText("");
+            minField.setText("");
+            maxField.setText("");
+            tableModel.setFilter(TransactionTableModel.Filter.NONE);
+        });
+        exportButton.addActionListener(e -> exportTransactions(bar, tableModel.getFilter()));
+        reconcileButton.addActionListener(e -> reconcileStatements(bar));
+
+        return bar;
+    }
+
+    // Exports the rows matching the applied filter (e.g. one month) to CSV in the background
+    private static void exportTransactions(Component parent, TransactionTableModel.Filter filter) {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Export Transactions");
+        chooser.setSelectedFile(new java.io.File("transactions.csv"));
+        if (chooser.showSaveDialog(parent) != JFileChooser.APPROVE_OPTION) return;
+
+        TransactionCsvExporter exporter = new TransactionCsvExporter(
+            OrderLedger.getDefault(), filter, chooser.getSelectedFile().toPath());
+        ProgressMonitor monitor = new ProgressMonitor(parent, "Exporting transactions...", null, 0, 100);
+        monitor.setMillisToDecideToPopup(200);
+
+        exporter.addPropertyChangeListener(evt -> {
+            if ("progress".equals(evt.getPropertyName())) {
+                monitor.setProgress((Integer) evt.getNewValue());
+                if (monitor.isCanceled()) {
+                    exporter.cancel(true);
+                }
+            } else if ("state".equals(evt.getPropertyName()) && exporter.isDone()) {
+                monitor.close();
+                if (exporter.isCancelled()) return;
+                try {
+                    long rows = exporter.get();
+                    JOptionPane.showMessageDialog(parent,
+                        "Exported " + rows + " transactions to " + exporter.getTarget().getFileName() + ".",
+                        "Export Complete", JOptionPane.INFORMATION_MESSAGE);
+                } catch (Exception ex) {
+                    JOptionPane.showMessageDialog(parent,
+                        "Export failed: " + ex.getMessage(),
+                        "Export Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        });
+        exporter.execute();
+    }
+
+    // Matches exported GCash/Maya statements against the ledger; reports land next to the statements
+    private static void reconcileStatements(Component parent) {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Select GCash and/or Maya Statements (CSV)");
+        chooser.setMultiSelectionEnabled(true);
+        if (chooser.showOpenDialog(parent) != JFileChooser.APPROVE_OPTION) return;
+
+        java.nio.file.Path gcash = null;
+        java.nio.file.Path maya = null;
+        for (java.io.File file : chooser.getSelectedFiles()) {
+            String name = file.getName().toLowerCase();
+            if (name.contains("maya") || name.contains("paymaya")) {
+                maya = file.toPath();
+            } else {
+                gcash = file.toPath();
+            }
+        }
+        if (gcash == null && maya == null) return;
+        java.nio.file.Path statementDir = (gcash != null ? gcash : maya).toAbsolutePath().getParent();
+        java.nio.file.Path outputDir = statementDir.resolve("reconciliation");
+        java.nio.file.Path gcashStatement = gcash;
+        java.nio.file.Path mayaStatement = maya;
+
+        parent.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<PaymentReconciler.Result, Void>() {
+            @Override
+            protected PaymentReconciler.Result doInBackground() throws Exception {
+                return new PaymentReconciler(OrderLedger.getDefault()).reconcile(gcashStatement, mayaStatement, outputDir);
+            }
+
+            @Override
+            protected void done() {
+                parent.setCursor(Cursor.getDefaultCursor());
+                try {
+                    PaymentReconciler.Result result = get();
+                    JOptionPane.showMessageDialog(parent,
+                        "Matched: " + result.getMatched()
+                            + "\nAmount mismatch: " + result.getAmountMismatch()
+                            + "\nOnly on statement: " + result.getUnmatchedStatement()
+                            + "\nOnly in ledger: " + result.getUnmatchedLedger()
+                            + "\nNo or duplicate reference: " + result.getBadReference()
+                            + "\n\nReports saved to " + outputDir,
+                        "Reconciliation Complete", JOptionPane.INFORMATION_MESSAGE);
+                } catch (Exception ex) {
+                    JOptionPane.showMessageDialog(parent,
+                        "Reconciliation failed: " + ex.getMessage(),
+                        "Reconciliation Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
     public static void main(String[] args) {
         // Run the UI creation on the Event Dispatch Thread (EDT) for thread safety
         SwingUtilities.invokeLater(() -> {
@@ -0,0 +1,553 @@
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.table.AbstractTableModel;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Lazy table model over the order ledger for TransactionHistory.
+ *
+ * Rows are fetched in fixed-size pages on a background thread the first time
+ * the JTable asks for them, and only the most recently used pages are kept.
+ * Sorting and filtering run against the ledger itself: a background scan keeps
+ * just the matching sequence numbers and their sort keys, so the table never
+ * holds more than a few pages of full rows. New ledger entries are inserted
+ * where the current view puts them (fireTableRowsInserted, so the selection
+ * follows its row) instead of rebuilding the view.
+ */
+public class TransactionTableModel extends AbstractTableModel {
+
+    public static final int COL_DATE = 0;
+    public static final int COL_DESCRIPTION = 1;
+    public static final int COL_AMOUNT = 2;
+    public static final int COL_PAYMENT = 3;
+    public static final int COL_STATUS = 4;
+    public static final int COL_REFERENCE = 5;
+
+    private static final String[] COLUMN_NAMES = {"DATE", "DESCRIPTION", "AMOUNT", "PAYMENT", "STATUS", "REFERENCE NUMBER"};
+    private static final int PAGE_SIZE = 256;
+    private static final int MAX_CACHED_PAGES = 16;
+    private static final int SCAN_CHUNK = 4096;
+    // Ledger reads for a page are merged when the gap between wanted rows is this small
+    private static final int MAX_READ_GAP = 128;
+
+    /**
+     * Filter criteria; null fields match everything. Dates are epoch millis,
+     * with dateTo exclusive.
+     */
+    public static class Filter {
+        public static final Filter NONE = new Filter(null, null, null, null, null, null);
+
+        final Long dateFrom;
+        final Long dateTo;
+        final Double minAmount;
+        final Double maxAmount;
+        final String paymentMethod;
+        final String status;
+
+        public Filter(Long dateFrom, Long dateTo, Double minAmount, Double maxAmount,
+                      String paymentMethod, String status) {
+            this.dateFrom = dateFrom;
+            this.dateTo = dateTo;
+            this.minAmount = minAmount;
+            this.maxAmount = maxAmount;
+            this.paymentMethod = paymentMethod;
+            this.status = status;
+        }
+
+        boolean isEmpty() {
+            return dateFrom == null && dateTo == null && minAmount == null && maxAmount == null
+                && paymentMethod == null && status == null;
+        }
+
+        boolean matches(OrderLedger.Entry entry) {
+            if (dateFrom != null && entry.getTimestamp() < dateFrom) return false;
+            if (dateTo != null && entry.getTimestamp() >= dateTo) return false;
+            if (minAmount != null && entry.getAmount() < minAmount) return false;
+            if (maxAmount != null && entry.getAmount() > maxAmount) return false;
+            if (paymentMethod != null && !paymentMethod.equalsIgnoreCase(entry.getPaymentMethod())) return false;
+            if (status != null && !status.equalsIgnoreCase(entry.getStatus())) return false;
+            return true;
+        }
+    }
+
+    private final OrderLedger ledger;
+    private final ExecutorService pageLoader;
+    private final Consumer<OrderLedger.Entry> appendListener;
+    private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+    private final Map<Integer, OrderLedger.Entry[]> pageCache =
+        new LinkedHashMap<Integer, OrderLedger.Entry[]>(MAX_CACHED_PAGES, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, OrderLedger.Entry[]> eldest) {
+                return size() > MAX_CACHED_PAGES;
+            }
+        };
+    private final Set<Integer> pendingPages = new HashSet<>();
+
+    // A filtered and/or sorted view, as built by one scan of the ledger
+    private static class View {
+        final long[] sequences;
+        // Sort keys in the same order as sequences; null when only filtered
+        final long[] keys;
+        // Payment or status label -> its sort key (case-insensitive), for those sorts only
+        final Map<String, Long> labelRanks;
+        final long ledgerSize;
+
+        View(long[] sequences, long[] keys, Map<String, Long> labelRanks, long ledgerSize) {
+            this.sequences = sequences;
+            this.keys = keys;
+            this.labelRanks = labelRanks;
+            this.ledgerSize = ledgerSize;
+        }
+    }
+
+    // Current view: null means the whole ledger, newest first. The arrays may have spare room past rowCount.
+    private long[] viewSequences;
+    private long[] viewKeys;
+    private Map<String, Long> labelRanks;
+    // Entries before this were in the scan (or, for the whole ledger, are rows already)
+    private long ledgerSizeAtView;
+    private final Set<Long> appendedToView = new HashSet<>();
+    private int rowCount;
+    private int generation;
+    private SwingWorker<View, Void> viewWorker;
+    private boolean disposed;
+
+    private Filter filter = Filter.NONE;
+    private int sortColumn = -1;
+    private boolean sortAscending;
+
+    public TransactionTableModel(OrderLedger ledger) {
+        this.ledger = ledger;
+        this.pageLoader = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "transaction-page-loader");
+            t.setDaemon(true);
+            return t;
+        });
+        this.appendListener = entry -> SwingUtilities.invokeLater(() -> appended(entry));
+        ledger.addAppendListener(appendListener);
+        refresh();
+    }
+
+    /**
+     * Stops following the ledger and shuts down the page loader. Call it when
+     * the table is taken out of the UI; rows not already cached stay blank.
+     */
+    public void dispose() {
+        if (disposed) return;
+        disposed = true;
+        ledger.removeAppendListener(appendListener);
+        if (viewWorker != null) {
+            viewWorker.cancel(true);
+            viewWorker = null;
+        }
+        // Drops results of page loads still in flight
+        generation++;
+        pageLoader.shutdownNow();
+    }
+
+    public Filter getFilter() {
+        return filter;
+    }
+
+    public void setFilter(Filter filter) {
+        this.filter = filter == null ? Filter.NONE : filter;
+        refresh();
+    }
+
+    /**
+     * Sorts by the given column; sorting the same column again flips the direction.
+     * Only date, amount, payment and status are sortable.
+     */
+    public void toggleSort(int column) {
+        if (column != COL_DATE && column != COL_AMOUNT && column != COL_PAYMENT && column != COL_STATUS) return;
+        if (sortColumn == column) {
+            sortAscending = !sortAscending;
+        } else {
+            sortColumn = column;
+            sortAscending = column != COL_DATE && column != COL_AMOUNT;
+        }
+        refresh();
+    }
+
+    public int getSortColumn() {
+        return sortColumn;
+    }
+
+    public boolean isSortAscending() {
+        return sortAscending;
+    }
+
+    // Rebuilds the current view; cheap when no filter or sort is active
+    public void refresh() {
+        if (disposed) return;
+        if (viewWorker != null) {
+            viewWorker.cancel(true);
+            viewWorker = null;
+        }
+        if (filter.isEmpty() && sortColumn < 0) {
+            installView(null);
+            return;
+        }
+
+        Filter scanFilter = filter;
+        int scanColumn = sortColumn;
+        boolean scanAscending = sortAscending;
+        viewWorker = new SwingWorker<View, Void>() {
+            @Override
+            protected View doInBackground() throws Exception {
+                return buildView(scanFilter, scanColumn, scanAscending, this::isCancelled);
+            }
+
+            @Override
+            protected void done() {
+                if (isCancelled() || viewWorker != this) return;
+                viewWorker = null;
+                try {
+                    installView(get());
+                } catch (Exception e) {
+                    System.err.println("Could not build transaction view: " + e.getMessage());
+                }
+            }
+        };
+        viewWorker.execute();
+    }
+
+    private void installView(View view) {
+        generation++;
+        pageCache.clear();
+        pendingPages.clear();
+        appendedToView.clear();
+        if (view == null) {
+            viewSequences = null;
+            viewKeys = null;
+            labelRanks = null;
+            ledgerSizeAtView = ledger.size();
+            rowCount = (int) Math.min(Integer.MAX_VALUE, ledgerSizeAtView);
+        } else {
+            viewSequences = view.sequences;
+            viewKeys = view.keys;
+            labelRanks = view.labelRanks;
+            ledgerSizeAtView = view.ledgerSize;
+            rowCount = view.sequences.length;
+        }
+        fireTableDataChanged();
+    }
+
+    // Runs on the EDT for each ledger append: inserts the entry's row where the current view puts it
+    private void appended(OrderLedger.Entry entry) {
+        if (disposed) return;
+        if (viewWorker != null) {
+            // The running scan may have read the ledger's size before this entry; scan again
+            refresh();
+            return;
+        }
+        long sequence = entry.getSequence();
+        Map<Integer, OrderLedger.Entry> inserted = new HashMap<>();
+        if (viewSequences == null) {
+            if (sequence < ledgerSizeAtView) return;
+            // Newest first, so this entry and any whose events are still queued go on top
+            int count = (int) (sequence + 1 - ledgerSizeAtView);
+            ledgerSizeAtView = sequence + 1;
+            inserted.put(0, entry);
+            insertRows(0, count, inserted);
+            return;
+        }
+
+        if (sequence < ledgerSizeAtView || !appendedToView.add(sequence) || !filter.matches(entry)) return;
+        int row = 0;
+        if (viewKeys != null) {
+            long key;
+            if (sortColumn == COL_PAYMENT || sortColumn == COL_STATUS) {
+                Long rank = labelRanks.get(sortColumn == COL_PAYMENT ? entry.getPaymentMethod() : entry.getStatus());
+                if (rank == null) {
+                    // A label the view has not seen shifts every rank after it
+                    refresh();
+                    return;
+                }
+                key = rank;
+            } else {
+                key = sortKey(entry, sortColumn, null);
+            }
+            row = insertionRow(key);
+            viewKeys = insertAt(viewKeys, rowCount, row, key);
+        }
+        // Filtered without a sort: newest first
+        viewSequences = insertAt(viewSequences, rowCount, row, sequence);
+        inserted.put(row, entry);
+        insertRows(row, 1, inserted);
+    }
+
+    // Where a new entry with this key goes; it has the highest sequence, so it follows equal keys in scan order
+    private int insertionRow(long key) {
+        int low = 0;
+        int high = rowCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            boolean before = sortAscending ? viewKeys[mid] <= key : viewKeys[mid] > key;
+            if (before) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long[] insertAt(long[] values, int size, int index, long value) {
+        if (size == values.length) values = Arrays.copyOf(values, Math.max(16, size * 2));
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = value;
+        return values;
+    }
+
+    // Makes room for `count` rows at `row`. Cached pages are re-cut around them so rows already
+    // loaded stay on screen; a page is kept only if every one of its rows is still known.
+    private void insertRows(int row, int count, Map<Integer, OrderLedger.Entry> inserted) {
+        Map<Integer, OrderLedger.Entry> known = new HashMap<>(inserted);
+        for (Map.Entry<Integer, OrderLedger.Entry[]> page : pageCache.entrySet()) {
+            int first = page.getKey() * PAGE_SIZE;
+            OrderLedger.Entry[] entries = page.getValue();
+            for (int i = 0; i < entries.length; i++) {
+                int oldRow = first + i;
+                known.put(oldRow < row ? oldRow : oldRow + count, entries[i]);
+            }
+        }
+        // Loads still in flight were asked for by the old row numbers
+        generation++;
+        pageCache.clear();
+        pendingPages.clear();
+        rowCount += count;
+
+        Set<Integer> pages = new TreeSet<>();
+        for (int knownRow : known.keySet()) pages.add(knownRow / PAGE_SIZE);
+        for (int page : pages) {
+            int first = page * PAGE_SIZE;
+            OrderLedger.Entry[] entries = new OrderLedger.Entry[Math.min(rowCount, first + PAGE_SIZE) - first];
+            boolean complete = true;
+            for (int i = 0; i < entries.length && complete; i++) {
+                complete = known.containsKey(first + i);
+                entries[i] = known.get(first + i);
+            }
+            if (complete) pageCache.put(page, entries);
+        }
+        fireTableRowsInserted(row, row + count - 1);
+    }
+
+    // Scans the ledger once, keeping only matching sequence numbers and their sort keys
+    private View buildView(Filter scanFilter, int column, boolean ascending,
+                             BooleanSupplier cancelled) throws Exception {
+        long size = ledger.size();
+        long[] sequences = new long[1024];
+        long[] keys = new long[1024];
+        Map<String, Integer> labelIds = new HashMap<>();
+        int count = 0;
+
+        for (long from = 0; from < size; from += SCAN_CHUNK) {
+            if (cancelled.getAsBoolean()) return null;
+            for (OrderLedger.Entry entry : ledger.read(from, (int) Math.min(SCAN_CHUNK, size - from))) {
+                if (!scanFilter.matches(entry)) continue;
+                if (count == sequences.length) {
+                    sequences = Arrays.copyOf(sequences, count * 2);
+                    keys = Arrays.copyOf(keys, count * 2);
+                }
+                sequences[count] = entry.getSequence();
+                keys[count] = sortKey(entry, column, labelIds);
+                count++;
+            }
+        }
+
+        Map<String, Long> labelRanks = null;
+        if (column == COL_PAYMENT || column == COL_STATUS) {
+            // Labels were numbered in order of appearance; renumber them alphabetically
+            labelRanks = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (String label : labelIds.keySet()) labelRanks.put(label, 0L);
+            long r = 0;
+            for (Map.Entry<String, Long> label : labelRanks.entrySet()) label.setValue(r++);
+            long[] rank = new long[labelIds.size()];
+            for (Map.Entry<String, Integer> label : labelIds.entrySet()) rank[label.getValue()] = labelRanks.get(label.getKey());
+            for (int i = 0; i < count; i++) keys[i] = rank[(int) keys[i]];
+        }
+
+        if (column < 0) {
+            // Filter only: keep newest first
+            reverse(sequences, count);
+            return new View(Arrays.copyOf(sequences, count), null, null, size);
+        }
+        sortByKey(keys, sequences, count);
+        if (!ascending) {
+            reverse(sequences, count);
+            reverse(keys, count);
+        }
+        return new View(Arrays.copyOf(sequences, count), Arrays.copyOf(keys, count), labelRanks, size);
+    }
+
+    private static long sortKey(OrderLedger.Entry entry, int column, Map<String, Integer> labelIds) {
+        switch (column) {
+            case COL_DATE:
+                return entry.getTimestamp();
+            case COL_AMOUNT:
+                // Order-preserving mapping of a double onto a long
+                long bits = Double.doubleToLongBits(entry.getAmount());
+                return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+            case COL_PAYMENT:
+                return labelIds.computeIfAbsent(entry.getPaymentMethod(), k -> labelIds.size());
+            case COL_STATUS:
+                return labelIds.computeIfAbsent(entry.getStatus(), k -> labelIds.size());
+            default:
+                return 0;
+        }
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column == COL_AMOUNT ? Double.class : String.class;
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    /**
+     * Returns null while the row's page is still loading.
+     */
+    @Override
+    public Object getValueAt(int row, int column) {
+        OrderLedger.Entry entry = getEntryAt(row);
+        if (entry == null) return null;
+        switch (column) {
+            case COL_DATE: return dateFormat.format(new Date(entry.getTimestamp()));
+            case COL_DESCRIPTION: return entry.getDescription();
+            case COL_AMOUNT: return entry.getAmount();
+            case COL_PAYMENT: return entry.getPaymentMethod();
+            case COL_STATUS: return entry.getStatus();
+            case COL_REFERENCE: return entry.getReferenceNumber();
+            default: return null;
+        }
+    }
+
+    public OrderLedger.Entry getEntryAt(int row) {
+        if (row < 0 || row >= rowCount) return null;
+        int page = row / PAGE_SIZE;
+        OrderLedger.Entry[] entries = pageCache.get(page);
+        if (entries == null) {
+            requestPage(page);
+            return null;
+        }
+        return entries[row % PAGE_SIZE];
+    }
+
+    private void requestPage(int page) {
+        if (disposed || !pendingPages.add(page)) return;
+        int requestGeneration = generation;
+        int first = page * PAGE_SIZE;
+        int last = Math.min(rowCount, first + PAGE_SIZE) - 1;
+        long[] sequences = new long[last - first + 1];
+        for (int row = first; row <= last; row++) {
+            sequences[row - first] = viewSequences == null ? ledgerSizeAtView - 1 - row : viewSequences[row];
+        }
+
+        pageLoader.submit(() -> {
+            OrderLedger.Entry[] entries;
+            try {
+                entries = readEntries(sequences);
+            } catch (Exception e) {
+                System.err.println("Could not load transactions page " + page + ": " + e.getMessage());
+                entries = new OrderLedger.Entry[sequences.length];
+            }
+            OrderLedger.Entry[] loaded = entries;
+            SwingUtilities.invokeLater(() -> {
+                if (requestGeneration != generation) return;
+                pendingPages.remove(page);
+                pageCache.put(page, loaded);
+                fireTableRowsUpdated(first, last);
+            });
+        });
+    }
+
+    // Reads the given sequences, merging nearby ones into a single ledger read
+    private OrderLedger.Entry[] readEntries(long[] sequences) throws Exception {
+        long[] sorted = sequences.clone();
+        Arrays.sort(sorted);
+        Map<Long, OrderLedger.Entry> bySequence = new HashMap<>(sequences.length * 2);
+
+        int i = 0;
+        while (i < sorted.length) {
+            int j = i;
+            while (j + 1 < sorted.length && sorted[j + 1] - sorted[j] <= MAX_READ_GAP) j++;
+            long start = sorted[i];
+            List<OrderLedger.Entry> run = ledger.read(start, (int) (sorted[j] - start + 1));
+            for (OrderLedger.Entry entry : run) bySequence.put(entry.getSequence(), entry);
+            i = j + 1;
+        }
+
+        OrderLedger.Entry[] entries = new OrderLedger.Entry[sequences.length];
+        for (int k = 0; k < sequences.length; k++) {
+            entries[k] = bySequence.get(sequences[k]);
+        }
+        return entries;
+    }
+
+    // Stable bottom-up merge sort of (key, sequence) pairs by key
+    private static void sortByKey(long[] keys, long[] sequences, int n) {
+        long[] keyBuffer = new long[n];
+        long[] seqBuffer = new long[n];
+        for (int width = 1; width < n; width *= 2) {
+            for (int lo = 0; lo < n; lo += 2 * width) {
+                int mid = Math.min(lo + width, n);
+                int hi = Math.min(lo + 2 * width, n);
+                int a = lo, b = mid, k = lo;
+                while (a < mid && b < hi) {
+                    if (keys[b] < keys[a]) {
+                        keyBuffer[k] = keys[b];
+                        seqBuffer[k++] = sequences[b++];
+                    } else {
+                        keyBuffer[k] = keys[a];
+                        seqBuffer[k++] = sequences[a++];
+                    }
+                }
+                while (a < mid) { keyBuffer[k] = keys[a]; seqBuffer[k++] = sequences[a++]; }
+                while (b < hi) { keyBuffer[k] = keys[b]; seqBuffer[k++] = sequences[b++]; }
+            }
+            System.arraycopy(keyBuffer, 0, keys, 0, n);
+            System.arraycopy(seqBuffer, 0, sequences, 0, n);
+        }
+    }
+
+    private static void reverse(long[] values, int n) {
+        for (int i = 0, j = n - 1; i < j; i++, j--) {
+            long tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+}
@@ -7,7 +7,16 @@ import java.awt.*;
 import java.awt.event.*;
 import java.awt.geom.*;
 import java.text.ParseException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 public class VetAppointmentSystem extends JFrame {
 
@@ -25,6 +34,12 @@ public class VetAppointmentSystem extends JFrame {
     private static final Font FONT_H2 = new Font("Segoe UI", Font.BOLD, 18);
     private static final Font FONT_LABEL = new Font("Segoe UI", Font.BOLD, 12);
     private static final Font FONT_BODY = new Font("Segoe UI", Font.PLAIN, 14);
+    private static final Font FONT_AVATAR = new Font("Segoe UI", Font.BOLD, 28);
+
+    private static final DateTimeFormatter DATE_FORMAT =
+        DateTimeFormatter.ofPattern("MM/dd/uuuu").withResolverStyle(ResolverStyle.STRICT);
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("hh:mm a");
+    private static final DateTimeFormatter SLOT_FORMAT = DateTimeFormatter.ofPattern("MMM d, yyyy hh:mm a");
 
     // --- DATA STRUCTURES ---
     
@@ -52,8 +67,21 @@ public class VetAppointmentSystem extends JFrame {
         new Doctor("Dr. David Park", "Emergency & Critical Care", "0917-555-0106", "david.p@paws.ph", "Daily: 6pm-2am", "24/7 Pet Emergency", "5.0", 10)
     };
 
+    // Each doctor's schedule compiled once into a weekly 15-minute bitmap, same order as doctors
+    private final List<VetAvailability> availability = compileSchedules(doctors);
+    private final OpeningSearch openingSearch = createOpeningSearch();
+    private final VetLoadBalancer loadBalancer = createLoadBalancer();
+    // Once the user picks a vet themselves, stop replacing their choice with suggestions
+    private boolean vetPickedByUser;
+    private boolean suggestingVet;
+    // Prior visits matching what has been typed; picking one fills in the form
+    private static final int MAX_PATIENT_SUGGESTIONS = 8;
+    private JPopupMenu patientPopup;
+    private boolean fillingPatient;
+
     // --- COMPONENTS ---
     private JPanel vetCardPanel;
+    private final JPanel[] vetCards = new JPanel[doctors.length]; // built once per doctor, shown via CardLayout
     private JComboBox<String> vetSelector;
     // Form Fields
     private JTextField txtOwner, txtPetName, txtPetType, txtBreed, txtWeight, txtEmergency;
@@ -107,6 +135,14 @@ public class VetAppointmentSystem extends JFrame {
     // Extracted UI build into a single method used by both constructors
     private JPanel buildMainPanel() {
         // The original constructor body is moved here. Use instance fields as before.
+        // Reminders go out for every stored booking while the app runs (idempotent)
+        AppointmentReminders.getDefault().start();
+        Waitlist.getDefault().addOfferListener(booked -> SwingUtilities.invokeLater(() ->
+            JOptionPane.showMessageDialog(builtMainPanel != null ? builtMainPanel : this,
+                "A slot opened up: " + booked.getPetName() + " is now booked with " + booked.getDoctor()
+                    + " on " + booked.getStart().format(SLOT_FORMAT) + " (from the waitlist).",
+                "Waitlist Booking", JOptionPane.INFORMATION_MESSAGE)));
+
         // Main Container
         JPanel mainPanel = new JPanel(new BorderLayout(0, 0));
         mainPanel.setBackground(COL_BACKGROUND);
@@ -137,6 +173,11 @@ public class VetAppointmentSystem extends JFrame {
 
         mainPanel.add(contentGrid, BorderLayout.CENTER);
 
+        // Start on the least busy vet and follow the counts as bookings come and go
+        suggestVet();
+        AppointmentStore.getDefault().addBookListener(booked -> SwingUtilities.invokeLater(this::suggestVet));
+        AppointmentStore.getDefault().addCancelListener(cancelled -> SwingUtilities.invokeLater(this::suggestVet));
+
         // return the assembled panel
         return mainPanel;
     }
@@ -242,9 +283,28 @@ public class VetAppointmentSystem extends JFrame {
         styleComboBox(vetSelector);
         vetSelector.addActionListener(e -> {
             currentVetIndex = vetSelector.getSelectedIndex();
+            if (!suggestingVet) vetPickedByUser = true;
             updateVetCard();
         });
+        vetSelector.setToolTipText("Pre-selected: the least booked vet over the next "
+            + VetLoadBalancer.DEFAULT_WINDOW_DAYS + " days who can see this kind of pet");
         addInput(formContent, gbc, "Select Veterinarian", vetSelector);
+        javax.swing.event.DocumentListener patientLookup = new javax.swing.event.DocumentListener() {
+            public void insertUpdate(javax.swing.event.DocumentEvent e) { suggestPatients(); }
+            public void removeUpdate(javax.swing.event.DocumentEvent e) { suggestPatients(); }
+            public void changedUpdate(javax.swing.event.DocumentEvent e) { suggestPatients(); }
+        };
+        txtOwner.getDocument().addDocumentListener(patientLookup);
+        txtPetName.getDocument().addDocumentListener(patientLookup);
+        // Owner lookups are keyed on the phone too, so re-run them once a number is committed
+        txtPhone.addPropertyChangeListener("value", e -> {
+            if (!txtOwner.getText().trim().isEmpty()) suggestPatients();
+        });
+        txtPetType.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
+            public void insertUpdate(javax.swing.event.DocumentEvent e) { suggestVet(); }
+            public void removeUpdate(javax.swing.event.DocumentEvent e) { suggestVet(); }
+            public void changedUpdate(javax.swing.event.DocumentEvent e) { suggestVet(); }
+        });
         
         gbc.gridx = 1;
         txtDate = createFormattedField("##/##/####");
@@ -281,9 +341,13 @@ public class VetAppointmentSystem extends JFrame {
         btnClear.addActionListener(e -> clearForm());
         
         ModernButton btnBook = new ModernButton("Confirm Booking", COL_PRIMARY, Color.WHITE);
-        btnBook.addActionListener(e -> showSuccessDialog());
+        btnBook.addActionListener(e -> bookAppointment());
+
+        ModernButton btnSoonest = new ModernButton("Soonest Available", COL_BACKGROUND, COL_PRIMARY);
+        btnSoonest.addActionListener(e -> showSoonestOpenings());
 
         btnPanel.add(btnClear);
+        btnPanel.add(btnSoonest);
         btnPanel.add(btnBook);
         
         gbc.insets = new Insets(20, 10, 0, 10);
@@ -305,9 +369,15 @@ public class VetAppointmentSystem extends JFrame {
         sidebar.setOpaque(false);
 
         // 1. Vet Card
-        vetCardPanel = new JPanel(new BorderLayout());
+        vetCardPanel = new JPanel(new CardLayout());
         vetCardPanel.setOpaque(false);
         updateVetCard(); // Initial draw
+        // Once the form is on screen, build the other vets' cards in idle EDT slices
+        vetCardPanel.addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && vetCardPanel.isShowing()) {
+                prebuildVetCards(0);
+            }
+        });
         sidebar.add(vetCardPanel);
         
         sidebar.add(Box.createRigidArea(new Dimension(0, 20)));
@@ -335,6 +405,14 @@ public class VetAppointmentSystem extends JFrame {
         navPanel.add(btnNext);
         sidebar.add(navPanel);
 
+        sidebar.add(Box.createRigidArea(new Dimension(0, 10)));
+        ModernButton btnCalendar = new ModernButton("📅  Bookings Calendar", COL_SURFACE, COL_PRIMARY);
+        btnCalendar.setBorderColor(COL_BORDER);
+        btnCalendar.setMaximumSize(new Dimension(300, 40));
+        btnCalendar.setAlignmentX(Component.CENTER_ALIGNMENT);
+        btnCalendar.addActionListener(e -> showCalendar());
+        sidebar.add(btnCalendar);
+
         sidebar.add(Box.createRigidArea(new Dimension(0, 20)));
 
         // 3. Map Placeholder
@@ -361,11 +439,38 @@ public class VetAppointmentSystem extends JFrame {
         return sidebar;
     }
 
+    // Shows the selected vet's card, building it on first use; later selections just flip the CardLayout
     private void updateVetCard() {
-        vetCardPanel.removeAll();
-        
-        Doctor doc = doctors[currentVetIndex];
-        
+        String key = String.valueOf(currentVetIndex);
+        if (vetCards[currentVetIndex] == null) {
+            vetCards[currentVetIndex] = buildVetCard(doctors[currentVetIndex]);
+            vetCardPanel.add(vetCards[currentVetIndex], key);
+        }
+        ((CardLayout) vetCardPanel.getLayout()).show(vetCardPanel, key);
+    }
+
+    // One card per EDT event, so a slow build never holds up input
+    private void prebuildVetCards(int from) {
+        for (int i = from; i < doctors.length; i++) {
+            if (vetCards[i] == null) {
+                int index = i;
+                SwingUtilities.invokeLater(() -> {
+                    if (vetCards[index] == null) {
+                        vetCards[index] = buildVetCard(doctors[index]);
+                        vetCardPanel.add(vetCards[index], String.valueOf(index));
+                    }
+                    prebuildVetCards(index + 1);
+                });
+                return;
+            }
+        }
+    }
+
+    private JPanel buildVetCard(Doctor doc) {
+        // Initials: "Dr. Olivia Sterling" -> "OS"
+        String[] parts = doc.name.split(" ");
+        String initials = (parts.length >= 3) ? parts[1].substring(0,1) + parts[2].substring(0,1) : "DR";
+
         RoundedPanel card = new RoundedPanel(20, COL_SURFACE);
         card.setLayout(new BoxLayout(card, BoxLayout.Y_AXIS));
         card.setBorder(new EmptyBorder(25, 25, 25, 25));
@@ -381,10 +486,7 @@ public class VetAppointmentSystem extends JFrame {
                 g2.fillOval(getWidth()/2 - 35, 0, 70, 70);
                 
                 g2.setColor(Color.WHITE);
-                g2.setFont(new Font("Segoe UI", Font.BOLD, 28));
-                // Initials logic: "Dr. Olivia Sterling" -> "OS"
-                String[] parts = doc.name.split(" ");
-                String initials = (parts.length >= 3) ? parts[1].substring(0,1) + parts[2].substring(0,1) : "DR";
+                g2.setFont(FONT_AVATAR);
                 
                 FontMetrics fm = g2.getFontMetrics();
                 int x = (getWidth() - fm.stringWidth(initials)) / 2;
@@ -435,9 +537,139 @@ public class VetAppointmentSystem extends JFrame {
         card.add(Box.createRigidArea(new Dimension(0, 15)));
         card.add(infoBox);
 
-        vetCardPanel.add(card);
-        vetCardPanel.revalidate();
-        vetCardPanel.repaint();
+        return card;
+    }
+
+    // Week view of a vet's bookings; follows new bookings and cancellations while open
+    private void showCalendar() {
+        Window owner = SwingUtilities.getWindowAncestor(builtMainPanel);
+        JDialog dialog = new JDialog(owner, "Bookings Calendar", Dialog.ModalityType.MODELESS);
+        AppointmentCalendar calendar = new AppointmentCalendar(AppointmentStore.getDefault());
+        calendar.setDoctor(doctors[currentVetIndex].name, availability.get(currentVetIndex));
+
+        JComboBox<String> vetBox = new JComboBox<>();
+        for (Doctor d : doctors) vetBox.addItem(d.name);
+        vetBox.setSelectedIndex(currentVetIndex);
+        styleComboBox(vetBox);
+        JLabel weekLabel = new JLabel();
+        weekLabel.setFont(FONT_H2);
+        weekLabel.setForeground(COL_TEXT_MAIN);
+        Runnable updateWeekLabel = () -> weekLabel.setText("Week of " + calendar.getWeekStart().format(
+            DateTimeFormatter.ofPattern("MMMM d, yyyy")));
+        updateWeekLabel.run();
+
+        vetBox.addActionListener(e -> {
+            int index = vetBox.getSelectedIndex();
+            calendar.setDoctor(doctors[index].name, availability.get(index));
+        });
+        ModernButton btnPrevWeek = new ModernButton("← Week", COL_SURFACE, COL_TEXT_MAIN);
+        btnPrevWeek.setBorderColor(COL_BORDER);
+        btnPrevWeek.addActionListener(e -> {
+            calendar.setWeek(calendar.getWeekStart().minusWeeks(1));
+            updateWeekLabel.run();
+        });
+        ModernButton btnToday = new ModernButton("Today", COL_SURFACE, COL_TEXT_MAIN);
+        btnToday.setBorderColor(COL_BORDER);
+        btnToday.addActionListener(e -> {
+            calendar.setWeek(LocalDate.now());
+            updateWeekLabel.run();
+        });
+        ModernButton btnNextWeek = new ModernButton("Week →", COL_SURFACE, COL_TEXT_MAIN);
+        btnNextWeek.setBorderColor(COL_BORDER);
+        btnNextWeek.addActionListener(e -> {
+            calendar.setWeek(calendar.getWeekStart().plusWeeks(1));
+            updateWeekLabel.run();
+        });
+
+        ModernButton btnExport = new ModernButton("Export .ics", COL_SURFACE, COL_PRIMARY);
+        btnExport.setBorderColor(COL_BORDER);
+        btnExport.addActionListener(e -> exportCalendar(dialog, doctors[vetBox.getSelectedIndex()].name));
+        ModernButton btnImport = new ModernButton("Import .ics", COL_SURFACE, COL_PRIMARY);
+        btnImport.setBorderColor(COL_BORDER);
+        btnImport.addActionListener(e -> importCalendar(dialog, doctors[vetBox.getSelectedIndex()].name));
+
+        JPanel toolbar = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 10));
+        toolbar.setBackground(COL_BACKGROUND);
+        toolbar.add(vetBox);
+        toolbar.add(btnPrevWeek);
+        toolbar.add(btnToday);
+        toolbar.add(btnNextWeek);
+        toolbar.add(weekLabel);
+        toolbar.add(btnExport);
+        toolbar.add(btnImport);
+
+        JScrollPane scroll = calendar.createScrollPane();
+        scroll.getVerticalScrollBar().setUI(new ModernScrollBarUI());
+        scroll.getVerticalScrollBar().setUnitIncrement(18);
+
+        dialog.setLayout(new BorderLayout());
+        dialog.add(toolbar, BorderLayout.NORTH);
+        dialog.add(scroll, BorderLayout.CENTER);
+        dialog.setSize(1000, 700);
+        dialog.setLocationRelativeTo(owner);
+        dialog.setVisible(true);
+        SwingUtilities.invokeLater(() -> calendar.scrollToTime(8));
+    }
+
+    // Writes the vet's bookings to an .ics file for their calendar app, off the EDT
+    private void exportCalendar(Component parent, String doctor) {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Export " + doctor + "'s Appointments");
+        chooser.setSelectedFile(new java.io.File(doctor.replaceAll("[^A-Za-z0-9]+", "-") + ".ics"));
+        if (chooser.showSaveDialog(parent) != JFileChooser.APPROVE_OPTION) return;
+        java.nio.file.Path target = chooser.getSelectedFile().toPath();
+
+        parent.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<Long, Void>() {
+            @Override
+            protected Long doInBackground() throws Exception {
+                return AppointmentIcs.export(AppointmentStore.getDefault(), doctor, target);
+            }
+
+            @Override
+            protected void done() {
+                parent.setCursor(Cursor.getDefaultCursor());
+                try {
+                    JOptionPane.showMessageDialog(parent, "Exported " + get() + " appointments to "
+                        + target.getFileName() + ".", "Export Complete", JOptionPane.INFORMATION_MESSAGE);
+                } catch (Exception ex) {
+                    JOptionPane.showMessageDialog(parent, "Export failed: " + ex.getMessage(),
+                        "Export Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    // Bulk-books the events in an .ics file; events that name no vet go to `doctor`
+    private void importCalendar(Component parent, String doctor) {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Import Appointments (.ics)");
+        if (chooser.showOpenDialog(parent) != JFileChooser.APPROVE_OPTION) return;
+        java.nio.file.Path source = chooser.getSelectedFile().toPath();
+
+        parent.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<AppointmentIcs.Result, Void>() {
+            @Override
+            protected AppointmentIcs.Result doInBackground() throws Exception {
+                return AppointmentIcs.importFrom(AppointmentStore.getDefault(), source, doctor);
+            }
+
+            @Override
+            protected void done() {
+                parent.setCursor(Cursor.getDefaultCursor());
+                try {
+                    AppointmentIcs.Result result = get();
+                    JOptionPane.showMessageDialog(parent,
+                        "Imported: " + result.getImported()
+                            + "\nAlready booked (skipped): " + result.getConflicts()
+                            + "\nNot importable: " + result.getSkipped(),
+                        "Import Complete", JOptionPane.INFORMATION_MESSAGE);
+                } catch (Exception ex) {
+                    JOptionPane.showMessageDialog(parent, "Import failed: " + ex.getMessage(),
+                        "Import Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
     }
 
     // --- HELPERS ---
@@ -511,9 +743,299 @@ public class VetAppointmentSystem extends JFrame {
         }
     }
 
-    private void showSuccessDialog() {
+    // Validates the chosen date/time and books it, refusing slots the vet already has taken
+    private void bookAppointment() {
+        LocalDateTime start = getSelectedDateTime();
+        if (start == null) {
+            JOptionPane.showMessageDialog(this, "Please enter a valid date (MM/DD/YYYY).",
+                "Invalid Date", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        if (start.isBefore(LocalDateTime.now())) {
+            JOptionPane.showMessageDialog(this, "That time has already passed. Please pick a future date and time.",
+                "Invalid Date", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        if (txtPetName.getText().trim().isEmpty()) {
+            JOptionPane.showMessageDialog(this, "Please enter the pet's name.",
+                "Missing Details", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        Doctor doc = doctors[currentVetIndex];
+        int duration = AppointmentStore.DEFAULT_DURATION_MINUTES;
+        if (!availability.get(currentVetIndex).isAvailable(start, duration)) {
+            JOptionPane.showMessageDialog(this, doc.name + " is not in at that time (" + doc.schedule + ")."
+                    + describeOpenings(start),
+                "Outside Clinic Hours", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        AppointmentStore.Appointment booked = AppointmentStore.getDefault().book(new AppointmentStore.Appointment(
+            0, doc.name, start, AppointmentStore.DEFAULT_DURATION_MINUTES, txtOwner.getText().trim(),
+            txtPetName.getText().trim(), txtPetType.getText().trim(), fieldValue(txtPhone)));
+        if (booked == null) {
+            AppointmentStore.Appointment taken = AppointmentStore.getDefault()
+                .findConflict(doc.name, start, AppointmentStore.DEFAULT_DURATION_MINUTES);
+            String when = taken == null ? "that time"
+                : taken.getStart().format(SLOT_FORMAT) + " - " + taken.getEnd().toLocalTime().format(TIME_FORMAT);
+            int choice = JOptionPane.showConfirmDialog(this, doc.name + " is already booked at " + when + "."
+                    + describeOpenings(start) + "\n\nJoin the waitlist for " + start.format(DATE_FORMAT)
+                    + "? If a slot that day is cancelled it will be booked for you.",
+                "Time Unavailable", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
+            if (choice == JOptionPane.YES_OPTION) {
+                joinWaitlist(doc, start.toLocalDate());
+            }
+            return;
+        }
+        PatientRegistry.getDefault().record(new PatientRegistry.Patient(0, txtOwner.getText(), fieldValue(txtPhone),
+            txtPetName.getText(), txtPetType.getText().trim(), txtBreed.getText().trim(),
+            String.valueOf(cmbGender.getSelectedItem()), txtWeight.getText().trim(), txtEmergency.getText().trim(),
+            txtHistory.getText().trim(), txtAllergies.getText().trim(), fieldValue(txtVaccine),
+            System.currentTimeMillis()));
+        showSuccessDialog(booked);
+    }
+
+    // Offers prior visits as the owner (or, with no owner yet, the pet name) is typed
+    private void suggestPatients() {
+        if (fillingPatient) return;
+        String owner = txtOwner.getText();
+        String petPrefix = PatientRegistry.normalizeName(txtPetName.getText());
+        List<PatientRegistry.Patient> matches;
+        JTextField anchor;
+        if (!owner.trim().isEmpty()) {
+            matches = new ArrayList<>();
+            for (PatientRegistry.Patient patient : PatientRegistry.getDefault().findByOwner(owner, fieldValue(txtPhone))) {
+                if (PatientRegistry.normalizeName(patient.getPetName()).startsWith(petPrefix)) matches.add(patient);
+                if (matches.size() == MAX_PATIENT_SUGGESTIONS) break;
+            }
+            anchor = txtOwner;
+        } else {
+            matches = PatientRegistry.getDefault().findByPetName(petPrefix, MAX_PATIENT_SUGGESTIONS);
+            anchor = txtPetName;
+        }
+        if (patientPopup != null) patientPopup.setVisible(false);
+        if (matches.isEmpty() || !anchor.isShowing()) return;
+
+        patientPopup = new JPopupMenu();
+        patientPopup.setFocusable(false);
+        DateTimeFormatter visitFormat = DateTimeFormatter.ofPattern("MMM d, yyyy");
+        for (PatientRegistry.Patient patient : matches) {
+            String details = patient.getPetType() + (patient.getBreed().isEmpty() ? "" : ", " + patient.getBreed());
+            String lastVisit = java.time.Instant.ofEpochMilli(patient.getLastVisit())
+                .atZone(ZoneId.systemDefault()).format(visitFormat);
+            JMenuItem item = new JMenuItem(patient.getPetName() + (details.isEmpty() ? "" : " (" + details + ")")
+                + " - " + patient.getOwner() + " - last visit " + lastVisit);
+            item.setFont(FONT_BODY);
+            item.addActionListener(e -> fillFromPatient(patient));
+            patientPopup.add(item);
+        }
+        patientPopup.show(anchor, 0, anchor.getHeight());
+    }
+
+    private void fillFromPatient(PatientRegistry.Patient patient) {
+        fillingPatient = true;
+        try {
+            txtOwner.setText(patient.getOwner());
+            txtPetName.setText(patient.getPetName());
+            txtPetType.setText(patient.getPetType());
+            txtBreed.setText(patient.getBreed());
+            cmbGender.setSelectedItem(patient.getGender());
+            txtWeight.setText(patient.getWeight());
+            txtEmergency.setText(patient.getEmergencyContact());
+            txtHistory.setText(patient.getHistory());
+            txtAllergies.setText(patient.getAllergies());
+            if (!patient.getPhone().isEmpty()) txtPhone.setValue(patient.getPhone());
+            if (!patient.getLastVaccination().isEmpty()) txtVaccine.setValue(patient.getLastVaccination());
+        } finally {
+            fillingPatient = false;
+        }
+        if (patientPopup != null) patientPopup.setVisible(false);
+    }
+
+    // The committed value of a masked field, or "" if nothing valid was entered
+    private static String fieldValue(JFormattedTextField field) {
+        return field.getValue() == null ? "" : field.getValue().toString();
+    }
+
+    private static List<VetAvailability> compileSchedules(Doctor[] doctors) {
+        List<VetAvailability> compiled = new ArrayList<>();
+        for (Doctor doc : doctors) {
+            compiled.add(VetAvailability.parse(doc.schedule));
+        }
+        return compiled;
+    }
+
+    // Suggestions for a refused booking: the selected vet's next opening and the earliest with anyone
+    private String describeOpenings(LocalDateTime from) {
+        StringBuilder text = new StringBuilder();
+        LocalDateTime own = nextOpening(currentVetIndex, from);
+        if (own != null) {
+            text.append("\n\nNext opening with ").append(doctors[currentVetIndex].name).append(": ")
+                .append(own.format(SLOT_FORMAT));
+        }
+        VetAvailability.Opening any = nextOpeningWithAnyVet(from);
+        if (any != null && any.getVetIndex() != currentVetIndex) {
+            text.append("\nEarliest opening with any vet: ").append(doctors[any.getVetIndex()].name)
+                .append(", ").append(any.getStart().format(SLOT_FORMAT));
+        }
+        return text.toString();
+    }
+
+    private static final int SEARCH_HORIZON_DAYS = 30;
+    private static final int SOONEST_COUNT = 5;
+
+    // Searches at most this many candidate slots before giving up (about four weeks of 15-minute slots)
+    private static final int MAX_OPENING_CANDIDATES = 4 * VetAvailability.SLOTS_PER_WEEK;
+
+    // The vet's first working slot from `from` on that nobody has booked
+    private LocalDateTime nextOpening(int vetIndex, LocalDateTime from) {
+        AppointmentStore store = AppointmentStore.getDefault();
+        String doctor = doctors[vetIndex].name;
+        int duration = AppointmentStore.DEFAULT_DURATION_MINUTES;
+        LocalDateTime candidate = from;
+        for (int i = 0; i < MAX_OPENING_CANDIDATES; i++) {
+            candidate = availability.get(vetIndex).nextAvailable(candidate, duration);
+            if (candidate == null) return null;
+            AppointmentStore.Appointment taken = store.findConflict(doctor, candidate, duration);
+            if (taken == null) return candidate;
+            candidate = taken.getEnd();
+        }
+        return null;
+    }
+
+    private VetAvailability.Opening nextOpeningWithAnyVet(LocalDateTime from) {
+        List<OpeningSearch.Slot> slots = openingSearch.findEarliest(null, from, SEARCH_HORIZON_DAYS,
+            AppointmentStore.DEFAULT_DURATION_MINUTES, 1);
+        return slots.isEmpty() ? null : new VetAvailability.Opening(slots.get(0).getVetIndex(), slots.get(0).getStart());
+    }
+
+    private VetLoadBalancer createLoadBalancer() {
+        String[] names = new String[doctors.length];
+        String[] specialties = new String[doctors.length];
+        for (int i = 0; i < doctors.length; i++) {
+            names[i] = doctors[i].name;
+            specialties[i] = doctors[i].specialty;
+        }
+        return new VetLoadBalancer(names, specialties, AppointmentStore.getDefault(),
+            VetLoadBalancer.DEFAULT_WINDOW_DAYS);
+    }
+
+    // Moves the selection to the least-loaded vet for the pet type, unless the user chose one
+    private void suggestVet() {
+        if (vetPickedByUser || vetSelector == null) return;
+        int suggested = loadBalancer.suggest(txtPetType.getText());
+        if (suggested == currentVetIndex) return;
+        suggestingVet = true;
+        try {
+            vetSelector.setSelectedIndex(suggested);
+        } finally {
+            suggestingVet = false;
+        }
+    }
+
+    private OpeningSearch createOpeningSearch() {
+        List<OpeningSearch.Vet> vets = new ArrayList<>();
+        for (int i = 0; i < doctors.length; i++) {
+            vets.add(new OpeningSearch.Vet(doctors[i].name, doctors[i].specialty, availability.get(i)));
+        }
+        return new OpeningSearch(vets, AppointmentStore.getDefault());
+    }
+
+    // "Who can see my pet soonest?": top openings for a specialty; picking one fills in the form
+    private void showSoonestOpenings() {
+        List<String> specialties = new ArrayList<>();
+        specialties.add("Any specialty");
+        for (Doctor doc : doctors) {
+            if (!specialties.contains(doc.specialty)) specialties.add(doc.specialty);
+        }
+        JComboBox<String> specialtyBox = new JComboBox<>(specialties.toArray(new String[0]));
+        if (JOptionPane.showConfirmDialog(this, specialtyBox, "Soonest Available",
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.QUESTION_MESSAGE) != JOptionPane.OK_OPTION) {
+            return;
+        }
+        String specialty = specialtyBox.getSelectedIndex() == 0 ? null : (String) specialtyBox.getSelectedItem();
+
+        // From the chosen date/time if it is still ahead, otherwise from now
+        LocalDateTime from = LocalDateTime.now();
+        LocalDateTime selected = getSelectedDateTime();
+        if (selected != null && selected.isAfter(from)) from = selected;
+
+        List<OpeningSearch.Slot> slots = openingSearch.findEarliest(specialty, from, SEARCH_HORIZON_DAYS,
+            AppointmentStore.DEFAULT_DURATION_MINUTES, SOONEST_COUNT);
+        if (slots.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "No openings in the next " + SEARCH_HORIZON_DAYS + " days.",
+                "Soonest Available", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        String[] labels = new String[slots.size()];
+        for (int i = 0; i < slots.size(); i++) {
+            Doctor doc = doctors[slots.get(i).getVetIndex()];
+            labels[i] = slots.get(i).getStart().format(SLOT_FORMAT) + "  -  " + doc.name + " (" + doc.specialty + ")";
+        }
+        JList<String> list = new JList<>(labels);
+        list.setSelectedIndex(0);
+        list.setFont(FONT_BODY);
+        if (JOptionPane.showConfirmDialog(this, new JScrollPane(list), "Earliest Openings",
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE) != JOptionPane.OK_OPTION
+                || list.getSelectedIndex() < 0) {
+            return;
+        }
+
+        OpeningSearch.Slot chosen = slots.get(list.getSelectedIndex());
+        vetSelector.setSelectedIndex(chosen.getVetIndex());
+        txtDate.setText(chosen.getStart().format(DATE_FORMAT));
+        timeSpinner.setValue(Date.from(chosen.getStart().atZone(ZoneId.systemDefault()).toInstant()));
+    }
+
+    // Emergencies (judged from the history and emergency notes) are offered freed slots first
+    private void joinWaitlist(Doctor doc, LocalDate day) {
+        boolean emergency = Waitlist.isEmergency(txtHistory.getText(), txtEmergency.getText());
+        Waitlist waitlist = Waitlist.getDefault();
+        int ahead = waitlist.waitingCount(doc.name, day);
+        Waitlist.Waiter waiter = waitlist.join(doc.name, day, emergency, txtOwner.getText().trim(),
+            txtPetName.getText().trim(), txtPetType.getText().trim(), fieldValue(txtPhone));
+        if (waiter == null && day.isBefore(LocalDate.now())) {
+            JOptionPane.showMessageDialog(this, "That day has already passed.", "Waitlist", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        if (waiter == null) {
+            // Already waiting: the same question is the way off the list
+            Waitlist.Waiter existing = waitlist.find(doc.name, day, txtOwner.getText().trim(), txtPetName.getText().trim());
+            int choice = JOptionPane.showConfirmDialog(this, txtPetName.getText().trim() + " is already on " + doc.name
+                    + "'s waitlist for " + day.format(DATE_FORMAT) + ".\n\nTake " + txtPetName.getText().trim()
+                    + " off the waitlist?",
+                "Waitlist", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
+            if (choice == JOptionPane.YES_OPTION && existing != null && waitlist.leave(existing.getId())) {
+                JOptionPane.showMessageDialog(this, txtPetName.getText().trim() + " is no longer on " + doc.name
+                        + "'s waitlist for " + day.format(DATE_FORMAT) + ".",
+                    "Removed from Waitlist", JOptionPane.INFORMATION_MESSAGE);
+            }
+            return;
+        }
+        JOptionPane.showMessageDialog(this, txtPetName.getText().trim() + " is on " + doc.name + "'s waitlist for "
+                + day.format(DATE_FORMAT) + (emergency ? " as an emergency" : "") + " (" + ahead
+                + (ahead == 1 ? " other" : " others") + " already waiting).",
+            "Added to Waitlist", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    // txtDate plus the time part of timeSpinner, or null if the date is incomplete or invalid
+    private LocalDateTime getSelectedDateTime() {
+        LocalDate date;
+        try {
+            date = LocalDate.parse(txtDate.getText().trim(), DATE_FORMAT);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+        LocalTime time = LocalDateTime.ofInstant(((Date) timeSpinner.getValue()).toInstant(), ZoneId.systemDefault())
+            .toLocalTime().withSecond(0).withNano(0);
+        return LocalDateTime.of(date, time);
+    }
+
+    private void showSuccessDialog(AppointmentStore.Appointment appointment) {
         JOptionPane.showMessageDialog(this, 
-            "Appointment for " + txtPetName.getText() + " confirmed with " + vetSelector.getSelectedItem() + ".",
+            "Appointment for " + appointment.getPetName() + " confirmed with " + appointment.getDoctor()
+                + " on " + appointment.getStart().format(SLOT_FORMAT) + ".",
             "Booking Confirmed", JOptionPane.INFORMATION_MESSAGE);
     }
 
@@ -521,6 +1043,8 @@ public class VetAppointmentSystem extends JFrame {
         txtOwner.setText(""); txtPetName.setText(""); txtBreed.setText(""); txtPetType.setText("");
         txtWeight.setText(""); txtEmergency.setText(""); txtDate.setValue(null); txtPhone.setValue(null);
         txtHistory.setText(""); txtAllergies.setText("");
+        vetPickedByUser = false;
+        suggestVet();
     }
 
     // --- CUSTOM UI CLASSES ---
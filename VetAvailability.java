@@ -0,0 +1,231 @@
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A vet's weekly working hours compiled into a bitmap: one bit per 15-minute
+ * slot from Monday 00:00 to Sunday 24:00 (672 bits, 11 longs).
+ *
+ * Schedules are the free-text strings on VetAppointmentSystem.Doctor, e.g.
+ * "Mon-Fri: 8am-4pm", "Fri-Mon: 8am-6pm" (wrapping the weekend) or
+ * "Daily: 6pm-2am" (hours past midnight land on the next day, and Sunday night
+ * runs into Monday morning). Several ranges can be joined with ";".
+ *
+ * Parsing happens once; after that, validating a time or finding the next
+ * opening is bit tests and BitSet.nextSetBit() on the compiled week.
+ */
+public class VetAvailability {
+
+    public static final int SLOT_MINUTES = 15;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    public static final int SLOTS_PER_WEEK = 7 * SLOTS_PER_DAY;
+
+    // Week slot of 1970-01-01T00:00 (a Thursday)
+    private static final int EPOCH_WEEK_SLOT = 3 * SLOTS_PER_DAY;
+
+    private static final String[] DAY_NAMES = {"mon", "tue", "wed", "thu", "fri", "sat", "sun"};
+    private static final Pattern RANGE = Pattern.compile(
+        "\\s*([A-Za-z]+)(?:\\s*-\\s*([A-Za-z]+))?\\s*:\\s*(\\d{1,2}(?::\\d{2})?\\s*[ap]m)\\s*-\\s*(\\d{1,2}(?::\\d{2})?\\s*[ap]m)\\s*",
+        Pattern.CASE_INSENSITIVE);
+    private static final Pattern TIME = Pattern.compile("(\\d{1,2})(?::(\\d{2}))?\\s*([ap]m)", Pattern.CASE_INSENSITIVE);
+
+    private final String schedule;
+    private final BitSet week;
+    // Start slots with `n` free slots in a row, per n; built on first use
+    private final Map<Integer, BitSet> startableBySlots = new ConcurrentHashMap<>();
+
+    private VetAvailability(String schedule, BitSet week) {
+        this.schedule = schedule;
+        this.week = week;
+    }
+
+    /**
+     * Compiles a schedule string. Unrecognised parts are reported and skipped,
+     * so a bad schedule yields a vet with no bookable hours rather than an error.
+     */
+    public static VetAvailability parse(String schedule) {
+        BitSet week = new BitSet(SLOTS_PER_WEEK);
+        for (String part : schedule == null ? new String[0] : schedule.split(";")) {
+            if (part.trim().isEmpty()) continue;
+            Matcher m = RANGE.matcher(part);
+            boolean matched = m.matches();
+            int firstDay = matched ? dayIndex(m.group(1)) : -2;
+            int lastDay = firstDay == -1 ? 6 : (matched && m.group(2) != null ? dayIndex(m.group(2)) : firstDay);
+            int startMinute = matched ? minuteOfDay(m.group(3)) : -1;
+            int endMinute = matched ? minuteOfDay(m.group(4)) : -1;
+            if (firstDay < -1 || lastDay < 0 || startMinute < 0 || endMinute < 0) {
+                System.err.println("Unrecognised vet schedule \"" + part.trim() + "\" in: " + schedule);
+                continue;
+            }
+            // "Daily"
+            if (firstDay == -1) firstDay = 0;
+
+            int startSlot = startMinute / SLOT_MINUTES;
+            int endSlot = (endMinute + SLOT_MINUTES - 1) / SLOT_MINUTES;
+            // End at or before start means the shift runs past midnight
+            int length = endSlot > startSlot ? endSlot - startSlot : SLOTS_PER_DAY - startSlot + endSlot;
+            for (int day = firstDay; ; day = (day + 1) % 7) {
+                setWrapping(week, day * SLOTS_PER_DAY + startSlot, length);
+                if (day == lastDay) break;
+            }
+        }
+        return new VetAvailability(schedule, week);
+    }
+
+    public String getSchedule() {
+        return schedule;
+    }
+
+    /**
+     * True if every 15-minute slot touched by [start, start + durationMinutes) is working time.
+     */
+    public boolean isAvailable(LocalDateTime start, int durationMinutes) {
+        int first = slotOf(start);
+        int minuteInSlot = start.getMinute() % SLOT_MINUTES;
+        int slots = (minuteInSlot + durationMinutes + SLOT_MINUTES - 1) / SLOT_MINUTES;
+        return startable(slots).get(first);
+    }
+
+    /**
+     * The earliest slot-aligned start at or after `from` where the vet works for
+     * the whole duration, or null if they never do.
+     */
+    public LocalDateTime nextAvailable(LocalDateTime from, int durationMinutes) {
+        return nextSetAfter(startable(slotsFor(durationMinutes)), from);
+    }
+
+    /**
+     * Bit i is set if a booking of `slots` slots can start at week slot i.
+     */
+    BitSet startable(int slots) {
+        return startableBySlots.computeIfAbsent(Math.max(1, slots), n -> {
+            // AND the week with itself shifted left 1..n-1 slots (rotating across Sunday/Monday)
+            BitSet result = (BitSet) week.clone();
+            for (int shift = 1; shift < n && !result.isEmpty(); shift++) {
+                result.and(rotateLeft(week, shift));
+            }
+            return result;
+        });
+    }
+
+    /**
+     * The earliest start at or after `from` that any of the vets can take a
+     * booking of durationMinutes at, found by ORing their bitmaps and taking the
+     * next set bit. Returns null if none of them ever works.
+     */
+    public static Opening firstOpening(List<VetAvailability> vets, LocalDateTime from, int durationMinutes) {
+        int slots = slotsFor(durationMinutes);
+        BitSet any = new BitSet(SLOTS_PER_WEEK);
+        for (VetAvailability vet : vets) {
+            any.or(vet.startable(slots));
+        }
+        LocalDateTime start = nextSetAfter(any, from);
+        if (start == null) return null;
+        int slot = slotOf(start);
+        for (int i = 0; i < vets.size(); i++) {
+            if (vets.get(i).startable(slots).get(slot)) return new Opening(i, start);
+        }
+        return null;
+    }
+
+    /**
+     * A start time and the index (in the list searched) of the vet free at it.
+     */
+    public static class Opening {
+        private final int vetIndex;
+        private final LocalDateTime start;
+
+        Opening(int vetIndex, LocalDateTime start) {
+            this.vetIndex = vetIndex;
+            this.start = start;
+        }
+
+        public int getVetIndex() { return vetIndex; }
+        public LocalDateTime getStart() { return start; }
+    }
+
+    /**
+     * Like nextAvailable(), in AppointmentStore minutes (since 1970-01-01T00:00,
+     * a Thursday): the first slot start >= fromMinute with `slots` working
+     * slots in a row, or -1 if there is none.
+     */
+    long nextStartMinute(long fromMinute, int slots) {
+        BitSet bits = startable(slots);
+        if (bits.isEmpty()) return -1;
+        long slotIndex = Math.floorDiv(fromMinute + SLOT_MINUTES - 1, SLOT_MINUTES);
+        int slot = (int) Math.floorMod(slotIndex + EPOCH_WEEK_SLOT, (long) SLOTS_PER_WEEK);
+        int found = bits.nextSetBit(slot);
+        int delta = found >= 0 ? found - slot : SLOTS_PER_WEEK - slot + bits.nextSetBit(0);
+        return (slotIndex + delta) * SLOT_MINUTES;
+    }
+
+    static int slotsFor(int durationMinutes) {
+        return Math.max(1, (durationMinutes + SLOT_MINUTES - 1) / SLOT_MINUTES);
+    }
+
+    static int slotOf(LocalDateTime time) {
+        return (time.getDayOfWeek().getValue() - 1) * SLOTS_PER_DAY
+            + (time.getHour() * 60 + time.getMinute()) / SLOT_MINUTES;
+    }
+
+    // Rounds `from` up to a slot boundary, then walks forward to the next set bit (wrapping into next week)
+    private static LocalDateTime nextSetAfter(BitSet bits, LocalDateTime from) {
+        if (bits.isEmpty()) return null;
+        LocalDateTime aligned = from.withSecond(0).withNano(0);
+        int extra = aligned.getMinute() % SLOT_MINUTES;
+        if (extra != 0 || !aligned.equals(from)) {
+            aligned = aligned.plusMinutes(extra == 0 ? SLOT_MINUTES : SLOT_MINUTES - extra);
+        }
+        int slot = slotOf(aligned);
+        int found = bits.nextSetBit(slot);
+        int delta = found >= 0 ? found - slot : SLOTS_PER_WEEK - slot + bits.nextSetBit(0);
+        return aligned.plusMinutes((long) delta * SLOT_MINUTES);
+    }
+
+    private static BitSet rotateLeft(BitSet bits, int shift) {
+        BitSet rotated = bits.get(shift, SLOTS_PER_WEEK);
+        BitSet wrapped = bits.get(0, shift);
+        for (int i = wrapped.nextSetBit(0); i >= 0; i = wrapped.nextSetBit(i + 1)) {
+            rotated.set(SLOTS_PER_WEEK - shift + i);
+        }
+        return rotated;
+    }
+
+    private static void setWrapping(BitSet week, int from, int length) {
+        int end = from + length;
+        if (end <= SLOTS_PER_WEEK) {
+            week.set(from, end);
+        } else {
+            week.set(from, SLOTS_PER_WEEK);
+            week.set(0, end - SLOTS_PER_WEEK);
+        }
+    }
+
+    // 0 = Monday .. 6 = Sunday, -1 for "Daily", < -1 if unknown
+    private static int dayIndex(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        if (lower.equals("daily")) return -1;
+        if (lower.length() < 3) return -2;
+        for (int i = 0; i < DAY_NAMES.length; i++) {
+            if (lower.startsWith(DAY_NAMES[i])) return i;
+        }
+        return -2;
+    }
+
+    // "8am" -> 480, "12:30pm" -> 750, "12am" -> 0; -1 if malformed
+    private static int minuteOfDay(String text) {
+        Matcher m = TIME.matcher(text.trim());
+        if (!m.matches()) return -1;
+        int hour = Integer.parseInt(m.group(1));
+        int minute = m.group(2) == null ? 0 : Integer.parseInt(m.group(2));
+        if (hour < 1 || hour > 12 || minute > 59) return -1;
+        hour %= 12;
+        if (m.group(3).equalsIgnoreCase("pm")) hour += 12;
+        return hour * 60 + minute;
+    }
+}
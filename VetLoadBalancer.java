@@ -0,0 +1,148 @@
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Suggests the vet with the lightest upcoming workload who can see a given
+ * kind of pet, so new bookings spread across the clinic instead of piling
+ * onto whoever is first in the list.
+ *
+ * Each vet's load is the number of their bookings in the next windowDays
+ * days, kept in an AtomicIntegerArray that the store's book and cancel
+ * listeners update in place. Suggesting reads the counters without taking a
+ * lock, so it is cheap enough to run on every keystroke. The window is
+ * re-seeded from the store once a day as it slides forward.
+ *
+ * Exotic pets (birds, reptiles, small mammals, ...) are only suggested to
+ * vets whose specialty mentions exotics; any vet can see the rest.
+ */
+public class VetLoadBalancer {
+
+    public static final int DEFAULT_WINDOW_DAYS = 14;
+
+    private static final String[] EXOTIC_TYPES = {
+        "bird", "parrot", "cockatiel", "budgie", "lovebird", "rabbit", "bunny", "hamster", "guinea pig",
+        "gerbil", "mouse", "ferret", "chinchilla", "hedgehog", "sugar glider", "snake", "lizard",
+        "iguana", "gecko", "turtle", "tortoise", "reptile", "frog", "fish", "exotic"
+    };
+
+    // One day's counters: loads[i] is vet i's bookings starting in [from, to)
+    private static class Window {
+        final LocalDate today;
+        final long fromMinute;
+        final long toMinute;
+        final AtomicIntegerArray loads;
+
+        Window(LocalDate today, int windowDays, int vets) {
+            this.today = today;
+            this.fromMinute = AppointmentStore.toMinute(today.atStartOfDay());
+            this.toMinute = AppointmentStore.toMinute(today.plusDays(windowDays).atStartOfDay());
+            this.loads = new AtomicIntegerArray(vets);
+        }
+
+        void add(int vetIndex, AppointmentStore.Appointment appointment, int delta) {
+            long start = appointment.startMinute();
+            if (start >= fromMinute && start < toMinute) loads.addAndGet(vetIndex, delta);
+        }
+    }
+
+    private final String[] names;
+    private final boolean[] seesExotics;
+    private final Map<String, Integer> indexByName = new HashMap<>();
+    private final AppointmentStore store;
+    private final int windowDays;
+    private volatile Window window;
+
+    /**
+     * names[i] is vet i as booked in the store; specialties[i] their specialty.
+     */
+    public VetLoadBalancer(String[] names, String[] specialties, AppointmentStore store, int windowDays) {
+        this.names = names.clone();
+        this.seesExotics = new boolean[names.length];
+        for (int i = 0; i < names.length; i++) {
+            indexByName.put(names[i], i);
+            seesExotics[i] = specialties[i].toLowerCase(Locale.ROOT).contains("exotic");
+        }
+        this.store = store;
+        this.windowDays = windowDays;
+        this.window = seed(LocalDate.now());
+        store.addBookListener(appointment -> count(appointment, 1));
+        store.addCancelListener(appointment -> count(appointment, -1));
+    }
+
+    /**
+     * Vet i's bookings in the next windowDays days (today included).
+     */
+    public int load(int vetIndex) {
+        return current().loads.get(vetIndex);
+    }
+
+    /**
+     * Index of the least-loaded vet who can see `petType` (any vet if it is
+     * blank or unrecognised); ties go to the earlier vet in the list.
+     */
+    public int suggest(String petType) {
+        boolean exotic = isExotic(petType);
+        AtomicIntegerArray loads = current().loads;
+        int best = -1;
+        int bestLoad = Integer.MAX_VALUE;
+        for (int i = 0; i < names.length; i++) {
+            if (exotic && !seesExotics[i]) continue;
+            int load = loads.get(i);
+            if (load < bestLoad) {
+                best = i;
+                bestLoad = load;
+            }
+        }
+        // No exotics specialist on staff: fall back to everyone
+        return best < 0 ? suggest(null) : best;
+    }
+
+    public static boolean isExotic(String petType) {
+        if (petType == null) return false;
+        String lower = petType.trim().toLowerCase(Locale.ROOT);
+        if (lower.isEmpty()) return false;
+        for (String type : EXOTIC_TYPES) {
+            if (lower.contains(type)) return true;
+        }
+        return false;
+    }
+
+    private void count(AppointmentStore.Appointment appointment, int delta) {
+        Integer vetIndex = indexByName.get(appointment.getDoctor());
+        if (vetIndex == null) return;
+        // Listeners run after the store has the change, so a re-seed made for it already counts it
+        if (reseedIfStale(LocalDate.now())) return;
+        window.add(vetIndex, appointment, delta);
+    }
+
+    // The live window, re-seeded the first time it is needed on a new day
+    private Window current() {
+        reseedIfStale(LocalDate.now());
+        return window;
+    }
+
+    // True if this call found the window on an earlier day and re-seeded it
+    private boolean reseedIfStale(LocalDate today) {
+        if (window.today.equals(today)) return false;
+        synchronized (this) {
+            if (window.today.equals(today)) return false;
+            window = seed(today);
+            return true;
+        }
+    }
+
+    // A booking made while this runs may be missed until the next day's re-seed; the counts are a balancing hint
+    private Window seed(LocalDate today) {
+        Window fresh = new Window(today, windowDays, names.length);
+        List<AppointmentStore.Appointment> upcoming = store.getUpcoming(today.atStartOfDay());
+        for (AppointmentStore.Appointment appointment : upcoming) {
+            Integer vetIndex = indexByName.get(appointment.getDoctor());
+            if (vetIndex != null) fresh.add(vetIndex, appointment, 1);
+        }
+        return fresh;
+    }
+}
@@ -0,0 +1,351 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Waitlist for fully booked vets: when an appointment is cancelled, the freed
+ * slot is booked for the next person waiting for that vet on that day.
+ *
+ * Waiters are kept in one priority queue per (vet, day): emergencies first,
+ * then first come, first served. A cancellation therefore costs one poll
+ * (O(log n)) rather than a pass over everyone waiting, and a burst of
+ * cancellations is queued to a single worker that fills the slots in order.
+ * Waiters who leave the list are only marked and skipped when they reach the
+ * head, and days that have passed are dropped as they are met.
+ *
+ * Joins and departures (including waiters booked into a freed slot) are
+ * appended to a FramedLog (data/waitlist.db) and forced to disk, so the list
+ * survives a restart; bookings made from it are normal appointments in the
+ * store.
+ */
+public class Waitlist {
+
+    // Words in the medical history or emergency notes that put a waiter ahead of routine visits
+    private static final String[] EMERGENCY_WORDS = {
+        "emergency", "urgent", "critical", "bleeding", "seizure", "poison", "toxic", "injured", "injury",
+        "fracture", "broken", "not eating", "vomiting", "breathing", "collapse", "hit by"
+    };
+
+    // Emergencies first, then in the order they joined
+    private static final Comparator<Waiter> WAITER_ORDER = (a, b) -> {
+        if (a.emergency != b.emergency) return a.emergency ? -1 : 1;
+        return Long.compare(a.id, b.id);
+    };
+
+    private static final String DEFAULT_PATH = "data/waitlist.db";
+    private static final int COMPACT_MIN_RECORDS = 256;
+    private static final int MAX_RECORD_BYTES = 64 * 1024;
+
+    private static final byte OP_JOIN = 1;
+    private static final byte OP_LEAVE = 2;
+
+    private static Waitlist defaultWaitlist;
+
+    /**
+     * Someone waiting for a slot with a given vet on a given day.
+     */
+    public static class Waiter {
+        private final long id;
+        private final String doctor;
+        private final LocalDate day;
+        private final boolean emergency;
+        private final String owner;
+        private final String petName;
+        private final String petType;
+        private final String phone;
+        private volatile boolean removed;
+
+        Waiter(long id, String doctor, LocalDate day, boolean emergency,
+               String owner, String petName, String petType, String phone) {
+            this.id = id;
+            this.doctor = doctor;
+            this.day = day;
+            this.emergency = emergency;
+            this.owner = owner;
+            this.petName = petName;
+            this.petType = petType;
+            this.phone = phone;
+        }
+
+        public long getId() { return id; }
+        public String getDoctor() { return doctor; }
+        public LocalDate getDay() { return day; }
+        public boolean isEmergency() { return emergency; }
+        public String getOwner() { return owner; }
+        public String getPetName() { return petName; }
+        public String getPetType() { return petType; }
+        public String getPhone() { return phone; }
+    }
+
+    private static class Key {
+        final String doctor;
+        final LocalDate day;
+
+        Key(String doctor, LocalDate day) {
+            this.doctor = doctor;
+            this.day = day;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && ((Key) o).doctor.equals(doctor) && ((Key) o).day.equals(day);
+        }
+
+        @Override
+        public int hashCode() {
+            return doctor.hashCode() * 31 + day.hashCode();
+        }
+    }
+
+    private final AppointmentStore store;
+    private final Map<Key, PriorityQueue<Waiter>> queues = new HashMap<>();
+    private final Map<Long, Waiter> byId = new HashMap<>();
+    private final List<Consumer<AppointmentStore.Appointment>> offerListeners = new CopyOnWriteArrayList<>();
+    private final ExecutorService offers;
+    private FramedLog log; // null when the waitlist is not persisted
+    private long nextId = 1;
+    private LocalDate lastPruned;
+
+    public static synchronized Waitlist getDefault() {
+        if (defaultWaitlist == null) {
+            defaultWaitlist = new Waitlist(AppointmentStore.getDefault(), Paths.get(DEFAULT_PATH));
+        }
+        return defaultWaitlist;
+    }
+
+    public Waitlist(AppointmentStore store) {
+        this(store, null);
+    }
+
+    public Waitlist(AppointmentStore store, Path path) {
+        this.store = store;
+        if (path != null) {
+            try {
+                log = new FramedLog(path, MAX_RECORD_BYTES, this::replay);
+                if (log.recordCount() >= COMPACT_MIN_RECORDS && log.recordCount() > byId.size() * 2) {
+                    compact();
+                }
+            } catch (IOException e) {
+                System.err.println("Waitlist unavailable, waiters will not be saved: " + e.getMessage());
+                log = null;
+            }
+        }
+        this.offers = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "waitlist-offers");
+            thread.setDaemon(true);
+            return thread;
+        });
+        store.addCancelListener(freed -> offers.execute(() -> offer(freed)));
+    }
+
+    /**
+     * Called (on the waitlist thread) with each appointment booked from the waitlist.
+     */
+    public void addOfferListener(Consumer<AppointmentStore.Appointment> listener) {
+        offerListeners.add(listener);
+    }
+
+    /**
+     * Puts someone on the vet's waitlist for `day`. Emergencies (see
+     * isEmergency) go ahead of everyone who is not one. Returns null if the day
+     * has passed or the pet is already waiting for that vet on that day.
+     */
+    public synchronized Waiter join(String doctor, LocalDate day, boolean emergency,
+                                    String owner, String petName, String petType, String phone) {
+        if (day.isBefore(LocalDate.now()) || isWaiting(doctor, day, owner, petName)) return null;
+        Waiter waiter = new Waiter(nextId++, doctor, day, emergency, owner, petName, petType, phone);
+        write(OP_JOIN, waiter);
+        add(waiter);
+        return waiter;
+    }
+
+    /**
+     * Takes the waiter off the list; they are skipped when they reach the front.
+     */
+    public synchronized boolean leave(long waiterId) {
+        Waiter waiter = byId.get(waiterId);
+        if (waiter == null) return false;
+        write(OP_LEAVE, waiter);
+        remove(waiter);
+        return true;
+    }
+
+    /**
+     * The owner's pet (names compared as PatientRegistry does) if it is still
+     * waiting for the vet on that day, otherwise null.
+     */
+    public synchronized Waiter find(String doctor, LocalDate day, String owner, String petName) {
+        PriorityQueue<Waiter> queue = queues.get(new Key(doctor, day));
+        if (queue == null) return null;
+        String ownerKey = PatientRegistry.normalizeName(owner);
+        String petKey = PatientRegistry.normalizeName(petName);
+        for (Waiter waiter : queue) {
+            if (!waiter.removed && PatientRegistry.normalizeName(waiter.owner).equals(ownerKey)
+                && PatientRegistry.normalizeName(waiter.petName).equals(petKey)) return waiter;
+        }
+        return null;
+    }
+
+    public synchronized boolean isWaiting(String doctor, LocalDate day, String owner, String petName) {
+        return find(doctor, day, owner, petName) != null;
+    }
+
+    /**
+     * How many are still waiting for the vet on that day.
+     */
+    public synchronized int waitingCount(String doctor, LocalDate day) {
+        PriorityQueue<Waiter> queue = queues.get(new Key(doctor, day));
+        if (queue == null) return 0;
+        int count = 0;
+        for (Waiter waiter : queue) {
+            if (!waiter.removed) count++;
+        }
+        return count;
+    }
+
+    /**
+     * True if the notes mention something that should be seen before routine visits.
+     */
+    public static boolean isEmergency(String... notes) {
+        for (String note : notes) {
+            if (note == null) continue;
+            String lower = note.toLowerCase(Locale.ROOT);
+            for (String word : EMERGENCY_WORDS) {
+                if (lower.contains(word)) return true;
+            }
+        }
+        return false;
+    }
+
+    // Runs on the waitlist thread: books the freed slot for the first waiter who can still take it
+    private void offer(AppointmentStore.Appointment freed) {
+        if (freed.getStart().isBefore(LocalDateTime.now())) return;
+        Key key = new Key(freed.getDoctor(), freed.getStart().toLocalDate());
+        Waiter waiter;
+        synchronized (this) {
+            dropPastDays();
+            PriorityQueue<Waiter> queue = queues.get(key);
+            waiter = queue == null ? null : queue.poll();
+            while (waiter != null && waiter.removed) {
+                waiter = queue.poll();
+            }
+            if (queue != null && queue.isEmpty()) queues.remove(key);
+            if (waiter == null) return;
+            byId.remove(waiter.id);
+        }
+
+        AppointmentStore.Appointment booked = store.book(new AppointmentStore.Appointment(0, freed.getDoctor(),
+            freed.getStart(), freed.getDurationMinutes(), waiter.owner, waiter.petName, waiter.petType, waiter.phone));
+        if (booked == null) {
+            // Someone booked the slot directly first; the waiter keeps their place
+            synchronized (this) {
+                if (!waiter.removed) {
+                    queues.computeIfAbsent(key, k -> new PriorityQueue<>(WAITER_ORDER)).add(waiter);
+                    byId.put(waiter.id, waiter);
+                }
+            }
+            return;
+        }
+        synchronized (this) {
+            write(OP_LEAVE, waiter);
+        }
+        for (Consumer<AppointmentStore.Appointment> listener : offerListeners) {
+            listener.accept(booked);
+        }
+    }
+
+    private void add(Waiter waiter) {
+        queues.computeIfAbsent(new Key(waiter.doctor, waiter.day), k -> new PriorityQueue<>(WAITER_ORDER)).add(waiter);
+        byId.put(waiter.id, waiter);
+        nextId = Math.max(nextId, waiter.id + 1);
+    }
+
+    private void remove(Waiter waiter) {
+        byId.remove(waiter.id);
+        waiter.removed = true;
+    }
+
+    private void write(byte op, Waiter waiter) {
+        if (log == null) return;
+        try {
+            log.append(encode(op, waiter));
+            log.force();
+        } catch (IOException e) {
+            System.err.println("Waitlist write failed: " + e.getMessage());
+        }
+    }
+
+    // Rewrites the log with one JOIN per waiter still on the list, in the order they joined
+    private void compact() throws IOException {
+        List<Waiter> live = new ArrayList<>(byId.values());
+        live.sort(Comparator.comparingLong(Waiter::getId));
+        log.compact(live, waiter -> encode(OP_JOIN, waiter));
+    }
+
+    // Waiters for days that have passed are not loaded; a LEAVE for one of them is a no-op
+    private void replay(byte[] payload) throws IOException {
+        DataInputStream data = new DataInputStream(new ByteArrayInputStream(payload));
+        byte op = data.readByte();
+        long id = data.readLong();
+        if (op == OP_LEAVE) {
+            Waiter waiter = byId.get(id);
+            if (waiter != null) remove(waiter);
+            return;
+        }
+        if (op != OP_JOIN) return;
+        Waiter waiter = new Waiter(id, data.readUTF(), LocalDate.ofEpochDay(data.readLong()), data.readBoolean(),
+            data.readUTF(), data.readUTF(), data.readUTF(), data.readUTF());
+        nextId = Math.max(nextId, id + 1);
+        if (!waiter.day.isBefore(LocalDate.now())) add(waiter);
+    }
+
+    private static byte[] encode(byte op, Waiter waiter) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream payload = new DataOutputStream(bytes);
+        payload.writeByte(op);
+        payload.writeLong(waiter.id);
+        if (op == OP_JOIN) {
+            payload.writeUTF(waiter.doctor);
+            payload.writeLong(waiter.day.toEpochDay());
+            payload.writeBoolean(waiter.emergency);
+            payload.writeUTF(waiter.owner);
+            payload.writeUTF(waiter.petName);
+            payload.writeUTF(waiter.petType);
+            payload.writeUTF(waiter.phone);
+        }
+        return bytes.toByteArray();
+    }
+
+    // At most once a day, forgets queues for days that have passed
+    private void dropPastDays() {
+        LocalDate today = LocalDate.now();
+        if (today.equals(lastPruned)) return;
+        lastPruned = today;
+        List<Key> past = new ArrayList<>();
+        for (Map.Entry<Key, PriorityQueue<Waiter>> entry : queues.entrySet()) {
+            if (entry.getKey().day.isBefore(today)) past.add(entry.getKey());
+        }
+        for (Key key : past) {
+            for (Waiter waiter : queues.remove(key)) {
+                byId.remove(waiter.id);
+            }
+        }
+    }
+}